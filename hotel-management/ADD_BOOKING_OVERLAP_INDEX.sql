@@ -0,0 +1,12 @@
+-- Composite index backing BookingRepository.existsActiveOverlap.
+-- The availability check for a new booking filters on room_id and a range on
+-- check_out_date (bookings ending on or after the requested check-in, plus rows
+-- without a check-out date), so past history is never scanned; check_in_date and
+-- status are evaluated from the index itself. The room searches in RoomRepository
+-- use the same bound.
+-- Hibernate creates this index with ddl-auto=update; run it manually otherwise.
+
+USE hotel_booking;
+
+CREATE INDEX idx_bookings_room_checkout_checkin_status
+    ON bookings (room_id, check_out_date, check_in_date, status);
@@ -0,0 +1,12 @@
+-- Heartbeat table behind ReplicaLagMonitor, needed only when datasource.replica.url is set.
+-- The monitor writes the current time into the single row on the primary every
+-- datasource.replica.heartbeat-interval and reads it back from the replica; the age of the
+-- value seen on the replica is the replication lag. Run it on the primary before enabling
+-- the replica; replication carries the table over. Without it the replica is never used.
+
+USE hotel_booking;
+
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
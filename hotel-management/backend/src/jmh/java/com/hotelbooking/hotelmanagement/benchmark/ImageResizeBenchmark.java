@@ -0,0 +1,147 @@
+package com.hotelbooking.hotelmanagement.benchmark;
+
+import com.hotelbooking.hotelmanagement.utils.ImageResizer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing the medium (1280px) and thumbnail (320px) copies of a large JPEG.
+ *
+ * fullDecode is the straightforward pipeline (ImageIO.read of the whole photo, then scale
+ * it twice), subsampledDecode is ImageResizer. Besides the time per photo, each run
+ * reports peakHeapMb, the largest heap growth during one resize (the heap is collected
+ * before every photo; the peaks of the heap pools are summed, so it is an upper bound).
+ * Add {@code -prof gc} for the bytes allocated per photo.
+ *
+ * mvn -Pjmh verify -Djmh.args="ImageResizeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g", "-Djava.awt.headless=true"})
+public class ImageResizeBenchmark {
+
+    private static final int[] SIZES = {1280, 320};
+
+    // 12MP and 24MP camera photos
+    @Param({"4000x3000", "6000x4000"})
+    public String resolution;
+
+    private File source;
+    private File[] targets;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] dimensions = resolution.split("x");
+        source = File.createTempFile("benchmark-photo-", ".jpg");
+        ImageIO.write(photo(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1])), "jpeg", source);
+        targets = new File[]{File.createTempFile("benchmark-medium-", ".jpg"), File.createTempFile("benchmark-thumb-", ".jpg")};
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+        for (File target : targets) {
+            target.delete();
+        }
+    }
+
+    @Benchmark
+    public long fullDecode(HeapCounters heap) throws IOException {
+        BufferedImage image = ImageIO.read(source);
+        for (int i = 0; i < SIZES.length; i++) {
+            double ratio = (double) SIZES[i] / Math.max(image.getWidth(), image.getHeight());
+            BufferedImage scaled = new BufferedImage((int) Math.round(image.getWidth() * ratio),
+                    (int) Math.round(image.getHeight() * ratio), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, scaled.getWidth(), scaled.getHeight(), null);
+            graphics.dispose();
+            ImageIO.write(scaled, "jpeg", targets[i]);
+        }
+        heap.sample();
+        return targets[1].length();
+    }
+
+    @Benchmark
+    public long subsampledDecode(HeapCounters heap) throws IOException {
+        ImageResizer.writeJpegVariants(source, SIZES, targets, 0.82f);
+        heap.sample();
+        return targets[1].length();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        private long usedBefore;
+
+        public double peakHeapMb;
+
+        // Collects before every photo so that the peak only holds what one resize needs
+        @Setup(Level.Invocation)
+        public void reset() {
+            System.gc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            usedBefore = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        }
+
+        void sample() {
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            peakHeapMb = Math.max(peakHeapMb, (peak - usedBefore) / (1024.0 * 1024.0));
+        }
+    }
+
+    // Noise on top of gradients, so that the JPEG compresses like a photo rather than a flat fill
+    private static BufferedImage photo(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, new Color(30, 80, 140), width, height, new Color(230, 190, 120)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int noise = random.nextInt(32) - 16;
+                int r = Math.clamp(((rgb >> 16) & 0xff) + noise, 0, 255);
+                int g = Math.clamp(((rgb >> 8) & 0xff) + noise, 0, 255);
+                int b = Math.clamp((rgb & 0xff) + noise, 0, 255);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotelbooking.hotelmanagement.benchmark;
+
+import com.hotelbooking.hotelmanagement.utils.JWTUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Per-request cost of authenticating a bearer token in JWTAuthFilter.
+ *
+ * legacyThreeParses reproduces the previous filter (extractUsername followed by
+ * isValidToken, three signature verifications), singleParse is validateToken with the
+ * cache disabled and cachedToken is validateToken for a token already seen.
+ * generateToken is the signing cost paid at login and extractUsername the uncached lookup
+ * of the subject alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "843567893696976453275974432697R634976R738467TR678T34865R6834R8763T478378637664538745673865783678548735687R3";
+
+    private SecretKey key;
+    private UserDetails userDetails;
+    private JWTUtils uncachedJwtUtils;
+    private JWTUtils cachedJwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = new SecretKeySpec(Base64.getDecoder().decode(SECRET.getBytes(StandardCharsets.UTF_8)), "HmacSHA256");
+        userDetails = User.withUsername("guest@example.com").password("unused").authorities("USER").build();
+        uncachedJwtUtils = new JWTUtils(0, Duration.ofMinutes(10));
+        cachedJwtUtils = new JWTUtils(10_000, Duration.ofMinutes(10));
+        token = cachedJwtUtils.generateToken(userDetails);
+        cachedJwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = parse(token).getSubject();
+        boolean valid = parse(token).getSubject().equals(userDetails.getUsername())
+                && !parse(token).getExpiration().before(new Date());
+        return username != null && valid;
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        return uncachedJwtUtils.validateToken(token).subject().equals(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public boolean cachedToken() {
+        return cachedJwtUtils.validateToken(token).subject().equals(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return uncachedJwtUtils.extractUsername(token);
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+    }
+}
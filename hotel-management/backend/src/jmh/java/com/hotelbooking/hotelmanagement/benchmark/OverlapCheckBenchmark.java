@@ -0,0 +1,92 @@
+package com.hotelbooking.hotelmanagement.benchmark;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.service.RoomAvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of deciding whether one room is free for a stay as its booking history grows.
+ *
+ * bookingListScan is the check saveBooking used to run over room.getBookings() (without the
+ * cost of loading the collection), availabilityIndex asks RoomAvailabilityIndex, which
+ * answers with a binary search. The database query is measured separately by
+ * BookingOverlapQueryBenchmarkTest (mvn test -Pbenchmark).
+ *
+ * mvn -Pjmh verify -Djmh.args="OverlapCheckBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlapCheckBenchmark {
+
+    private static final long ROOM_ID = 1L;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int historySize;
+
+    private List<Booking> bookings;
+    private RoomAvailabilityIndex availabilityIndex;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        Room room = new Room();
+        room.setId(ROOM_ID);
+        room.setRoomType("Deluxe");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        availabilityIndex = new RoomAvailabilityIndex();
+        availabilityIndex.putRoom(room);
+
+        // Back-to-back two-night stays, the requested stay falls just after the last one
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        bookings = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setCheckInDate(start.plusDays(i * 2L));
+            booking.setCheckOutDate(start.plusDays(i * 2L + 2));
+            booking.setStatus(i % 10 == 0 ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.CONFIRMED);
+            bookings.add(booking);
+            if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+                availabilityIndex.addBooking(ROOM_ID, booking.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+            }
+        }
+        checkIn = start.plusDays(historySize * 2L);
+        checkOut = checkIn.plusDays(2);
+    }
+
+    @Benchmark
+    public boolean bookingListScan() {
+        return bookings.stream().noneMatch(existing -> existing.getStatus() != Booking.BookingStatus.CANCELLED
+                && existing.getCheckOutDate().isAfter(checkIn)
+                && existing.getCheckInDate().isBefore(checkOut));
+    }
+
+    @Benchmark
+    public boolean availabilityIndex() {
+        Set<Long> available = availabilityIndex.findAvailableRoomIds(checkIn, checkOut, null);
+        return available.contains(ROOM_ID);
+    }
+}
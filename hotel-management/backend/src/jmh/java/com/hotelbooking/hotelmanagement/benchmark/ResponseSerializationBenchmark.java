@@ -0,0 +1,102 @@
+package com.hotelbooking.hotelmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.PaymentDTO;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a Response with a large booking list to JSON, with an ObjectMapper built
+ * the way Spring MVC builds the one it uses for responses.
+ *
+ * mvn -Pjmh verify -Djmh.args="ResponseSerializationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setName("Guest");
+        user.setEmail("guest@example.com");
+        user.setPhoneNumber("5550100");
+        user.setRole("USER");
+
+        List<BookingDTO> bookings = new ArrayList<>(listSize);
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < listSize; i++) {
+            RoomDTO room = new RoomDTO();
+            room.setId((long) (i % 50));
+            room.setRoomType("Deluxe");
+            room.setRoomPrice(new BigDecimal("120.00"));
+            room.setRoomPhotoUrl("https://bucket.s3.amazonaws.com/room-" + (i % 50) + ".jpg");
+            room.setRoomDescription("Sea view room");
+
+            PaymentDTO payment = new PaymentDTO();
+            payment.setId((long) i);
+            payment.setBookingId((long) i);
+            payment.setAmount(new BigDecimal("240.00"));
+            payment.setStatus("SUCCESS");
+            payment.setPaymentDate(LocalDateTime.of(2029, 12, 1, 12, 0));
+
+            BookingDTO booking = new BookingDTO();
+            booking.setId((long) i);
+            booking.setCheckInDate(start.plusDays(i));
+            booking.setCheckOutDate(start.plusDays(i + 2L));
+            booking.setNumOfAdults(2);
+            booking.setTotalNumOfGuest(2);
+            booking.setBookingConfirmationCode("CODE" + i);
+            booking.setStatus("CONFIRMED");
+            booking.setUser(user);
+            booking.setRoom(room);
+            booking.setPayment(payment);
+            bookings.add(booking);
+        }
+        response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("successful");
+        response.setBookingList(bookings);
+        response.setNextCursor(String.valueOf(listSize));
+    }
+
+    @Benchmark
+    public byte[] writeBookingList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,115 @@
+package com.hotelbooking.hotelmanagement.benchmark;
+
+import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.dto.UserDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to DTO mappers in Utils on detached entities, so only the copying is
+ * measured, and of generating a booking confirmation code.
+ *
+ * size is the number of bookings of the user and the number of rooms in the room list.
+ *
+ * mvn -Pjmh verify -Djmh.args="UtilsMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsMappingBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private Booking booking;
+    private User user;
+    private List<Room> rooms;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setName("Guest");
+        user.setEmail("guest@example.com");
+        user.setPhoneNumber("5550100");
+        user.setRole("USER");
+
+        rooms = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Room room = new Room();
+            room.setId((long) i);
+            room.setRoomType("Deluxe " + (i % 5));
+            room.setRoomPrice(new BigDecimal("120.00"));
+            room.setRoomPhotoUrl("https://bucket.s3.amazonaws.com/room-" + i + ".jpg");
+            room.setRoomDescription("Sea view room " + i);
+            rooms.add(room);
+        }
+
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < size; i++) {
+            Booking stay = new Booking();
+            stay.setId((long) i);
+            stay.setUser(user);
+            stay.setRoom(rooms.get(i));
+            stay.setCheckInDate(start.plusDays(i * 3L));
+            stay.setCheckOutDate(start.plusDays(i * 3L + 2));
+            stay.setNumOfAdults(2);
+            stay.setTotalNumOfGuest(2);
+            stay.setBookingConfirmationCode("CODE" + i);
+            Payment payment = new Payment();
+            payment.setId((long) i);
+            payment.setBooking(stay);
+            payment.setAmount(new BigDecimal("240.00"));
+            payment.setStatus(Payment.PaymentStatus.SUCCESS);
+            payment.setPaymentDate(LocalDateTime.of(2029, 12, 1, 12, 0));
+            stay.setPayment(payment);
+            user.getBookings().add(stay);
+        }
+        booking = user.getBookings().get(0);
+    }
+
+    @Benchmark
+    public BookingDTO bookingWithRoomUserAndPayment() {
+        return Utils.mapBookingEntityToBookingDTOPlusBookedRooms(booking, true);
+    }
+
+    @Benchmark
+    public UserDTO userWithBookingHistory() {
+        return Utils.mapUserEntityToUserDTOPlusUserBookingsAndRoom(user);
+    }
+
+    @Benchmark
+    public List<RoomDTO> roomList() {
+        return Utils.mapRoomListEntityToRoomListDTO(rooms);
+    }
+
+    @Benchmark
+    public String confirmationCode() {
+        return Utils.generateRandomConfirmationCode(10);
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty database with synthetic rooms, users, bookings and payments through JDBC batches.
+ *
+ * Every room gets its share of the bookings as back-to-back stays of one to four nights, half of
+ * them in the past, so no two active bookings of a room overlap. Three in four bookings are paid
+ * and one in ten is cancelled. All users share one BCrypt hash of {@link LoadTestSettings#PASSWORD}.
+ */
+class DataSeeder {
+
+    static final String ADMIN_EMAIL = "admin@loadtest.local";
+
+    static final String[] ROOM_TYPES = {"Single", "Double", "Twin", "Deluxe", "Suite", "Family"};
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.random = new Random(seed);
+    }
+
+    SeededData seed(int rooms, int users, int bookings) {
+        List<Object[]> roomRows = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            roomRows.add(new Object[]{ROOM_TYPES[i % ROOM_TYPES.length], BigDecimal.valueOf(80 + random.nextInt(220)),
+                    "Synthetic room " + i, "READY"});
+        }
+        batch("INSERT INTO rooms (room_type, room_price, room_description, photo_status) VALUES (?, ?, ?, ?)", roomRows);
+
+        String passwordHash = passwordEncoder.encode(LoadTestSettings.PASSWORD);
+        List<Object[]> userRows = new ArrayList<>();
+        userRows.add(new Object[]{ADMIN_EMAIL, "Load Test Admin", "5550000", passwordHash, "ADMIN"});
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{userEmail(i), "Guest " + i, "555" + i, passwordHash, "USER"});
+        }
+        batch("INSERT INTO users (email, name, phone_number, password, role) VALUES (?, ?, ?, ?, ?)", userRows);
+
+        List<Long> roomIds = jdbcTemplate.queryForList("SELECT id FROM rooms ORDER BY id", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class);
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, ADMIN_EMAIL);
+
+        List<Object[]> bookingRows = new ArrayList<>();
+        int perRoom = bookings / roomIds.size();
+        int code = 0;
+        for (Long roomId : roomIds) {
+            LocalDate day = LocalDate.now().minusDays(perRoom * 3L / 2);
+            for (int i = 0; i < perRoom; i++) {
+                int nights = 1 + random.nextInt(4);
+                String status = random.nextInt(10) == 0 ? "CANCELLED" : "CONFIRMED";
+                int adults = 1 + random.nextInt(2);
+                bookingRows.add(new Object[]{Date.valueOf(day), Date.valueOf(day.plusDays(nights)), adults, 0, adults,
+                        String.format("LT%08d", code++), status, userIds.get(random.nextInt(userIds.size())), roomId});
+                day = day.plusDays(nights + random.nextInt(2));
+            }
+        }
+        batch("INSERT INTO bookings (check_in_date, check_out_date, num_of_adults, num_of_children, total_num_of_guest," +
+                " booking_confirmation_code, status, user_id, room_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", bookingRows);
+
+        List<Object[]> paymentRows = new ArrayList<>();
+        for (Long bookingId : jdbcTemplate.queryForList("SELECT id FROM bookings ORDER BY id", Long.class)) {
+            if (random.nextInt(4) != 0) {
+                paymentRows.add(new Object[]{bookingId, BigDecimal.valueOf(100 + random.nextInt(500)), "SUCCESS",
+                        Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(365)))});
+            }
+        }
+        batch("INSERT INTO payments (booking_id, payment_amount, status, payment_date) VALUES (?, ?, ?, ?)", paymentRows);
+
+        return new SeededData(roomIds, userIds, adminId, bookingRows.size(), paymentRows.size());
+    }
+
+    static String userEmail(int index) {
+        return "guest" + index + "@loadtest.local";
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    record SeededData(List<Long> roomIds, List<Long> userIds, Long adminId, int bookings, int payments) {
+    }
+}
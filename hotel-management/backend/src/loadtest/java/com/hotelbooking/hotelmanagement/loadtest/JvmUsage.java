@@ -0,0 +1,50 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Peak platform threads, peak heap and GC time of the JVM during a run. The application and the
+ * load generator share the JVM; the generator runs on virtual threads, which the platform thread
+ * count leaves out, so that count is the server's (Tomcat workers, Hikari, schedulers and, in
+ * virtual thread mode, the carrier threads).
+ */
+final class JvmUsage {
+
+    private final long gcCountAtStart;
+    private final long gcMillisAtStart;
+
+    private JvmUsage(long gcCountAtStart, long gcMillisAtStart) {
+        this.gcCountAtStart = gcCountAtStart;
+        this.gcMillisAtStart = gcMillisAtStart;
+    }
+
+    static JvmUsage start() {
+        System.gc();
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        return new JvmUsage(gcCount(), gcMillis());
+    }
+
+    String report(boolean virtualThreads) {
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        return String.format("%s threads: peak %d platform threads, peak heap %d MB, %d collections taking %d ms",
+                virtualThreads ? "Virtual" : "Platform", ManagementFactory.getThreadMXBean().getPeakThreadCount(),
+                peakHeap >> 20, gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
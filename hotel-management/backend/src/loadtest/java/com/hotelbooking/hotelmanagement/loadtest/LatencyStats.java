@@ -0,0 +1,90 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Latencies and outcomes per endpoint. Latency runs from the time a request was scheduled to
+ * be sent, not from when it was actually sent, so a server that falls behind is not flattered
+ * by the generator waiting for it.
+ */
+class LatencyStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long latencyNanos, int status) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).record(latencyNanos, status);
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(Endpoint::count).sum();
+    }
+
+    String report(double seconds) {
+        int width = Math.max("Endpoint".length(), endpoints.keySet().stream().mapToInt(String::length).max().orElse(0));
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("| %-" + width + "s | Requests |  Req/s |   2xx |   4xx | 5xx/IO | Errors %% |"
+                + " p50 ms | p90 ms | p99 ms | p99.9 ms | max ms |%n", "Endpoint"));
+        table.append("|").append("-".repeat(width + 2))
+                .append("|----------|--------|-------|-------|--------|----------|--------|--------|--------|----------|--------|")
+                .append(System.lineSeparator());
+        endpoints.forEach((name, endpoint) -> {
+            long[] latencies = endpoint.sortedLatencies();
+            long count = latencies.length;
+            long errors = count - endpoint.success;
+            table.append(String.format("| %-" + width + "s | %8d | %6.1f | %5d | %5d | %6d | %8.2f | %6.1f | %6.1f | %6.1f | %8.1f | %6.1f |%n",
+                    name, count, count / seconds, endpoint.success, endpoint.clientErrors, endpoint.serverErrors,
+                    count == 0 ? 0.0 : 100.0 * errors / count,
+                    millis(percentile(latencies, 50)), millis(percentile(latencies, 90)), millis(percentile(latencies, 99)),
+                    millis(percentile(latencies, 99.9)), millis(count == 0 ? 0 : latencies[latencies.length - 1])));
+        });
+        return table.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long success;
+        private long clientErrors;
+        private long serverErrors;
+
+        synchronized void record(long latencyNanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (status >= 200 && status < 300) {
+                success++;
+            } else if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else {
+                // 5xx, or -1 when the request failed without a response
+                serverErrors++;
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.hotelmanagement.HotelManagementApplication;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
+import com.hotelbooking.hotelmanagement.service.RoomAvailabilityIndex;
+import com.hotelbooking.hotelmanagement.service.RoomCatalog;
+import com.hotelbooking.hotelmanagement.service.RoomTypeRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the REST API: starts the application on the H2 test profile on a
+ * random port, seeds it with synthetic data, drives the operation mix at the target rate and
+ * prints latency percentiles and error rates per endpoint, also written to target/loadtest-report.md.
+ *
+ * mvn -Ploadtest verify -Dloadtest.args="rooms=500 users=5000 bookings=100000 rate=300 duration=120"
+ *
+ * See {@link LoadTestSettings} for the options. Client and server share the machine, so compare
+ * runs made on the same hardware only.
+ */
+public class LoadTest {
+
+    // Users that log in once up front and make the bookings, payments and cancellations
+    private static final int ACTIVE_USERS = 100;
+
+    private static final Path REPORT_FILE = Path.of("target", "loadtest-report.md");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+
+        List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.hotelbooking=WARN",
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads()));
+        if (settings.poolSize() != null) {
+            applicationArgs.add("--spring.datasource.hikari.maximum-pool-size=" + settings.poolSize());
+            applicationArgs.add("--spring.datasource.hikari.minimum-idle=" + settings.poolSize());
+        }
+        if (settings.poolTimeoutMillis() != null) {
+            applicationArgs.add("--spring.datasource.hikari.connection-timeout=" + settings.poolTimeoutMillis());
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelManagementApplication.class)
+                .profiles("test")
+                .run(applicationArgs.toArray(String[]::new));
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedingStarted = System.nanoTime();
+            DataSeeder.SeededData data = new DataSeeder(context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoder.class), settings.seed())
+                    .seed(settings.rooms(), settings.users(), settings.bookings());
+            // The data went in behind the application's back, so rebuild what it keeps in memory
+            context.getBean(RoomTypeRegistry.class).backfill();
+            context.getBean(RoomAvailabilityIndex.class).rebuild();
+            context.getBean(RoomCatalog.class).reload();
+            context.getBean(DashboardCounters.class).reconcile();
+            System.out.printf("Seeded %d rooms, %d users, %d bookings and %d payments in %d ms%n",
+                    data.roomIds().size(), data.userIds().size(), data.bookings(), data.payments(),
+                    (System.nanoTime() - seedingStarted) / 1_000_000);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            ObjectMapper objectMapper = new ObjectMapper();
+            int activeUsers = Math.min(ACTIVE_USERS, data.userIds().size());
+            List<String> userTokens = new ArrayList<>(activeUsers);
+            for (int i = 0; i < activeUsers; i++) {
+                userTokens.add(login(client, objectMapper, baseUrl, DataSeeder.userEmail(i)));
+            }
+            String adminToken = login(client, objectMapper, baseUrl, DataSeeder.ADMIN_EMAIL);
+
+            Workload workload = new Workload(baseUrl, settings, data.roomIds(), data.userIds().subList(0, activeUsers),
+                    userTokens, adminToken, client);
+            LatencyStats stats = new LatencyStats();
+            System.out.printf("Running %s at %d requests/s on %s threads: %d s warm-up, %d s measured%n",
+                    settings.mix(), settings.rate(), settings.virtualThreads() ? "virtual" : "platform",
+                    settings.warmupSeconds(), settings.durationSeconds());
+            JvmUsage jvmUsage = JvmUsage.start();
+            workload.run(stats);
+            String jvmReport = jvmUsage.report(settings.virtualThreads()) + System.lineSeparator()
+                    + poolReport(context.getBean(HikariDataSource.class), context.getBean(MeterRegistry.class));
+
+            String report = String.format("Target %d requests/s, measured %.1f requests/s over %d s (%d requests started"
+                            + " including warm-up; %d rooms, %d users, %d bookings seeded)%n%s%n%n%s",
+                    settings.rate(), stats.totalRequests() / (double) settings.durationSeconds(), settings.durationSeconds(),
+                    workload.startedRequests(), settings.rooms(), settings.users(), settings.bookings(),
+                    jvmReport, stats.report(settings.durationSeconds()));
+            System.out.println(report);
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, report, StandardCharsets.UTF_8);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static String poolReport(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").counter();
+        return String.format("Connection pool: %d connections, %d timeouts, wait per acquisition mean %.2f ms, max %.1f ms"
+                        + " (connection-timeout %d ms)",
+                dataSource.getMaximumPoolSize(), timeouts != null ? (long) timeouts.count() : 0,
+                acquire != null ? acquire.mean(TimeUnit.MILLISECONDS) : 0.0,
+                acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : 0.0,
+                dataSource.getConnectionTimeout());
+    }
+
+    private static String login(HttpClient client, ObjectMapper objectMapper, String baseUrl, String email)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", email, "password", LoadTestSettings.PASSWORD))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        String token = objectMapper.readTree(response.body()).path("token").asText(null);
+        if (response.statusCode() != 200 || token == null) {
+            throw new IllegalStateException("Login of " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return token;
+    }
+}
@@ -0,0 +1,88 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test options, given as key=value arguments (mvn -Ploadtest verify -Dloadtest.args="rate=200 duration=120").
+ *
+ * rooms, users and bookings size the seeded data set; rate is the target number of requests per
+ * second and warmup and duration are in seconds; the mix gives the relative weight of each
+ * operation, e.g. mix=search:60,book:15,pay:10,cancel:5,login:5,dashboard:5, and seed makes the
+ * generated data set repeatable. virtualThreads=true starts the application with
+ * spring.threads.virtual.enabled to compare it against the platform thread pool. poolSize and
+ * poolTimeout (ms) override the connection pool size and the time a request waits for a
+ * connection; left out, the application's own settings apply.
+ */
+record LoadTestSettings(int rooms, int users, int bookings, int rate, int warmupSeconds, int durationSeconds,
+                        Map<Operation, Integer> mix, long seed, boolean virtualThreads,
+                        Integer poolSize, Integer poolTimeoutMillis) {
+
+    static final String PASSWORD = "loadtest";
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            for (String option : arg.trim().split("\\s+")) {
+                if (option.isEmpty()) {
+                    continue;
+                }
+                int separator = option.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected key=value, got " + option);
+                }
+                values.put(option.substring(0, separator), option.substring(separator + 1));
+            }
+        }
+        LoadTestSettings settings = new LoadTestSettings(
+                intValue(values, "rooms", 200),
+                intValue(values, "users", 1_000),
+                intValue(values, "bookings", 20_000),
+                intValue(values, "rate", 100),
+                intValue(values, "warmup", 10),
+                intValue(values, "duration", 60),
+                parseMix(values.getOrDefault("mix", "search:60,book:15,pay:10,cancel:5,login:5,dashboard:5")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(values.getOrDefault("virtualThreads", "false")),
+                values.containsKey("poolSize") ? Integer.valueOf(values.get("poolSize")) : null,
+                values.containsKey("poolTimeout") ? Integer.valueOf(values.get("poolTimeout")) : null);
+        for (String key : new String[]{"rooms", "users", "bookings", "rate", "warmup", "duration", "mix", "seed",
+                "virtualThreads", "poolSize", "poolTimeout"}) {
+            values.remove(key);
+        }
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown load test options " + values.keySet());
+        }
+        if (settings.rooms < 1 || settings.users < 1 || settings.rate < 1 || settings.durationSeconds < 1) {
+            throw new IllegalArgumentException("rooms, users, rate and duration must be positive");
+        }
+        return settings;
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+
+    enum Operation {
+        SEARCH, BOOK, PAY, CANCEL, LOGIN, DASHBOARD
+    }
+}
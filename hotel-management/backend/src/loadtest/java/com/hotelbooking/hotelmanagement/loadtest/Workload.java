@@ -0,0 +1,227 @@
+package com.hotelbooking.hotelmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.hotelmanagement.loadtest.LoadTestSettings.Operation;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the operation mix against the API at a fixed arrival rate (an open workload: requests
+ * are started on schedule whether or not earlier ones have completed), one virtual thread per
+ * request.
+ *
+ * Bookings made during the run feed the pay and cancel operations; while there is nothing to
+ * pay or cancel yet, those turns book a room instead.
+ */
+class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final List<Long> roomIds;
+    private final List<Long> userIds;
+    private final List<String> userTokens;
+    private final String adminToken;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] schedule;
+
+    private final Queue<Booked> unpaidBookings = new ConcurrentLinkedQueue<>();
+    private final Queue<Booked> paidBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong started = new AtomicLong();
+
+    Workload(String baseUrl, LoadTestSettings settings, List<Long> roomIds, List<Long> userIds,
+             List<String> userTokens, String adminToken, HttpClient client) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.roomIds = roomIds;
+        this.userIds = userIds;
+        this.userTokens = userTokens;
+        this.adminToken = adminToken;
+        this.client = client;
+        this.schedule = schedule(settings.mix());
+    }
+
+    /**
+     * Runs the warm-up and then the measured period, recording only requests scheduled after
+     * the warm-up. Returns once every request has completed.
+     */
+    void run(LatencyStats stats) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long begin = System.nanoTime();
+        long measureFrom = begin + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = begin; scheduled < end; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                long scheduledAt = scheduled;
+                boolean measured = scheduled >= measureFrom;
+                requests.execute(() -> execute(operation, scheduledAt, measured ? stats : null));
+            }
+        }
+    }
+
+    long startedRequests() {
+        return started.get();
+    }
+
+    private void execute(Operation operation, long scheduledAt, LatencyStats stats) {
+        started.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SEARCH -> search(random, scheduledAt, stats);
+            case LOGIN -> login(random, scheduledAt, stats);
+            case DASHBOARD -> send("AdminDashboardController GET /admin/dashboard/summary",
+                    get("/admin/dashboard/summary", adminToken), scheduledAt, stats);
+            case PAY -> {
+                Booked booked = unpaidBookings.poll();
+                if (booked == null) {
+                    book(random, scheduledAt, stats);
+                } else {
+                    pay(booked, random, scheduledAt, stats);
+                }
+            }
+            case CANCEL -> {
+                Booked booked = paidBookings.poll();
+                if (booked == null) {
+                    booked = unpaidBookings.poll();
+                }
+                if (booked == null) {
+                    book(random, scheduledAt, stats);
+                } else {
+                    send("BookingController DELETE /bookings/cancel/{bookingId}",
+                            request("/bookings/cancel/" + booked.bookingId(), userTokens.get(booked.user())).DELETE().build(),
+                            scheduledAt, stats);
+                }
+            }
+            case BOOK -> book(random, scheduledAt, stats);
+        }
+    }
+
+    private void search(ThreadLocalRandom random, long scheduledAt, LatencyStats stats) {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(180));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+        String roomType = DataSeeder.ROOM_TYPES[random.nextInt(DataSeeder.ROOM_TYPES.length)];
+        String path = "/rooms/available-rooms-by-date-and-type?checkInDate=" + checkIn + "&checkOutDate=" + checkOut
+                + "&roomType=" + roomType;
+        send("RoomController GET /rooms/available-rooms-by-date-and-type", get(path, null), scheduledAt, stats);
+    }
+
+    private void login(ThreadLocalRandom random, long scheduledAt, LatencyStats stats) {
+        String body = "{\"email\":\"" + DataSeeder.userEmail(random.nextInt(settings.users())) + "\",\"password\":\""
+                + LoadTestSettings.PASSWORD + "\"}";
+        send("AuthController POST /auth/login", post("/auth/login", body, null), scheduledAt, stats);
+    }
+
+    private void book(ThreadLocalRandom random, long scheduledAt, LatencyStats stats) {
+        int user = random.nextInt(userTokens.size());
+        Long roomId = roomIds.get(random.nextInt(roomIds.size()));
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(365));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(4));
+        String body = "{\"checkInDate\":\"" + checkIn + "\",\"checkOutDate\":\"" + checkOut
+                + "\",\"numOfAdults\":2,\"numOfChildren\":0}";
+        JsonNode response = send("BookingController POST /bookings/book-room/{roomId}/{userId}",
+                post("/bookings/book-room/" + roomId + "/" + userIds.get(user), body, userTokens.get(user)), scheduledAt, stats);
+        if (response != null && response.path("booking").hasNonNull("id")) {
+            unpaidBookings.add(new Booked(response.path("booking").path("id").asLong(), user));
+        }
+    }
+
+    private void pay(Booked booked, ThreadLocalRandom random, long scheduledAt, LatencyStats stats) {
+        String body = "{\"amount\":" + (100 + random.nextInt(400)) + "}";
+        JsonNode response = send("PaymentController POST /payments/process/{bookingId}",
+                post("/payments/process/" + booked.bookingId(), body, userTokens.get(booked.user())), scheduledAt, stats);
+        if (response != null) {
+            paidBookings.add(booked);
+        }
+    }
+
+    /**
+     * Sends the request and records its latency and status. Returns the parsed body of a 2xx
+     * response, otherwise null.
+     */
+    private JsonNode send(String endpoint, HttpRequest request, long scheduledAt, LatencyStats stats) {
+        int status;
+        byte[] body = null;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            body = response.body();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (stats != null) {
+            stats.record(endpoint, System.nanoTime() - scheduledAt, status);
+        }
+        if (status < 200 || status >= 300 || body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // A booking made during the run and the index of the user (and token) that made it
+    private record Booked(long bookingId, int user) {
+    }
+
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[total];
+        int position = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[position++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+}
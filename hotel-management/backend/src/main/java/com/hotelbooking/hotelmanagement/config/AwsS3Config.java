@@ -0,0 +1,69 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+
+/**
+ * One S3 client and transfer manager for the whole application, so uploads share the
+ * client's HTTP connection pool instead of building a client per photo.
+ */
+@Configuration
+public class AwsS3Config {
+
+    @Autowired
+    private AwsS3Properties properties;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public AmazonS3 amazonS3() {
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+                .withMaxConnections(properties.getMaxConnections())
+                .withConnectionTimeout(properties.getConnectionTimeoutMs())
+                .withSocketTimeout(properties.getSocketTimeoutMs());
+
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(
+                        new BasicAWSCredentials(properties.getAccessKey(), properties.getSecretKey())))
+                .withClientConfiguration(clientConfiguration)
+                .withPathStyleAccessEnabled(properties.isPathStyleAccess());
+        if (properties.getEndpoint() != null && !properties.getEndpoint().isBlank()) {
+            builder.withEndpointConfiguration(
+                    new AwsClientBuilder.EndpointConfiguration(properties.getEndpoint(), properties.getRegion()));
+        } else {
+            builder.withRegion(properties.getRegion());
+        }
+        return builder.build();
+    }
+
+    // Part buffers are bounded by uploadThreads x multipartPartSize, so the upload threads stay a
+    // fixed pool even when they are virtual. shutdownNow also shuts the client down, which is
+    // harmless because AmazonS3.shutdown is idempotent.
+    @Bean(destroyMethod = "shutdownNow")
+    public TransferManager transferManager(AmazonS3 amazonS3) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("s3-upload-", 1).factory()
+                : Thread.ofPlatform().name("s3-upload-", 1).daemon().factory();
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(properties.getMultipartThreshold())
+                .withMinimumUploadPartSize(properties.getMultipartPartSize())
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(properties.getUploadThreads(), threadFactory))
+                .build();
+    }
+}
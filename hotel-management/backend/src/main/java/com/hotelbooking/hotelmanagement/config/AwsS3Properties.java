@@ -9,6 +9,24 @@ public class AwsS3Properties {
     
     private String accessKey;
     private String secretKey;
+    private String bucket = "phegon-hotel-mongo";
+    private String region = "us-east-2";
+    // Custom endpoint of an S3-compatible store such as MinIO; empty for AWS
+    private String endpoint;
+    // Base URL for returned image links; defaults to the bucket's AWS URL
+    private String publicUrl;
+    private boolean pathStyleAccess;
+    private int maxConnections = 50;
+    private int connectionTimeoutMs = 5_000;
+    private int socketTimeoutMs = 30_000;
+    // Files above the threshold are uploaded in parts of multipartPartSize bytes
+    private long multipartThreshold = 16L * 1024 * 1024;
+    private long multipartPartSize = 8L * 1024 * 1024;
+    private int uploadThreads = 4;
+    // Longest side in pixels of the downscaled copies stored next to each room photo
+    private int mediumSize = 1280;
+    private int thumbnailSize = 320;
+    private float variantQuality = 0.82f;
 
     public String getAccessKey() {
         return accessKey;
@@ -25,5 +43,116 @@ public class AwsS3Properties {
     public void setSecretKey(String secretKey) {
         this.secretKey = secretKey;
     }
-}
 
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getPublicUrl() {
+        return publicUrl;
+    }
+
+    public void setPublicUrl(String publicUrl) {
+        this.publicUrl = publicUrl;
+    }
+
+    public boolean isPathStyleAccess() {
+        return pathStyleAccess;
+    }
+
+    public void setPathStyleAccess(boolean pathStyleAccess) {
+        this.pathStyleAccess = pathStyleAccess;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(int connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public int getSocketTimeoutMs() {
+        return socketTimeoutMs;
+    }
+
+    public void setSocketTimeoutMs(int socketTimeoutMs) {
+        this.socketTimeoutMs = socketTimeoutMs;
+    }
+
+    public long getMultipartThreshold() {
+        return multipartThreshold;
+    }
+
+    public void setMultipartThreshold(long multipartThreshold) {
+        this.multipartThreshold = multipartThreshold;
+    }
+
+    public long getMultipartPartSize() {
+        return multipartPartSize;
+    }
+
+    public void setMultipartPartSize(long multipartPartSize) {
+        this.multipartPartSize = multipartPartSize;
+    }
+
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public int getMediumSize() {
+        return mediumSize;
+    }
+
+    public void setMediumSize(int mediumSize) {
+        this.mediumSize = mediumSize;
+    }
+
+    public int getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    public void setThumbnailSize(int thumbnailSize) {
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    public float getVariantQuality() {
+        return variantQuality;
+    }
+
+    public void setVariantQuality(float variantQuality) {
+        this.variantQuality = variantQuality;
+    }
+}
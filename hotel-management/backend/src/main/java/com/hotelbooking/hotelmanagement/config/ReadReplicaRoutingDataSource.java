@@ -0,0 +1,43 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections inside the read-only transactions marked by ReplicaReads
+ * while the ReplicaLagMonitor reports the replica as usable, and primary connections
+ * otherwise (writes with their lookups, repository calls outside a service transaction and
+ * reads while the replica lags).
+ *
+ * The read-only flag of a transaction is only known once it has begun, after the transaction
+ * manager has asked for a connection, so this must sit behind a LazyConnectionDataSourceProxy
+ * that defers the choice until the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && ReplicaReads.isAllowed()
+                && lagMonitor.isReplicaUsable()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,113 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Decides whether the read replica is fresh enough to serve read-only transactions.
+ *
+ * Every heartbeat interval the current time is written to the replication_heartbeat table on
+ * the primary and the newest heartbeat is read back from the replica. The lag is the age of
+ * that heartbeat, so it includes up to one interval on a replica that is fully caught up. The
+ * replica is used while the lag is within {@code datasource.replica.max-lag} and not at all
+ * until the first heartbeat has arrived or after a check fails.
+ *
+ * The table is created by ADD_REPLICATION_HEARTBEAT_TABLE.sql, not by the application; while
+ * it is missing every check fails and the replica stays unused.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final Clock clock;
+
+    private volatile boolean tableMissingReported;
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval:PT1S}")
+    public void check() {
+        boolean usable;
+        try {
+            long now = clock.millis();
+            writeHeartbeat(now);
+            List<Long> beats = replica.queryForList("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+            lagMillis = beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+            usable = lagMillis >= 0 && lagMillis <= maxLagMillis;
+            tableMissingReported = false;
+        } catch (BadSqlGrammarException e) {
+            lagMillis = -1;
+            usable = false;
+            if (!tableMissingReported) {
+                log.error("The replication_heartbeat table is missing on the primary or the replica, run"
+                        + " ADD_REPLICATION_HEARTBEAT_TABLE.sql on the primary; reads go to the primary until then: {}", e.getMessage());
+                tableMissingReported = true;
+            }
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Unable to check the read replica, reads go to the primary: {}", e.getMessage());
+            }
+        }
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica caught up (lag {} ms), read-only transactions use it again", lagMillis);
+            } else if (lagMillis >= 0) {
+                log.warn("Read replica lags by {} ms, read-only transactions go to the primary", lagMillis);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Age of the newest heartbeat on the replica in milliseconds, or -1 when it is unknown.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.db.replica.lag", this, monitor -> monitor.lagMillis >= 0 ? monitor.lagMillis / 1000.0 : Double.NaN)
+                .description("Age of the newest heartbeat visible on the read replica")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("hotel.db.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the read replica")
+                .register(registry);
+    }
+
+    private void writeHeartbeat(long now) {
+        if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+        }
+    }
+}
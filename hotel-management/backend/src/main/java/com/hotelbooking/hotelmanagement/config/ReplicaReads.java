@@ -0,0 +1,64 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import java.util.function.Supplier;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marks the read-only transactions whose reads may go to the replica.
+ *
+ * A read-only transaction alone is not enough: Spring Data runs the inherited repository
+ * methods (findById, findAll, ...) in a read-only transaction of their own when none is
+ * active, which would send the lookups of write paths and the refreshes that follow a write
+ * to a replica that may not have the write yet. ReadReplicaRoutingDataSource therefore only
+ * considers the replica while a method of this application annotated
+ * {@code @Transactional(readOnly = true)} is running, or inside {@link #call}.
+ */
+@Aspect
+public class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    @Around("within(com.hotelbooking.hotelmanagement..*) && @annotation(transactional)")
+    public Object markReadOnly(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+        Boolean previous = ALLOWED.get();
+        ALLOWED.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs work that opens a read-only transaction programmatically, such as a
+     * TransactionTemplate, with its reads allowed on the replica.
+     */
+    public static <T> T call(Supplier<T> work) {
+        Boolean previous = ALLOWED.get();
+        ALLOWED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static boolean isAllowed() {
+        return ALLOWED.get() != null;
+    }
+
+    private static void restore(Boolean previous) {
+        if (previous == null) {
+            ALLOWED.remove();
+        } else {
+            ALLOWED.set(previous);
+        }
+    }
+}
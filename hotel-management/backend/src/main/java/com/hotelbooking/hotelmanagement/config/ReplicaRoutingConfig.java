@@ -0,0 +1,78 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import java.time.Clock;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary and read replica connection pools behind one routing DataSource, set up only when
+ * {@code datasource.replica.url} is given. Without it the application runs on the single
+ * spring.datasource pool as before.
+ *
+ * Service methods annotated {@code @Transactional(readOnly = true)} read from the replica
+ * while ReplicaLagMonitor finds it within {@code datasource.replica.max-lag}; everything else,
+ * including the read-only transactions Spring Data opens around a bare findById and schema
+ * updates at startup, uses the primary. To try it locally, point
+ * datasource.replica.url at a second database that receives the primary's changes (or at
+ * the same database, which behaves like a replica without lag).
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties, HikariDataSource primaryDataSource) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(primaryDataSource.getPoolName() != null ? primaryDataSource.getPoolName() + "-replica" : "replica");
+        replica.setJdbcUrl(properties.getUrl());
+        replica.setUsername(properties.getUsername());
+        replica.setPassword(properties.getPassword());
+        if (properties.getDriverClassName() != null && !properties.getDriverClassName().isBlank()) {
+            replica.setDriverClassName(properties.getDriverClassName());
+        }
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setConnectionTimeout(properties.getConnectionTimeoutMs());
+        replica.setReadOnly(true);
+        // Same driver settings as the primary, e.g. the MySQL statement cache
+        Properties driverProperties = new Properties();
+        driverProperties.putAll(primaryDataSource.getDataSourceProperties());
+        replica.setDataSourceProperties(driverProperties);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                               ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, properties.getMaxLag(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaReads replicaReads() {
+        return new ReplicaReads();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
@@ -2,10 +2,12 @@ package com.hotelbooking.hotelmanagement.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hotelbooking.hotelmanagement.dto.Response;
@@ -35,6 +37,9 @@ public class AdminDashboardController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    // Breaking change: the allUsers, allBookings, allRooms and allPayments lists are no longer
+    // embedded, as clients cannot tell a cut-down list from a complete one. The counters are the
+    // same as /summary; the lists are paged through /users, /bookings, /rooms and /payments.
     @GetMapping("/statistics")
     public ResponseEntity<Response> getDashboardStatistics() {
         // Debug: Log authentication info BEFORE PreAuthorize check
@@ -67,5 +72,51 @@ public class AdminDashboardController {
         Response response = adminDashboardService.getDashboardStatistics();
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
-}
 
+    @GetMapping("/summary")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getDashboardSummary() {
+        Response response = adminDashboardService.getDashboardSummary();
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getUsersPage(@RequestParam(required = false) String sort,
+                                                 @RequestParam(required = false) String direction,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(required = false) Integer limit) {
+        Response response = adminDashboardService.getUsersPage(sort, direction, after, limit);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/bookings")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getBookingsPage(@RequestParam(required = false) String sort,
+                                                    @RequestParam(required = false) String direction,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit) {
+        Response response = adminDashboardService.getBookingsPage(sort, direction, after, limit);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/rooms")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getRoomsPage(@RequestParam(required = false) String sort,
+                                                 @RequestParam(required = false) String direction,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(required = false) Integer limit) {
+        Response response = adminDashboardService.getRoomsPage(sort, direction, after, limit);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/payments")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getPaymentsPage(@RequestParam(required = false) String sort,
+                                                    @RequestParam(required = false) String direction,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit) {
+        Response response = adminDashboardService.getPaymentsPage(sort, direction, after, limit);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+}
@@ -2,6 +2,8 @@ package com.hotelbooking.hotelmanagement.controller;
 
 import com.hotelbooking.hotelmanagement.entity.User;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.CustomUserDetailsService;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +24,12 @@ public class AdminFixController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
     @PostMapping("/password")
     public ResponseEntity<Map<String, Object>> fixAdminPassword() {
         Map<String, Object> response = new HashMap<>();
@@ -33,9 +41,14 @@ public class AdminFixController {
                 
                 // Check if password needs hashing
                 if (admin.getPassword() == null || !admin.getPassword().startsWith("$2a$")) {
+                    String previousRole = admin.getRole();
                     admin.setPassword(passwordEncoder.encode("admin@123"));
                     admin.setRole("ADMIN");
-                    userRepository.save(admin);
+                    dashboardCounters.mutate(() -> {
+                        userRepository.save(admin);
+                        dashboardCounters.userRoleChanged(previousRole, admin.getRole());
+                    });
+                    customUserDetailsService.evictUser(admin.getEmail());
                     
                     response.put("status", "success");
                     response.put("message", "Admin password has been hashed and role updated to ADMIN");
@@ -2,14 +2,20 @@ package com.hotelbooking.hotelmanagement.controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.service.BookingExporter;
 import com.hotelbooking.hotelmanagement.service.interfac.IBookingService;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/bookings")
 
@@ -17,6 +23,8 @@ public class BookingController {
 
     @Autowired
     private IBookingService bookingService;
+    @Autowired
+    private BookingExporter bookingExporter;
 
     @PostMapping("/book-room/{roomId}/{userId}")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('USER')")
@@ -30,13 +38,47 @@ public class BookingController {
 
     }
 
+    // Books all the listed rooms for the same stay, or none of them if any is taken
+    @PostMapping("/book-rooms/{userId}")
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('USER')")
+    public ResponseEntity<Response> saveGroupBooking(@PathVariable Long userId,
+                                                     @RequestBody GroupBookingRequest groupRequest) {
+        Response response = bookingService.saveGroupBooking(userId, groupRequest);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping("/all")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Response> getAllBookings() {
-        Response response = bookingService.getAllBookings();
+    public ResponseEntity<Response> getAllBookings(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit) {
+        Response response = bookingService.getAllBookings(after, limit);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    /**
+     * Every booking with its room, user and payment as newline-delimited JSON (default) or
+     * CSV, streamed as it is read from the database.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportBookings(@RequestParam(required = false) String format) {
+        BookingExporter.Format exportFormat;
+        try {
+            exportFormat = BookingExporter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            Response response = new Response();
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        StreamingResponseBody body = outputStream -> bookingExporter.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/get-by-confirmation-code/{confirmationCode}")
     public ResponseEntity<Response> getBookingByConfirmationCode(@PathVariable String confirmationCode) {
         Response response = bookingService.findBookingByConfirmationCode(confirmationCode);
@@ -2,16 +2,21 @@ package com.hotelbooking.hotelmanagement.controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.service.RoomCatalogVersion;
 import com.hotelbooking.hotelmanagement.service.interfac.IRoomService;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -21,6 +26,12 @@ public class RoomController {
 
     @Autowired
     private IRoomService roomService;
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+    // How long clients may reuse a catalog response before revalidating it; zero means always revalidate
+    @Value("${room.catalog.max-age:PT0S}")
+    private Duration catalogMaxAge = Duration.ZERO;
+
     @PostMapping("/add")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> addNewRoom(
@@ -40,21 +51,56 @@ public class RoomController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    // The catalog endpoints answer 304 Not Modified from the catalog version alone, before the service is called
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllRooms() {
-        Response response = roomService.getAllRooms();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<Response> getAllRooms(@RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit,
+                                                WebRequest request) {
+        RoomCatalogVersion.Stamp stamp = catalogVersion.rooms();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        Response response = roomService.getAllRooms(after, limit);
+        return ResponseEntity.status(response.getStatusCode())
+                .cacheControl(catalogCacheControl(response.getStatusCode(), true))
+                .body(response);
     }
 
     @GetMapping("/types")
-    public List<String> getRoomTypes() {
-        return roomService.getAllRoomTypes();
+    public ResponseEntity<List<String>> getRoomTypes(WebRequest request) {
+        RoomCatalogVersion.Stamp stamp = catalogVersion.rooms();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(catalogCacheControl(200, true))
+                .body(roomService.getAllRoomTypes());
+    }
+
+    @GetMapping("/types/suggest")
+    public ResponseEntity<List<String>> suggestRoomTypes(@RequestParam(required = false) String prefix,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         WebRequest request) {
+        RoomCatalogVersion.Stamp stamp = catalogVersion.rooms();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(catalogCacheControl(200, true))
+                .body(roomService.suggestRoomTypes(prefix, limit));
     }
 
     @GetMapping("/room-by-id/{roomId}")
-    public ResponseEntity<Response> getRoomById(@PathVariable Long roomId) {
+    public ResponseEntity<Response> getRoomById(@PathVariable Long roomId, WebRequest request) {
+        RoomCatalogVersion.Stamp stamp = catalogVersion.roomsWithBookings();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
         Response response = roomService.getRoomById(roomId);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+        // The room comes with its bookings, so shared caches must not keep it
+        return ResponseEntity.status(response.getStatusCode())
+                .cacheControl(catalogCacheControl(response.getStatusCode(), false))
+                .body(response);
     }
 
     @GetMapping("/all-available-rooms")
@@ -79,6 +125,23 @@ public class RoomController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @GetMapping("/availability-index/consistency")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> checkAvailabilityIndexConsistency(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) String roomType
+    ) {
+        if (checkInDate == null || checkOutDate == null) {
+            Response response = new Response();
+            response.setStatusCode(400);
+            response.setMessage("Please provide values for checkInDate and checkOutDate");
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        Response response = roomService.checkAvailabilityIndexConsistency(checkInDate, checkOutDate, roomType != null ? roomType : "");
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @PutMapping("/update/{roomId}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> updateRoom(@PathVariable Long roomId,
@@ -92,6 +155,13 @@ public class RoomController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @GetMapping("/{roomId}/photo-status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getPhotoUploadStatus(@PathVariable Long roomId) {
+        Response response = roomService.getPhotoUploadStatus(roomId);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @DeleteMapping("/delete/{roomId}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<Response> deleteRoom(@PathVariable Long roomId) {
@@ -100,6 +170,13 @@ public class RoomController {
 
     }
 
-
+    private CacheControl catalogCacheControl(int statusCode, boolean shared) {
+        if (statusCode != 200) {
+            return CacheControl.noStore();
+        }
+        CacheControl cacheControl = catalogMaxAge.isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(catalogMaxAge).mustRevalidate();
+        return shared ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
 }
-
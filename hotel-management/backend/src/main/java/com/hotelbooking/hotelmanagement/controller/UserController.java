@@ -22,8 +22,9 @@ public class UserController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Response> getAllUsers() {
-        Response response = userService.getAllUsers();
+    public ResponseEntity<Response> getAllUsers(@RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        Response response = userService.getAllUsers(after, limit);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
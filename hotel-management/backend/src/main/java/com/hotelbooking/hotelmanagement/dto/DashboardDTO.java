@@ -4,7 +4,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -13,19 +14,16 @@ public class DashboardDTO {
     private Long totalUsers;
     private Long totalAdmins;
     private Long totalRegularUsers;
-    private List<UserDTO> allUsers;
 
     // Booking Statistics
     private Long totalBookings;
     private Long confirmedBookings;
     private Long cancelledBookings;
-    private List<BookingDTO> allBookings;
 
     // Room Statistics
     private Long totalRooms;
     private Long availableRooms;
     private Long bookedRooms;
-    private List<RoomDTO> allRooms;
 
     // Payment Statistics
     private BigDecimal totalRevenue;
@@ -34,6 +32,9 @@ public class DashboardDTO {
     private Long totalPayments;
     private Long successfulPaymentCount;
     private Long failedPaymentCount;
-    private List<PaymentDTO> allPayments;
+
+    // Last recount of the statistics and what it had to correct (counter name -> difference)
+    private LocalDateTime countersReconciledAt;
+    private Map<String, String> countersDrift;
 }
 
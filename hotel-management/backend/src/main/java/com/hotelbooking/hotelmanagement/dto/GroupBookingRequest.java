@@ -0,0 +1,18 @@
+package com.hotelbooking.hotelmanagement.dto;
+
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One stay for several rooms, admitted all together or not at all; the guest counts apply to every room
+@Data
+public class GroupBookingRequest {
+
+    private List<Long> roomIds;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int numOfAdults;
+    private int numOfChildren;
+}
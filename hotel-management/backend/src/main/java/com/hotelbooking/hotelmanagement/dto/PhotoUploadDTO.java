@@ -0,0 +1,20 @@
+package com.hotelbooking.hotelmanagement.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PhotoUploadDTO {
+
+    private Long roomId;
+    private String status;
+    private String roomPhotoUrl;
+    private Integer attempts;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
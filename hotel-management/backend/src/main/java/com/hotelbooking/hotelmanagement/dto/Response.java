@@ -17,15 +17,19 @@ public class Response {
     private String role;
     private String expirationTime;
     private String bookingConfirmationCode;
+    // Cursor for the next page of a paginated list, passed back as `after`; absent on the last page
+    private String nextCursor;
 
     private UserDTO user;
     private RoomDTO room;
     private BookingDTO booking;
     private PaymentDTO payment;
     private DashboardDTO dashboard;
+    private PhotoUploadDTO photoUpload;
     private List<UserDTO> userList;
     private List<RoomDTO> roomList;
     private List<BookingDTO> bookingList;
+    private List<PaymentDTO> paymentList;
 
 
 }
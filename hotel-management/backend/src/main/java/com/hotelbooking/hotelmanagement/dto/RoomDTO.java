@@ -15,6 +15,9 @@ public class RoomDTO {
     private String roomType;
     private BigDecimal roomPrice;
     private String roomPhotoUrl;
+    private String roomPhotoMediumUrl;
+    private String roomPhotoThumbnailUrl;
+    private String photoStatus;
     private String roomDescription;
     private List<BookingDTO> bookings;
 }
@@ -11,7 +11,10 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_room_checkout_checkin_status",
+                columnList = "room_id, check_out_date, check_in_date, status")
+})
 public class Booking {
 
     @Id
@@ -54,6 +57,15 @@ public class Booking {
         CANCELLED
     }
 
+    /**
+     * The day after the last night a stay occupies, so that the stay holds the nights
+     * [checkInDate, occupiedUntil). A same-day stay, or one without a check-out date,
+     * still holds its check-in night.
+     */
+    public static LocalDate occupiedUntil(LocalDate checkInDate, LocalDate checkOutDate) {
+        return checkOutDate != null && checkOutDate.isAfter(checkInDate) ? checkOutDate : checkInDate.plusDays(1);
+    }
+
     public void calculateTotalNumberOfGuest() {
         this.totalNumOfGuest = this.numOfAdults + this.numOfChildren;
     }
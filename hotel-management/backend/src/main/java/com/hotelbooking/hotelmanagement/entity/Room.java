@@ -10,7 +10,9 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_room_type_id", columnList = "room_type_id")
+})
 public class Room {
 
 
@@ -19,13 +21,30 @@ public class Room {
     private Long id;
 
     private String roomType;
+    // Normalized type that availability searches filter on; roomType keeps its display name
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id")
+    private RoomType type;
     private BigDecimal roomPrice;
     private String roomPhotoUrl;
+    // Downscaled copies of the photo for list views; equal to roomPhotoUrl when the photo is small
+    private String roomPhotoMediumUrl;
+    private String roomPhotoThumbnailUrl;
+    // Null for rooms whose photo was uploaded before ingestion became asynchronous
+    @Column(length = 20)
+    @Enumerated(EnumType.STRING)
+    private PhotoStatus photoStatus;
     private String roomDescription;
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Booking> bookings = new ArrayList<>();
 
 
+    public enum PhotoStatus {
+        PENDING,
+        READY,
+        FAILED
+    }
+
     @Override
     public String toString() {
         return "Room{" +
@@ -33,6 +52,9 @@ public class Room {
                 ", roomType='" + roomType + '\'' +
                 ", roomPrice=" + roomPrice +
                 ", roomPhotoUrl='" + roomPhotoUrl + '\'' +
+                ", roomPhotoMediumUrl='" + roomPhotoMediumUrl + '\'' +
+                ", roomPhotoThumbnailUrl='" + roomPhotoThumbnailUrl + '\'' +
+                ", photoStatus=" + photoStatus +
                 ", roomDescription='" + roomDescription + '\'' +
                 '}';
     }
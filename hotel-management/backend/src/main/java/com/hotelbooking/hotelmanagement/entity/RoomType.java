@@ -0,0 +1,31 @@
+package com.hotelbooking.hotelmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Locale;
+
+@Data
+@Entity
+@Table(name = "room_types", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_types_name_key", columnNames = "name_key")
+})
+public class RoomType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Display name as first entered, e.g. "Deluxe Suite"
+    @Column(nullable = false)
+    private String name;
+
+    // Trimmed, lower-case name that room type lookups match exactly
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    public static String keyOf(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
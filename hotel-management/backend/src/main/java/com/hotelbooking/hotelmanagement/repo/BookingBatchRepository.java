@@ -0,0 +1,14 @@
+package com.hotelbooking.hotelmanagement.repo;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+
+    /**
+     * Inserts the bookings as one JDBC batch and sets their generated ids. The bookings must
+     * be new and carry their room and user; they are not attached to the persistence context.
+     */
+    void insertAll(List<Booking> bookings);
+}
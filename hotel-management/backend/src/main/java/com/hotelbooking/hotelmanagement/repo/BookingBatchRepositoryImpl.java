@@ -0,0 +1,63 @@
+package com.hotelbooking.hotelmanagement.repo;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Booking ids are IDENTITY columns, which Hibernate never batches, so group bookings go through JDBC
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (check_in_date, check_out_date, num_of_adults," +
+            " num_of_children, total_num_of_guest, booking_confirmation_code, status, user_id, room_id)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        statement.setDate(1, Date.valueOf(booking.getCheckInDate()));
+                        statement.setDate(2, booking.getCheckOutDate() != null ? Date.valueOf(booking.getCheckOutDate()) : null);
+                        statement.setInt(3, booking.getNumOfAdults());
+                        statement.setInt(4, booking.getNumOfChildren());
+                        statement.setInt(5, booking.getTotalNumOfGuest());
+                        statement.setString(6, booking.getBookingConfirmationCode());
+                        statement.setString(7, booking.getStatus() != null ? booking.getStatus().name() : null);
+                        statement.setLong(8, booking.getUser().getId());
+                        statement.setLong(9, booking.getRoom().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                }, keyHolder);
+
+        // One key row per booking, in insertion order; the column is named ID on H2 and GENERATED_KEY on MySQL
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != bookings.size()) {
+            throw new IllegalStateException("Expected " + bookings.size() + " generated booking ids, got " + keys.size());
+        }
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -1,13 +1,216 @@
 package com.hotelbooking.hotelmanagement.repo;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingBatchRepository {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Keyset pages of the /all list, newest first: the first page, then the rows after the last id seen.
+    // The eager user and payment are joined in rather than loaded by one extra query per booking.
+    @EntityGraph(attributePaths = {"user", "payment"})
+    List<Booking> findAllByOrderByIdDesc(Limit limit);
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @EntityGraph(attributePaths = {"user", "payment"})
+    List<Booking> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
 
     Optional<Booking> findByBookingConfirmationCode(String confirmationCode);
-}
 
+    // The booking with everything the detailed mapper reads, in a single query
+    @EntityGraph(attributePaths = {"user", "room", "payment"})
+    Optional<Booking> findWithDetailsByBookingConfirmationCode(String confirmationCode);
+
+    /**
+     * Booking history of one user as flat rows with the booked room and the payment, in a single
+     * query however many bookings the user has. Only the columns the history shows are selected.
+     */
+    @Query("SELECT b.id AS id, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.numOfAdults AS numOfAdults," +
+            " b.numOfChildren AS numOfChildren, b.totalNumOfGuest AS totalNumOfGuest," +
+            " b.bookingConfirmationCode AS bookingConfirmationCode, b.status AS status," +
+            " r.id AS roomId, r.roomType AS roomType, r.roomPrice AS roomPrice, r.roomPhotoUrl AS roomPhotoUrl," +
+            " r.roomDescription AS roomDescription," +
+            " p.id AS paymentId, p.amount AS paymentAmount, p.status AS paymentStatus, p.paymentDate AS paymentDate" +
+            " FROM Booking b LEFT JOIN b.room r LEFT JOIN b.payment p WHERE b.user.id = :userId ORDER BY b.id")
+    List<BookingHistoryRow> findHistoryByUserId(Long userId);
+
+    /**
+     * Bookings of one room as flat rows, without loading the users and payments that a
+     * Booking entity fetches eagerly.
+     */
+    @Query("SELECT b.id AS id, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.numOfAdults AS numOfAdults," +
+            " b.numOfChildren AS numOfChildren, b.totalNumOfGuest AS totalNumOfGuest," +
+            " b.bookingConfirmationCode AS bookingConfirmationCode, b.status AS status" +
+            " FROM Booking b WHERE b.room.id = :roomId ORDER BY b.id")
+    List<RoomBookingRow> findRoomBookingsByRoomId(Long roomId);
+
+    /**
+     * The bookings a room delete cascades to, with what the in-memory views need to forget
+     * them: the booked room, the status and the payment the cascade takes along.
+     */
+    @Query("SELECT b.id AS bookingId, r.id AS roomId, b.status AS status," +
+            " p.status AS paymentStatus, p.amount AS paymentAmount" +
+            " FROM Booking b LEFT JOIN b.room r LEFT JOIN b.payment p WHERE r.id = :roomId")
+    List<CascadedBookingRow> findCascadedBookingsByRoomId(Long roomId);
+
+    // findCascadedBookingsByRoomId for the bookings a user delete cascades to
+    @Query("SELECT b.id AS bookingId, r.id AS roomId, b.status AS status," +
+            " p.status AS paymentStatus, p.amount AS paymentAmount" +
+            " FROM Booking b LEFT JOIN b.room r LEFT JOIN b.payment p WHERE b.user.id = :userId")
+    List<CascadedBookingRow> findCascadedBookingsByUserId(Long userId);
+
+    /**
+     * Whether the room has an active booking holding a night of the stay [checkInDate, checkOutDate).
+     * A stored booking holds the nights up to {@link Booking#occupiedUntil}; as dates are whole days,
+     * that day is after the requested check-in exactly when the booking's check-out is, or when it
+     * checks in on or after the requested check-in. This covers same-day stays without date
+     * arithmetic in JPQL; a booking without check-out date holds its check-in night only.
+     * Served by the (room_id, check_out_date, check_in_date, status) index: a stored check-out is
+     * never before its check-in, so the redundant {@code checkOutDate >= :checkInDate} bound holds
+     * for every match and lets the database seek to the bookings ending on or after the requested
+     * check-in (plus those without check-out date), so the cost does not grow with past history.
+     */
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b WHERE b.room.id = :roomId" +
+            " AND b.checkInDate < :checkOutDate" +
+            " AND ((b.checkOutDate >= :checkInDate AND (b.checkOutDate > :checkInDate OR b.checkInDate >= :checkInDate))" +
+            " OR (b.checkOutDate IS NULL AND b.checkInDate >= :checkInDate))" +
+            " AND (b.status IS NULL OR b.status <> com.hotelbooking.hotelmanagement.entity.Booking.BookingStatus.CANCELLED)")
+    boolean existsActiveOverlap(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    // existsActiveOverlap for several rooms at once, with the same predicate: the ones among them that are taken
+    @Query("SELECT DISTINCT b.room.id FROM Booking b WHERE b.room.id IN :roomIds" +
+            " AND b.checkInDate < :checkOutDate" +
+            " AND ((b.checkOutDate >= :checkInDate AND (b.checkOutDate > :checkInDate OR b.checkInDate >= :checkInDate))" +
+            " OR (b.checkOutDate IS NULL AND b.checkInDate >= :checkInDate))" +
+            " AND (b.status IS NULL OR b.status <> com.hotelbooking.hotelmanagement.entity.Booking.BookingStatus.CANCELLED)")
+    List<Long> findRoomIdsWithActiveOverlap(Collection<Long> roomIds, LocalDate checkInDate, LocalDate checkOutDate);
+
+    @Query("SELECT b.id AS bookingId, b.room.id AS roomId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+            "FROM Booking b WHERE b.room IS NOT NULL AND (b.status IS NULL OR b.status <> :cancelledStatus)")
+    List<BookingRange> findActiveBookingRanges(Booking.BookingStatus cancelledStatus);
+
+    /**
+     * Every booking with its user, room and payment in one query, for the streaming export.
+     * Rows are fetched from the database EXPORT_FETCH_SIZE at a time and the stream must be
+     * consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.room LEFT JOIN FETCH b.payment ORDER BY b.id")
+    Stream<Booking> streamAllWithDetails();
+
+    @Query("SELECT b.status AS status, COUNT(b) AS total FROM Booking b GROUP BY b.status")
+    List<StatusCount> countBookingsByStatus();
+
+    @Query("SELECT b.room.id AS roomId, COUNT(b) AS total FROM Booking b WHERE b.room IS NOT NULL AND b.status = :status GROUP BY b.room.id")
+    List<RoomCount> countBookingsPerRoomByStatus(Booking.BookingStatus status);
+
+    interface BookingRange {
+        Long getBookingId();
+
+        Long getRoomId();
+
+        LocalDate getCheckInDate();
+
+        LocalDate getCheckOutDate();
+    }
+
+    interface RoomBookingRow {
+        Long getId();
+
+        LocalDate getCheckInDate();
+
+        LocalDate getCheckOutDate();
+
+        int getNumOfAdults();
+
+        int getNumOfChildren();
+
+        int getTotalNumOfGuest();
+
+        String getBookingConfirmationCode();
+
+        Booking.BookingStatus getStatus();
+    }
+
+    interface BookingHistoryRow {
+        Long getId();
+
+        LocalDate getCheckInDate();
+
+        LocalDate getCheckOutDate();
+
+        int getNumOfAdults();
+
+        int getNumOfChildren();
+
+        int getTotalNumOfGuest();
+
+        String getBookingConfirmationCode();
+
+        Booking.BookingStatus getStatus();
+
+        Long getRoomId();
+
+        String getRoomType();
+
+        BigDecimal getRoomPrice();
+
+        String getRoomPhotoUrl();
+
+        String getRoomDescription();
+
+        Long getPaymentId();
+
+        BigDecimal getPaymentAmount();
+
+        Payment.PaymentStatus getPaymentStatus();
+
+        LocalDateTime getPaymentDate();
+    }
+
+    interface CascadedBookingRow {
+        Long getBookingId();
+
+        Long getRoomId();
+
+        Booking.BookingStatus getStatus();
+
+        Payment.PaymentStatus getPaymentStatus();
+
+        BigDecimal getPaymentAmount();
+    }
+
+    interface StatusCount {
+        Booking.BookingStatus getStatus();
+
+        Long getTotal();
+    }
+
+    interface RoomCount {
+        Long getRoomId();
+
+        Long getTotal();
+    }
+}
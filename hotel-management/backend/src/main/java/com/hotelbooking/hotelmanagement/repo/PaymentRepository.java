@@ -2,10 +2,25 @@ package com.hotelbooking.hotelmanagement.repo;
 
 import com.hotelbooking.hotelmanagement.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
     Optional<Payment> findByBookingId(Long bookingId);
+
+    @Query("SELECT p.status AS status, COUNT(p) AS total, SUM(p.amount) AS amount FROM Payment p GROUP BY p.status")
+    List<StatusTotal> sumPaymentsByStatus();
+
+    interface StatusTotal {
+        Payment.PaymentStatus getStatus();
+
+        Long getTotal();
+
+        BigDecimal getAmount();
+    }
 }
 
@@ -1,25 +1,85 @@
 package com.hotelbooking.hotelmanagement.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.RoomType;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
+
+    // Keyset pages of the /all list, newest first: the first page, then the rows after the last id seen
+    List<Room> findAllByOrderByIdDesc(Limit limit);
+
+    List<Room> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
 
     @Query("SELECT DISTINCT r.roomType FROM Room r")
     List<String> findDistinctRoomTypes();
 
 
-    @Query("SELECT r FROM Room r WHERE r.roomType LIKE %:roomType% AND r.id NOT IN (SELECT bk.room.id FROM Booking bk WHERE" +
-            "(bk.checkInDate <= :checkOutDate) AND (bk.checkOutDate >= :checkInDate))")
-    List<Room> findAvailableRoomsByDatesAndTypes(LocalDate checkInDate, LocalDate checkOutDate, String roomType);
+    // Type filtering is an exact match on the indexed room_type_id column. Stays are the nights
+    // [checkInDate, checkOutDate) with the overlap predicate of BookingRepository.existsActiveOverlap,
+    // including its index-seekable check-out bound, so callers pass Booking.occupiedUntil as the
+    // check-out of a same-day stay.
+    @Query("SELECT r FROM Room r WHERE r.type.id = :roomTypeId AND r.id NOT IN (SELECT bk.room.id FROM Booking bk WHERE" +
+            " bk.checkInDate < :checkOutDate" +
+            " AND ((bk.checkOutDate >= :checkInDate AND (bk.checkOutDate > :checkInDate OR bk.checkInDate >= :checkInDate))" +
+            " OR (bk.checkOutDate IS NULL AND bk.checkInDate >= :checkInDate))" +
+            " AND (bk.status IS NULL OR bk.status <> com.hotelbooking.hotelmanagement.entity.Booking.BookingStatus.CANCELLED))")
+    List<Room> findAvailableRoomsByDatesAndTypeId(LocalDate checkInDate, LocalDate checkOutDate, Long roomTypeId);
 
+    @Query("SELECT r FROM Room r WHERE r.id NOT IN (SELECT bk.room.id FROM Booking bk WHERE" +
+            " bk.checkInDate < :checkOutDate" +
+            " AND ((bk.checkOutDate >= :checkInDate AND (bk.checkOutDate > :checkInDate OR bk.checkInDate >= :checkInDate))" +
+            " OR (bk.checkOutDate IS NULL AND bk.checkInDate >= :checkInDate))" +
+            " AND (bk.status IS NULL OR bk.status <> com.hotelbooking.hotelmanagement.entity.Booking.BookingStatus.CANCELLED))")
+    List<Room> findAvailableRoomsByDates(LocalDate checkInDate, LocalDate checkOutDate);
+
+    // Rooms written without a type id, e.g. before room types were normalized
+    @Query("SELECT DISTINCT r.roomType FROM Room r WHERE r.type IS NULL AND r.roomType IS NOT NULL")
+    List<String> findDistinctUntypedRoomTypes();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Room r SET r.type = :type WHERE r.type IS NULL AND r.roomType = :roomType")
+    int assignType(String roomType, RoomType type);
 
-    @Query("SELECT r FROM Room r WHERE r.id NOT IN (SELECT b.room.id FROM Booking b)")
-    List<Room> getAllAvailableRooms();
-}
 
+    // Rooms without an active booking on the night of fromDate or later; a same-day booking, or one
+    // without check-out date, holds its check-in night. As in existsActiveOverlap, the redundant
+    // checkOutDate >= :fromDate bound lets the check_out_date index skip past bookings
+    @Query("SELECT r FROM Room r WHERE r.id NOT IN (SELECT b.room.id FROM Booking b WHERE" +
+            " ((b.checkOutDate >= :fromDate AND (b.checkOutDate > :fromDate OR b.checkInDate >= :fromDate))" +
+            " OR (b.checkOutDate IS NULL AND b.checkInDate >= :fromDate))" +
+            " AND (b.status IS NULL OR b.status <> com.hotelbooking.hotelmanagement.entity.Booking.BookingStatus.CANCELLED))")
+    List<Room> getAllAvailableRooms(LocalDate fromDate);
+
+    // Written by the photo ingestion worker, so only the photo columns are touched and a
+    // concurrent update of the other room fields is not overwritten
+    @Modifying
+    @Transactional
+    @Query("UPDATE Room r SET r.roomPhotoUrl = :photoUrl, r.roomPhotoMediumUrl = :mediumUrl," +
+            " r.roomPhotoThumbnailUrl = :thumbnailUrl, r.photoStatus = :photoStatus WHERE r.id = :roomId")
+    int updatePhoto(Long roomId, String photoUrl, String mediumUrl, String thumbnailUrl, Room.PhotoStatus photoStatus);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Room r SET r.photoStatus = :photoStatus WHERE r.id = :roomId")
+    int updatePhotoStatus(Long roomId, Room.PhotoStatus photoStatus);
+
+    // Written by updateRoom, the counterpart of updatePhoto: the photo columns are left alone, so a
+    // photo upload completing between the read and this update is not overwritten
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Room r SET r.type = :type, r.roomType = :roomType, r.roomPrice = :roomPrice," +
+            " r.roomDescription = :roomDescription WHERE r.id = :roomId")
+    int updateDetails(Long roomId, RoomType type, String roomType, BigDecimal roomPrice, String roomDescription);
+}
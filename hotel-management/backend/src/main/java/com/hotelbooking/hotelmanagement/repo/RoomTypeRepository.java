@@ -0,0 +1,10 @@
+package com.hotelbooking.hotelmanagement.repo;
+
+import com.hotelbooking.hotelmanagement.entity.RoomType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
+    Optional<RoomType> findByNameKey(String nameKey);
+}
@@ -1,15 +1,33 @@
 package com.hotelbooking.hotelmanagement.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import com.hotelbooking.hotelmanagement.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    // Keyset pages of the /all list in id order: the first page, then the rows after the last id seen
+    List<User> findAllByOrderByIdAsc(Limit limit);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
     boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.role AS role, COUNT(u) AS total FROM User u GROUP BY u.role")
+    List<RoleCount> countUsersByRole();
+
+    interface RoleCount {
+        String getRole();
+
+        Long getTotal();
+    }
 }
 
@@ -0,0 +1,37 @@
+package com.hotelbooking.hotelmanagement.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.hotelbooking.hotelmanagement.entity.User;
+
+/**
+ * Immutable principal put in the security context by JWTAuthFilter. It holds only what
+ * authorization needs, so it can be cached across requests instead of a managed User entity.
+ */
+public record AuthenticatedUser(Long id, String email, String role,
+                                List<GrantedAuthority> authorities) implements UserDetails {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), List.copyOf(user.getAuthorities()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Tokens are the credential; the password hash is deliberately not kept in memory
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
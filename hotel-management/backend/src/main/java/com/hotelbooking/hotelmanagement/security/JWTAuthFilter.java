@@ -8,7 +8,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -53,11 +52,13 @@ public class JWTAuthFilter extends OncePerRequestFilter {
                 return;
             }
 
-            userEmail = jwtUtils.extractUsername(jwtToken);
+            // Signature and expiry are checked here, once; a token seen before comes from the cache
+            JWTUtils.VerifiedToken verifiedToken = jwtUtils.validateToken(jwtToken);
+            userEmail = verifiedToken.subject();
 
             if (userEmail != null) {
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(userEmail);
-                if (jwtUtils.isValidToken(jwtToken, userDetails)) {
+                AuthenticatedUser userDetails = customUserDetailsService.loadAuthenticatedUser(userEmail);
+                if (userEmail.equals(userDetails.getUsername())) {
                     SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
                     UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
                         userDetails, 
@@ -67,15 +68,11 @@ public class JWTAuthFilter extends OncePerRequestFilter {
                     token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     securityContext.setAuthentication(token);
                     SecurityContextHolder.setContext(securityContext);
-                    
-                    // Debug logging - always log for admin dashboard debugging
-                    System.out.println("=== JWT FILTER DEBUG ===");
-                    System.out.println("User: " + userEmail);
-                    System.out.println("Authorities: " + userDetails.getAuthorities());
-                    System.out.println("Role from UserDetails: " + ((com.hotelbooking.hotelmanagement.entity.User) userDetails).getRole());
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Authenticated " + userEmail + " with authorities " + userDetails.getAuthorities());
+                    }
                 } else {
                     logger.warn("Invalid JWT token for user: " + userEmail);
-                    System.out.println("JWT token validation failed for user: " + userEmail);
                 }
             }
         } catch (ExpiredJwtException e) {
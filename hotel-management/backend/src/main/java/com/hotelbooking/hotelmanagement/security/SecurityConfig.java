@@ -39,6 +39,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(request -> request
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow all OPTIONS preflight requests
                         .requestMatchers("/", "/health", "/auth/**", "/rooms/**", "/bookings/**", "/payments/**", "/admin/fix/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Latency per method and the user, booking and revenue gauges are for admins only
+                        .requestMatchers("/actuator/prometheus").hasAuthority("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
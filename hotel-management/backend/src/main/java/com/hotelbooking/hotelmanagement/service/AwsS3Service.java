@@ -1,60 +1,100 @@
 package com.hotelbooking.hotelmanagement.service;
 
 
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.regions.Regions;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.hotelbooking.hotelmanagement.config.AwsS3Properties;
 import com.hotelbooking.hotelmanagement.exception.OurException;
+import com.hotelbooking.hotelmanagement.utils.ImageResizer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.SdkClientException;
 
-import java.io.InputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class AwsS3Service {
 
-    //    private final String bucketName = "phegon-hotel-images";
-    private final String bucketName = "phegon-hotel-mongo";
-
     private static final Logger log = LoggerFactory.getLogger(AwsS3Service.class);
 
-    @Value("${aws.s3.access-key}")
-    private String awsS3AccessKey;
-
-    @Value("${aws.s3.secret-key}")
-    private String awsS3SecretKey;
-
-    public String saveImageToS3(MultipartFile photo) {
+    @Autowired
+    private AwsS3Properties awsS3Properties;
+
+    @Autowired
+    private TransferManager transferManager;
+
+    /**
+     * Uploads a photo that was already spooled to a local file, together with its medium
+     * and thumbnail copies, stored next to it as name-medium.jpg and name-thumb.jpg. A
+     * copy is skipped when the photo is already smaller, and both are skipped when the
+     * photo cannot be decoded; their URLs are then those of the original.
+     */
+    public PhotoUrls saveImageVariantsToS3(File file, String s3Filename, String contentType) {
+        String baseName = s3Filename.contains(".") ? s3Filename.substring(0, s3Filename.lastIndexOf('.')) : s3Filename;
+        File medium = null;
+        File thumbnail = null;
         try {
-
-            String s3Filename = photo.getOriginalFilename();
-
-            BasicAWSCredentials awsCredentials = new BasicAWSCredentials(awsS3AccessKey, awsS3SecretKey);
-            AmazonS3 s3Client = AmazonS3ClientBuilder.standard()
-                    .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                    .withRegion(Regions.US_EAST_2)
-                    .build();
-
-            InputStream inputStream = photo.getInputStream();
-
+            medium = File.createTempFile("room-photo-medium-", ".jpg");
+            thumbnail = File.createTempFile("room-photo-thumb-", ".jpg");
+            boolean[] written;
+            try {
+                written = ImageResizer.writeJpegVariants(file,
+                        new int[]{awsS3Properties.getMediumSize(), awsS3Properties.getThumbnailSize()},
+                        new File[]{medium, thumbnail}, awsS3Properties.getVariantQuality());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to create downscaled copies of {}, only the original is stored: {}", s3Filename, e.toString());
+                written = new boolean[2];
+            }
+
+            // The three uploads run side by side on the transfer manager's threads
+            String bucketName = awsS3Properties.getBucket();
             ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType("image/jpeg");
+            metadata.setContentType(contentType != null ? contentType : "image/jpeg");
+            List<PutObjectRequest> requests = new ArrayList<>();
+            requests.add(new PutObjectRequest(bucketName, s3Filename, file).withMetadata(metadata));
+            String mediumKey = baseName + "-medium.jpg";
+            String thumbnailKey = baseName + "-thumb.jpg";
+            if (written[0]) {
+                requests.add(jpegRequest(bucketName, mediumKey, medium));
+            }
+            if (written[1]) {
+                requests.add(jpegRequest(bucketName, thumbnailKey, thumbnail));
+            }
+            upload(requests);
+
+            String originalUrl = imageUrl(bucketName, s3Filename);
+            String mediumUrl = written[0] ? imageUrl(bucketName, mediumKey) : originalUrl;
+            return new PhotoUrls(originalUrl, mediumUrl, written[1] ? imageUrl(bucketName, thumbnailKey) : mediumUrl);
 
-            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, s3Filename, inputStream, metadata);
-            s3Client.putObject(putObjectRequest);
-            return "https://" + bucketName + ".s3.amazonaws.com/" + s3Filename;
+        } catch (IOException e) {
+            log.error("Unable to create temporary files for image variants", e);
+            throw new OurException("Unable to upload image to s3 bucket" + e.getMessage());
+        } finally {
+            deleteQuietly(medium);
+            deleteQuietly(thumbnail);
+        }
+    }
+
+    private void upload(List<PutObjectRequest> putObjectRequests) {
+        String bucketName = putObjectRequests.get(0).getBucketName();
+        try {
+            List<Upload> uploads = new ArrayList<>();
+            for (PutObjectRequest putObjectRequest : putObjectRequests) {
+                uploads.add(transferManager.upload(putObjectRequest));
+            }
+            for (Upload upload : uploads) {
+                upload.waitForCompletion();
+            }
 
         } catch (AmazonServiceException e) {
             log.error("AWS rejected request for bucket {}: {}", bucketName, e.getErrorMessage(), e);
@@ -62,27 +102,32 @@ public class AwsS3Service {
         } catch (SdkClientException e) {
             log.error("AWS SDK client error while uploading to bucket {}", bucketName, e);
             throw new OurException("Unable to upload image to s3 bucket" + e.getMessage());
-        } catch (IOException e) {
-            log.error("Unable to read image content for upload", e);
-            throw new OurException("Unable to upload image to s3 bucket" + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OurException("Image upload to s3 bucket was interrupted");
         }
     }
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    private static PutObjectRequest jpegRequest(String bucketName, String key, File file) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("image/jpeg");
+        return new PutObjectRequest(bucketName, key, file).withMetadata(metadata);
+    }
 
+    private static void deleteQuietly(File file) {
+        if (file != null && file.exists() && !file.delete()) {
+            log.warn("Unable to delete temporary file {}", file);
+        }
+    }
 
+    private String imageUrl(String bucketName, String s3Filename) {
+        String publicUrl = awsS3Properties.getPublicUrl();
+        if (publicUrl != null && !publicUrl.isBlank()) {
+            return (publicUrl.endsWith("/") ? publicUrl : publicUrl + "/") + s3Filename;
+        }
+        return "https://" + bucketName + ".s3.amazonaws.com/" + s3Filename;
+    }
 
+    public record PhotoUrls(String originalUrl, String mediumUrl, String thumbnailUrl) {
+    }
+}
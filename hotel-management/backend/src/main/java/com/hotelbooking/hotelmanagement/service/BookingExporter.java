@@ -0,0 +1,204 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.hotelbooking.hotelmanagement.config.ReplicaReads;
+import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.utils.Utils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes every booking, with its room, user and payment, as newline-delimited JSON or CSV.
+ *
+ * Bookings are read through a database cursor (BookingRepository.streamAllWithDetails) in
+ * one read-only transaction, mapped and written one at a time, and the persistence context
+ * is cleared after every fetch of EXPORT_FETCH_SIZE rows, so memory stays constant however
+ * many bookings there are.
+ */
+@Service
+public class BookingExporter {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String[] CSV_COLUMNS = {
+            "id", "bookingConfirmationCode", "status", "checkInDate", "checkOutDate",
+            "numOfAdults", "numOfChildren", "totalNumOfGuest",
+            "roomId", "roomType", "roomPrice",
+            "userId", "userName", "userEmail", "userPhoneNumber",
+            "paymentId", "paymentAmount", "paymentStatus", "paymentDate"
+    };
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public enum Format {
+        NDJSON("ndjson", BookingExporter.NDJSON),
+        CSV("csv", BookingExporter.CSV);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format parse(String format) {
+            if (format == null || format.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    /**
+     * Streams the export to the output stream and returns the number of bookings written.
+     */
+    public long export(Format format, OutputStream outputStream) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // Served by the read replica when one is configured
+        Long written = ReplicaReads.call(() -> transaction.execute(status -> {
+            try (Stream<Booking> bookings = bookingRepository.streamAllWithDetails()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                long count = format == Format.CSV
+                        ? writeCsv(bookings.iterator(), writer)
+                        : writeNdjson(bookings.iterator(), writer);
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write bookings export", e);
+            }
+        }));
+        return written != null ? written : 0;
+    }
+
+    private long writeNdjson(Iterator<Booking> bookings, Writer writer) throws IOException {
+        long count = 0;
+        // Closing the sequence must not close the response stream underneath
+        try (SequenceWriter lines = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            while (bookings.hasNext()) {
+                lines.write(map(bookings.next()));
+                count = afterRow(count, writer);
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Booking> bookings, Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        long count = 0;
+        while (bookings.hasNext()) {
+            BookingDTO booking = map(bookings.next());
+            writeCsvRow(writer,
+                    booking.getId(), booking.getBookingConfirmationCode(), booking.getStatus(),
+                    booking.getCheckInDate(), booking.getCheckOutDate(),
+                    booking.getNumOfAdults(), booking.getNumOfChildren(), booking.getTotalNumOfGuest(),
+                    booking.getRoom() != null ? booking.getRoom().getId() : null,
+                    booking.getRoom() != null ? booking.getRoom().getRoomType() : null,
+                    booking.getRoom() != null ? booking.getRoom().getRoomPrice() : null,
+                    booking.getUser() != null ? booking.getUser().getId() : null,
+                    booking.getUser() != null ? booking.getUser().getName() : null,
+                    booking.getUser() != null ? booking.getUser().getEmail() : null,
+                    booking.getUser() != null ? booking.getUser().getPhoneNumber() : null,
+                    booking.getPayment() != null ? booking.getPayment().getId() : null,
+                    booking.getPayment() != null ? booking.getPayment().getAmount() : null,
+                    booking.getPayment() != null ? booking.getPayment().getStatus() : null,
+                    booking.getPayment() != null ? booking.getPayment().getPaymentDate() : null);
+            count = afterRow(count, writer);
+        }
+        return count;
+    }
+
+    private static BookingDTO map(Booking booking) {
+        BookingDTO bookingDTO = Utils.mapBookingEntityToBookingDTOPlusBookedRooms(booking, booking.getUser() != null);
+        // The user's bookings are not part of the export
+        if (bookingDTO.getUser() != null) {
+            bookingDTO.getUser().setBookings(null);
+        }
+        return bookingDTO;
+    }
+
+    // Hands each fetched batch to the client and drops it from the persistence context
+    private long afterRow(long count, Writer writer) throws IOException {
+        count++;
+        if (count % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+            writer.flush();
+            entityManager.clear();
+        }
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Keeps spreadsheet applications from evaluating user-supplied text as a formula
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,6 +1,9 @@
 package com.hotelbooking.hotelmanagement.service;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -8,6 +11,8 @@ import org.springframework.stereotype.Service;
 
 import com.hotelbooking.hotelmanagement.exception.OurException;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.security.AuthenticatedUser;
+import com.hotelbooking.hotelmanagement.utils.ExpiringCache;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -15,9 +20,44 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    // Principals of recently authenticated users by email
+    private final ExpiringCache<String, AuthenticatedUser> principals;
+    private final long principalTtlMillis;
+
+    public CustomUserDetailsService(@Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+                                    @Value("${security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.principals = new ExpiringCache<>(maxEntries);
+        this.principalTtlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Loads the full User entity, including the password hash, for username/password login.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByEmail(username).orElseThrow(() -> new OurException("Username/Email not Found"));
     }
-}
 
+    /**
+     * Returns the principal for an already verified token. Principals are cached for
+     * {@code security.principal-cache.ttl}; UserService and the admin fixes evict an entry
+     * when the user is deleted or its role changes.
+     */
+    public AuthenticatedUser loadAuthenticatedUser(String email) {
+        AuthenticatedUser cached = principals.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        AuthenticatedUser principal = userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new OurException("Username/Email not Found"));
+        principals.put(email, principal, System.currentTimeMillis() + principalTtlMillis);
+        return principal;
+    }
+
+    public void evictUser(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+
+/**
+ * Running totals behind the admin dashboard statistics. UserService, RoomService,
+ * BookingService and PaymentService report every mutation after it has been saved, so
+ * reading the statistics never touches the database. The write and its report run inside
+ * {@link #mutate}, so that a recount never counts a row whose report is still to come.
+ *
+ * The totals are loaded with aggregate queries once the application is ready and are
+ * recounted on a schedule ({@code dashboard.counters.reconcile-interval}). Any
+ * difference found by a recount is logged and kept as the last drift so that a missed
+ * hook shows up instead of silently skewing the dashboard.
+ */
+@Component
+public class DashboardCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String USER_ROLE = "USER";
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalAdmins = new AtomicLong();
+    private final AtomicLong totalRegularUsers = new AtomicLong();
+    private final AtomicLong totalBookings = new AtomicLong();
+    private final AtomicLong confirmedBookings = new AtomicLong();
+    private final AtomicLong cancelledBookings = new AtomicLong();
+    private final AtomicLong totalRooms = new AtomicLong();
+    private final AtomicLong bookedRooms = new AtomicLong();
+    private final AtomicLong totalPayments = new AtomicLong();
+    private final AtomicLong successfulPaymentCount = new AtomicLong();
+    private final AtomicLong failedPaymentCount = new AtomicLong();
+    private final AtomicReference<BigDecimal> successfulPayments = new AtomicReference<>(BigDecimal.ZERO);
+    private final AtomicReference<BigDecimal> failedPayments = new AtomicReference<>(BigDecimal.ZERO);
+
+    // Confirmed bookings per room; a room counts as booked while its entry exists
+    private final Map<Long, Long> confirmedBookingsByRoom = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile Map<String, String> lastDrift = Map.of();
+
+    // Same scheme as RoomAvailabilityIndex: mutations share the read lock, a recount takes the
+    // write lock so that no mutation lands between the count queries and the swap.
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Unable to load dashboard counters, they will be loaded on first use", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.counters.reconcile-interval:PT5M}",
+            fixedDelayString = "${dashboard.counters.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Scheduled reconciliation of dashboard counters failed", e);
+        }
+    }
+
+    /**
+     * Recounts every total from the database, replaces the running values and returns the
+     * differences (recounted minus running) by counter name. The first load reports none.
+     */
+    public Map<String, String> reconcile() {
+        reconcileLock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            Snapshot before = ready ? currentValues() : null;
+
+            long users = 0;
+            long admins = 0;
+            long regularUsers = 0;
+            for (UserRepository.RoleCount roleCount : userRepository.countUsersByRole()) {
+                users += roleCount.getTotal();
+                if (ADMIN_ROLE.equals(roleCount.getRole())) {
+                    admins += roleCount.getTotal();
+                } else if (USER_ROLE.equals(roleCount.getRole())) {
+                    regularUsers += roleCount.getTotal();
+                }
+            }
+            totalUsers.set(users);
+            totalAdmins.set(admins);
+            totalRegularUsers.set(regularUsers);
+
+            long bookings = 0;
+            long confirmed = 0;
+            long cancelled = 0;
+            for (BookingRepository.StatusCount statusCount : bookingRepository.countBookingsByStatus()) {
+                bookings += statusCount.getTotal();
+                if (statusCount.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                    confirmed += statusCount.getTotal();
+                } else if (statusCount.getStatus() == Booking.BookingStatus.CANCELLED) {
+                    cancelled += statusCount.getTotal();
+                }
+            }
+            totalBookings.set(bookings);
+            confirmedBookings.set(confirmed);
+            cancelledBookings.set(cancelled);
+
+            confirmedBookingsByRoom.clear();
+            for (BookingRepository.RoomCount roomCount : bookingRepository.countBookingsPerRoomByStatus(Booking.BookingStatus.CONFIRMED)) {
+                confirmedBookingsByRoom.put(roomCount.getRoomId(), roomCount.getTotal());
+            }
+            bookedRooms.set(confirmedBookingsByRoom.size());
+            totalRooms.set(roomRepository.count());
+
+            long payments = 0;
+            long successfulCount = 0;
+            long failedCount = 0;
+            BigDecimal successfulAmount = BigDecimal.ZERO;
+            BigDecimal failedAmount = BigDecimal.ZERO;
+            for (PaymentRepository.StatusTotal statusTotal : paymentRepository.sumPaymentsByStatus()) {
+                payments += statusTotal.getTotal();
+                BigDecimal amount = statusTotal.getAmount() != null ? statusTotal.getAmount() : BigDecimal.ZERO;
+                if (statusTotal.getStatus() == Payment.PaymentStatus.SUCCESS) {
+                    successfulCount += statusTotal.getTotal();
+                    successfulAmount = successfulAmount.add(amount);
+                } else {
+                    failedCount += statusTotal.getTotal();
+                    failedAmount = failedAmount.add(amount);
+                }
+            }
+            totalPayments.set(payments);
+            successfulPaymentCount.set(successfulCount);
+            failedPaymentCount.set(failedCount);
+            successfulPayments.set(successfulAmount);
+            failedPayments.set(failedAmount);
+
+            Map<String, String> drift = before != null ? before.differencesTo(currentValues()) : Map.of();
+            lastDrift = drift;
+            lastReconciledAt = LocalDateTime.now();
+            ready = true;
+            if (drift.isEmpty()) {
+                log.debug("Dashboard counters reconciled in {} ms without drift", (System.nanoTime() - started) / 1_000_000);
+            } else {
+                log.warn("Dashboard counters drifted from the database, corrected: {}", drift);
+            }
+            return drift;
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        if (!ready) {
+            reconcile();
+        }
+        return currentValues();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public Map<String, String> getLastDrift() {
+        return lastDrift;
+    }
+
+    /**
+     * Runs a database write together with the hooks that report it. A recount waits until
+     * both are done, otherwise it could count the new row and the hook would count it again.
+     * Callers that also hold other locks, such as RoomBookingLocks, must take them first.
+     */
+    public <T> T mutate(Supplier<T> mutation) {
+        reconcileLock.readLock().lock();
+        try {
+            return mutation.get();
+        } finally {
+            reconcileLock.readLock().unlock();
+        }
+    }
+
+    public void mutate(Runnable mutation) {
+        mutate(() -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    public void userAdded(String role) {
+        mutate(() -> {
+            totalUsers.incrementAndGet();
+            roleCounter(role, 1);
+        });
+    }
+
+    public void userRemoved(String role) {
+        mutate(() -> {
+            totalUsers.decrementAndGet();
+            roleCounter(role, -1);
+        });
+    }
+
+    public void userRoleChanged(String previousRole, String newRole) {
+        if (Objects.equals(previousRole, newRole)) {
+            return;
+        }
+        mutate(() -> {
+            roleCounter(previousRole, -1);
+            roleCounter(newRole, 1);
+        });
+    }
+
+    public void roomAdded() {
+        mutate(totalRooms::incrementAndGet);
+    }
+
+    public void roomRemoved() {
+        mutate(totalRooms::decrementAndGet);
+    }
+
+    public void bookingAdded(Long roomId, Booking.BookingStatus status) {
+        mutate(() -> {
+            totalBookings.incrementAndGet();
+            statusCounter(roomId, status, 1);
+        });
+    }
+
+    public void bookingStatusChanged(Long roomId, Booking.BookingStatus previousStatus, Booking.BookingStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        mutate(() -> {
+            statusCounter(roomId, previousStatus, -1);
+            statusCounter(roomId, newStatus, 1);
+        });
+    }
+
+    /**
+     * Removes a deleted booking together with the payment its cascade deleted, if any.
+     */
+    public void bookingRemoved(BookingRepository.CascadedBookingRow booking) {
+        mutate(() -> {
+            totalBookings.decrementAndGet();
+            statusCounter(booking.getRoomId(), booking.getStatus(), -1);
+        });
+        if (booking.getPaymentStatus() != null) {
+            paymentRemoved(booking.getPaymentStatus(), booking.getPaymentAmount());
+        }
+    }
+
+    public void paymentAdded(Payment.PaymentStatus status, BigDecimal amount) {
+        mutate(() -> paymentCounter(status, amount, 1));
+    }
+
+    public void paymentRemoved(Payment.PaymentStatus status, BigDecimal amount) {
+        mutate(() -> paymentCounter(status, amount, -1));
+    }
+
+    private void roleCounter(String role, long delta) {
+        if (ADMIN_ROLE.equals(role)) {
+            totalAdmins.addAndGet(delta);
+        } else if (USER_ROLE.equals(role)) {
+            totalRegularUsers.addAndGet(delta);
+        }
+    }
+
+    private void statusCounter(Long roomId, Booking.BookingStatus status, long delta) {
+        if (status == Booking.BookingStatus.CANCELLED) {
+            cancelledBookings.addAndGet(delta);
+        } else if (status == Booking.BookingStatus.CONFIRMED) {
+            confirmedBookings.addAndGet(delta);
+            if (roomId != null) {
+                confirmedBookingsByRoom.compute(roomId, (id, count) -> {
+                    long updated = (count != null ? count : 0) + delta;
+                    if (count == null && updated > 0) {
+                        bookedRooms.incrementAndGet();
+                    } else if (count != null && updated <= 0) {
+                        bookedRooms.decrementAndGet();
+                    }
+                    return updated > 0 ? updated : null;
+                });
+            }
+        }
+    }
+
+    private void paymentCounter(Payment.PaymentStatus status, BigDecimal amount, long delta) {
+        BigDecimal signedAmount = amount != null ? amount.multiply(BigDecimal.valueOf(delta)) : BigDecimal.ZERO;
+        totalPayments.addAndGet(delta);
+        if (status == Payment.PaymentStatus.SUCCESS) {
+            successfulPaymentCount.addAndGet(delta);
+            successfulPayments.accumulateAndGet(signedAmount, BigDecimal::add);
+        } else {
+            failedPaymentCount.addAndGet(delta);
+            failedPayments.accumulateAndGet(signedAmount, BigDecimal::add);
+        }
+    }
+
+    private Snapshot currentValues() {
+        return new Snapshot(totalUsers.get(), totalAdmins.get(), totalRegularUsers.get(),
+                totalBookings.get(), confirmedBookings.get(), cancelledBookings.get(),
+                totalRooms.get(), bookedRooms.get(),
+                totalPayments.get(), successfulPaymentCount.get(), failedPaymentCount.get(),
+                successfulPayments.get(), failedPayments.get());
+    }
+
+    public record Snapshot(long totalUsers, long totalAdmins, long totalRegularUsers,
+                           long totalBookings, long confirmedBookings, long cancelledBookings,
+                           long totalRooms, long bookedRooms,
+                           long totalPayments, long successfulPaymentCount, long failedPaymentCount,
+                           BigDecimal successfulPayments, BigDecimal failedPayments) {
+
+        public long availableRooms() {
+            return totalRooms - bookedRooms;
+        }
+
+        public BigDecimal totalRevenue() {
+            return successfulPayments.add(failedPayments);
+        }
+
+        Map<String, String> differencesTo(Snapshot recounted) {
+            Map<String, String> drift = new LinkedHashMap<>();
+            addDifference(drift, "totalUsers", totalUsers, recounted.totalUsers);
+            addDifference(drift, "totalAdmins", totalAdmins, recounted.totalAdmins);
+            addDifference(drift, "totalRegularUsers", totalRegularUsers, recounted.totalRegularUsers);
+            addDifference(drift, "totalBookings", totalBookings, recounted.totalBookings);
+            addDifference(drift, "confirmedBookings", confirmedBookings, recounted.confirmedBookings);
+            addDifference(drift, "cancelledBookings", cancelledBookings, recounted.cancelledBookings);
+            addDifference(drift, "totalRooms", totalRooms, recounted.totalRooms);
+            addDifference(drift, "bookedRooms", bookedRooms, recounted.bookedRooms);
+            addDifference(drift, "totalPayments", totalPayments, recounted.totalPayments);
+            addDifference(drift, "successfulPaymentCount", successfulPaymentCount, recounted.successfulPaymentCount);
+            addDifference(drift, "failedPaymentCount", failedPaymentCount, recounted.failedPaymentCount);
+            BigDecimal successfulDifference = recounted.successfulPayments.subtract(successfulPayments);
+            if (successfulDifference.signum() != 0) {
+                drift.put("successfulPayments", successfulDifference.toPlainString());
+            }
+            BigDecimal failedDifference = recounted.failedPayments.subtract(failedPayments);
+            if (failedDifference.signum() != 0) {
+                drift.put("failedPayments", failedDifference.toPlainString());
+            }
+            return drift;
+        }
+
+        private static void addDifference(Map<String, String> drift, String name, long running, long recounted) {
+            if (running != recounted) {
+                drift.put(name, String.valueOf(recounted - running));
+            }
+        }
+    }
+}
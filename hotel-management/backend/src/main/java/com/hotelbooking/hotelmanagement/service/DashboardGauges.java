@@ -0,0 +1,43 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the DashboardCounters totals as gauges: hotel.bookings by status, hotel.rooms by
+ * state and hotel.users by role. The gauges read the running totals only; until the counters
+ * have been loaded they report NaN instead of querying the database from the scrape.
+ */
+@Component
+public class DashboardGauges implements MeterBinder {
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "hotel.bookings", "status", "all", DashboardCounters.Snapshot::totalBookings);
+        gauge(registry, "hotel.bookings", "status", "confirmed", DashboardCounters.Snapshot::confirmedBookings);
+        gauge(registry, "hotel.bookings", "status", "cancelled", DashboardCounters.Snapshot::cancelledBookings);
+        gauge(registry, "hotel.rooms", "state", "all", DashboardCounters.Snapshot::totalRooms);
+        gauge(registry, "hotel.rooms", "state", "booked", DashboardCounters.Snapshot::bookedRooms);
+        gauge(registry, "hotel.rooms", "state", "available", DashboardCounters.Snapshot::availableRooms);
+        gauge(registry, "hotel.users", "role", "all", DashboardCounters.Snapshot::totalUsers);
+        gauge(registry, "hotel.users", "role", "admin", DashboardCounters.Snapshot::totalAdmins);
+        gauge(registry, "hotel.users", "role", "user", DashboardCounters.Snapshot::totalRegularUsers);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String tag, String value,
+                       ToLongFunction<DashboardCounters.Snapshot> total) {
+        Gauge.builder(name, dashboardCounters,
+                        counters -> counters.isReady() ? total.applyAsLong(counters.snapshot()) : Double.NaN)
+                .tag(tag, value)
+                .register(registry);
+    }
+}
@@ -0,0 +1,478 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.RoomType;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.utils.Utils;
+
+/**
+ * In-memory availability index holding, per room, the date ranges of every active
+ * (non-cancelled) booking. Availability searches are answered from memory instead of
+ * the NOT IN query in {@link RoomRepository#findAvailableRoomsByDatesAndTypeId}.
+ *
+ * The index is rebuilt from the bookings table once the application is ready and is
+ * kept current by RoomService and BookingService. Until the first rebuild completes
+ * {@link #isReady()} returns false and callers should fall back to the database.
+ *
+ * Bookings and searches are both taken as the nights [checkIn, checkOut), with a same-day
+ * stay holding its check-in night ({@link Booking#occupiedUntil}), the same semantics as the
+ * admission check {@link BookingRepository#existsActiveOverlap} and the SQL searches. The
+ * index stores them as closed intervals of nights [checkIn, last night].
+ *
+ * Next to its intervals every room keeps an occupancy calendar: one bit per night for the
+ * {@code room.availability.calendar-days} days starting today, moved forward every night
+ * ({@code room.availability.calendar-shift-cron}). A search inside that window ANDs a mask
+ * over the words covering the stay instead of searching the intervals; a search reaching
+ * outside of it uses the intervals.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Days covered by each room's occupancy calendar; zero answers every search from the intervals
+    @Value("${room.availability.calendar-days:730}")
+    private int calendarDays = 730;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private volatile Map<Long, IndexedRoom> rooms = new ConcurrentHashMap<>();
+    private volatile long calendarStart = LocalDate.now(clock).toEpochDay();
+    private volatile boolean ready;
+
+    // Incremental updates share the read lock (they are atomic per room through compute),
+    // a rebuild takes the write lock so that no update is lost while the map is swapped.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Unable to build room availability index, searches will use the database", e);
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            long today = LocalDate.now(clock).toEpochDay();
+            Map<Long, BookingIntervals> intervalsByRoom = new HashMap<>();
+            Map<Long, RoomDTO> roomsById = new HashMap<>();
+            for (Room room : roomRepository.findAll()) {
+                roomsById.put(room.getId(), Utils.mapRoomEntityToRoomDTO(room));
+                intervalsByRoom.put(room.getId(), BookingIntervals.EMPTY);
+            }
+            int bookingCount = 0;
+            for (BookingRepository.BookingRange range : bookingRepository.findActiveBookingRanges(Booking.BookingStatus.CANCELLED)) {
+                BookingIntervals intervals = intervalsByRoom.get(range.getRoomId());
+                if (intervals != null) {
+                    intervalsByRoom.put(range.getRoomId(),
+                            intervals.with(range.getBookingId(), range.getCheckInDate(), range.getCheckOutDate()));
+                    bookingCount++;
+                }
+            }
+            // The calendars are drawn once per room, after all of its intervals are known
+            Map<Long, IndexedRoom> rebuilt = new ConcurrentHashMap<>();
+            long calendarBytes = 0;
+            for (Map.Entry<Long, RoomDTO> entry : roomsById.entrySet()) {
+                BookingIntervals intervals = intervalsByRoom.get(entry.getKey());
+                OccupancyCalendar calendar = OccupancyCalendar.of(intervals, today, calendarDays);
+                rebuilt.put(entry.getKey(), new IndexedRoom(entry.getValue(), intervals, calendar));
+                calendarBytes += calendar.footprintBytes();
+            }
+            rooms = rebuilt;
+            calendarStart = today;
+            ready = true;
+            log.info("Room availability index built with {} rooms and {} active bookings in {} ms, occupancy calendars of {} days use {} KB",
+                    rebuilt.size(), bookingCount, (System.nanoTime() - started) / 1_000_000, calendarDays, calendarBytes / 1024);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Redraws every calendar to start today. Only memory is read, the intervals stay as they are.
+     */
+    @Scheduled(cron = "${room.availability.calendar-shift-cron:0 5 0 * * *}")
+    public void shiftCalendars() {
+        rebuildLock.writeLock().lock();
+        try {
+            long today = LocalDate.now(clock).toEpochDay();
+            if (today == calendarStart) {
+                return;
+            }
+            rooms.replaceAll((id, indexedRoom) -> new IndexedRoom(indexedRoom.room(), indexedRoom.intervals(),
+                    OccupancyCalendar.of(indexedRoom.intervals(), today, calendarDays)));
+            calendarStart = today;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void putRoom(Room room) {
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        RoomDTO roomDTO = Utils.mapRoomEntityToRoomDTO(room);
+        update(() -> rooms.compute(room.getId(), (id, existing) -> existing != null
+                ? new IndexedRoom(roomDTO, existing.intervals(), existing.calendar())
+                : new IndexedRoom(roomDTO, BookingIntervals.EMPTY, OccupancyCalendar.of(BookingIntervals.EMPTY, calendarStart, calendarDays))));
+    }
+
+    public void removeRoom(Long roomId) {
+        if (roomId == null) {
+            return;
+        }
+        update(() -> rooms.remove(roomId));
+    }
+
+    public void addBooking(Long roomId, Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (roomId == null || bookingId == null || checkInDate == null) {
+            return;
+        }
+        update(() -> rooms.computeIfPresent(roomId, (id, existing) ->
+                existing.withIntervals(existing.intervals().with(bookingId, checkInDate, checkOutDate))));
+    }
+
+    public void removeBooking(Long roomId, Long bookingId) {
+        if (roomId == null || bookingId == null) {
+            return;
+        }
+        update(() -> rooms.computeIfPresent(roomId, (id, existing) ->
+                existing.withIntervals(existing.intervals().without(bookingId))));
+    }
+
+    /**
+     * Returns the rooms of type {@code roomType} (all rooms when it is null or blank) that have
+     * no active booking on any night of [checkInDate, checkOutDate). Types are compared by
+     * {@link RoomType#keyOf}, the same exact match that the room type id stands for in SQL.
+     */
+    public List<RoomDTO> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        List<RoomDTO> available = new ArrayList<>();
+        for (IndexedRoom indexedRoom : matchingRooms(checkInDate, checkOutDate, roomType)) {
+            available.add(Utils.copyRoomDTO(indexedRoom.room()));
+        }
+        available.sort(Comparator.comparing(RoomDTO::getId));
+        return available;
+    }
+
+    public Set<Long> findAvailableRoomIds(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        Set<Long> roomIds = new TreeSet<>();
+        for (IndexedRoom indexedRoom : matchingRooms(checkInDate, checkOutDate, roomType)) {
+            roomIds.add(indexedRoom.room().getId());
+        }
+        return roomIds;
+    }
+
+    /**
+     * Returns the rooms without an active booking on the night of {@code fromDate} or any
+     * later night.
+     */
+    public List<RoomDTO> findRoomsFreeFrom(LocalDate fromDate) {
+        long from = fromDate.toEpochDay();
+        List<RoomDTO> available = new ArrayList<>();
+        for (IndexedRoom indexedRoom : rooms.values()) {
+            // The running maximum of the intervals already holds the last booked day, so this
+            // needs neither a calendar scan nor a search
+            if (indexedRoom.intervals().lastDay() < from) {
+                available.add(Utils.copyRoomDTO(indexedRoom.room()));
+            }
+        }
+        available.sort(Comparator.comparing(RoomDTO::getId));
+        return available;
+    }
+
+    // Bytes held by the occupancy calendars, for the memory budget
+    long calendarFootprintBytes() {
+        long bytes = 0;
+        for (IndexedRoom indexedRoom : rooms.values()) {
+            bytes += indexedRoom.calendar().footprintBytes();
+        }
+        return bytes;
+    }
+
+    private List<IndexedRoom> matchingRooms(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        long start = checkInDate.toEpochDay();
+        long end = lastNight(checkInDate, checkOutDate);
+        String typeFilter = RoomType.keyOf(roomType);
+
+        List<IndexedRoom> matches = new ArrayList<>();
+        for (IndexedRoom indexedRoom : rooms.values()) {
+            if (!typeFilter.isEmpty() && !typeFilter.equals(indexedRoom.roomTypeKey())) {
+                continue;
+            }
+            if (!indexedRoom.isBooked(start, end)) {
+                matches.add(indexedRoom);
+            }
+        }
+        return matches;
+    }
+
+    private static long lastNight(LocalDate checkInDate, LocalDate checkOutDate) {
+        return Booking.occupiedUntil(checkInDate, checkOutDate).toEpochDay() - 1;
+    }
+
+    private void update(Runnable mutation) {
+        rebuildLock.readLock().lock();
+        try {
+            mutation.run();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private record IndexedRoom(RoomDTO room, BookingIntervals intervals, OccupancyCalendar calendar) {
+
+        String roomTypeKey() {
+            return RoomType.keyOf(room.getRoomType());
+        }
+
+        boolean isBooked(long start, long end) {
+            return calendar.covers(start, end) ? calendar.isBooked(start, end) : intervals.overlaps(start, end);
+        }
+
+        IndexedRoom withIntervals(BookingIntervals updated) {
+            return new IndexedRoom(room, updated, calendar.redraw(updated));
+        }
+    }
+
+    /**
+     * Immutable list of booking intervals of nights sorted by start day, augmented with the
+     * running maximum of last nights. The last interval starting on or before a query's end
+     * overlaps the query exactly when that running maximum reaches the query's start, so an
+     * overlap test is a single binary search. Updates copy the arrays, which is cheap for the
+     * number of active bookings a single room carries.
+     */
+    static final class BookingIntervals {
+
+        static final BookingIntervals EMPTY = new BookingIntervals(new long[0], new long[0], new long[0]);
+
+        private final long[] bookingIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private BookingIntervals(long[] bookingIds, long[] starts, long[] ends) {
+            this.bookingIds = bookingIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        BookingIntervals with(long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+            BookingIntervals base = indexOf(bookingId) >= 0 ? without(bookingId) : this;
+            long start = checkInDate.toEpochDay();
+            long end = lastNight(checkInDate, checkOutDate);
+            int size = base.size();
+            int position = base.upperBound(start);
+
+            long[] ids = new long[size + 1];
+            long[] newStarts = new long[size + 1];
+            long[] newEnds = new long[size + 1];
+            System.arraycopy(base.bookingIds, 0, ids, 0, position);
+            System.arraycopy(base.starts, 0, newStarts, 0, position);
+            System.arraycopy(base.ends, 0, newEnds, 0, position);
+            ids[position] = bookingId;
+            newStarts[position] = start;
+            newEnds[position] = end;
+            System.arraycopy(base.bookingIds, position, ids, position + 1, size - position);
+            System.arraycopy(base.starts, position, newStarts, position + 1, size - position);
+            System.arraycopy(base.ends, position, newEnds, position + 1, size - position);
+            return new BookingIntervals(ids, newStarts, newEnds);
+        }
+
+        BookingIntervals without(long bookingId) {
+            int position = indexOf(bookingId);
+            if (position < 0) {
+                return this;
+            }
+            int size = size();
+            if (size == 1) {
+                return EMPTY;
+            }
+            long[] ids = new long[size - 1];
+            long[] newStarts = new long[size - 1];
+            long[] newEnds = new long[size - 1];
+            System.arraycopy(bookingIds, 0, ids, 0, position);
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            System.arraycopy(bookingIds, position + 1, ids, position, size - position - 1);
+            System.arraycopy(starts, position + 1, newStarts, position, size - position - 1);
+            System.arraycopy(ends, position + 1, newEnds, position, size - position - 1);
+            return new BookingIntervals(ids, newStarts, newEnds);
+        }
+
+        boolean overlaps(long start, long end) {
+            int last = upperBound(end) - 1;
+            return last >= 0 && maxEnds[last] >= start;
+        }
+
+        // Last booked night, or Long.MIN_VALUE without bookings
+        long lastDay() {
+            return maxEnds.length == 0 ? Long.MIN_VALUE : maxEnds[maxEnds.length - 1];
+        }
+
+        int size() {
+            return bookingIds.length;
+        }
+
+        private int indexOf(long bookingId) {
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Index of the first interval starting strictly after the given day.
+        private int upperBound(long day) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Booked nights of one room as a bitset over a fixed window of days: bit i of the calendar
+     * stands for the night of epoch day {@code start + i}. Testing a stay masks the words it
+     * spans, so a stay of up to 64 nights reads at most two longs. The calendar is redrawn
+     * from the room's intervals on every booking change, and a room without bookings in the
+     * window shares no words at all.
+     */
+    static final class OccupancyCalendar {
+
+        private static final long[] NO_WORDS = new long[0];
+
+        private final long start;
+        private final int days;
+        // Empty when no day of the window is booked
+        private final long[] words;
+
+        private OccupancyCalendar(long start, int days, long[] words) {
+            this.start = start;
+            this.days = days;
+            this.words = words;
+        }
+
+        static OccupancyCalendar of(BookingIntervals intervals, long start, int days) {
+            long windowEnd = start + days - 1;
+            long[] words = null;
+            for (int i = 0; i < intervals.size(); i++) {
+                long from = Math.max(intervals.starts[i], start);
+                long to = Math.min(intervals.ends[i], windowEnd);
+                if (from > to) {
+                    continue;
+                }
+                if (words == null) {
+                    words = new long[(days + 63) >>> 6];
+                }
+                setRange(words, (int) (from - start), (int) (to - start));
+            }
+            return new OccupancyCalendar(start, days, words != null ? words : NO_WORDS);
+        }
+
+        OccupancyCalendar redraw(BookingIntervals intervals) {
+            return of(intervals, start, days);
+        }
+
+        boolean covers(long first, long last) {
+            return first >= start && last < start + days;
+        }
+
+        // Whether any day of [first, last] is booked; the stay must be covered by the calendar
+        boolean isBooked(long first, long last) {
+            if (words.length == 0) {
+                return false;
+            }
+            int from = (int) (first - start);
+            int to = (int) (last - start);
+            int firstWord = from >>> 6;
+            int lastWord = to >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> (63 - (to & 63));
+            if (firstWord == lastWord) {
+                return (words[firstWord] & firstMask & lastMask) != 0;
+            }
+            if ((words[firstWord] & firstMask) != 0 || (words[lastWord] & lastMask) != 0) {
+                return true;
+            }
+            for (int i = firstWord + 1; i < lastWord; i++) {
+                if (words[i] != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Array header and the longs, the shared empty array counts for nothing
+        long footprintBytes() {
+            return words.length == 0 ? 0 : 16L + 8L * words.length;
+        }
+
+        private static void setRange(long[] words, int from, int to) {
+            int firstWord = from >>> 6;
+            int lastWord = to >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> (63 - (to & 63));
+            if (firstWord == lastWord) {
+                words[firstWord] |= firstMask & lastMask;
+                return;
+            }
+            words[firstWord] |= firstMask;
+            for (int i = firstWord + 1; i < lastWord; i++) {
+                words[i] = -1L;
+            }
+            words[lastWord] |= lastMask;
+        }
+    }
+}
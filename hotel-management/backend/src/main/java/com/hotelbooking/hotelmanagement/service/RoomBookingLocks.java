@@ -0,0 +1,68 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks used to admit bookings one room at a time.
+ *
+ * Every room id maps to one of a fixed number of locks, so the availability check and
+ * the insert of a booking happen atomically for that room while bookings for rooms on
+ * other stripes proceed in parallel. The guarantee is per application instance.
+ */
+@Component
+public class RoomBookingLocks {
+
+    private final Lock[] stripes;
+
+    public RoomBookingLocks(@Value("${booking.admission.lock-stripes:256}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("booking.admission.lock-stripes must be at least 1");
+        }
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withRoomLock(long roomId, Supplier<T> action) {
+        Lock lock = stripes[stripeFor(roomId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action holding the locks of all the given rooms. Stripes are always taken in
+     * ascending order, so two callers whose room sets overlap cannot deadlock each other.
+     */
+    public <T> T withRoomLocks(Collection<Long> roomIds, Supplier<T> action) {
+        int[] stripeIndexes = roomIds.stream().mapToInt(this::stripeFor).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                stripes[stripeIndex].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[stripeIndexes[i]].unlock();
+            }
+        }
+    }
+
+    int stripeFor(long roomId) {
+        // Spread sequential ids across stripes before reducing to the stripe count
+        long mixed = roomId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (mixed ^ (mixed >>> 32)), stripes.length);
+    }
+}
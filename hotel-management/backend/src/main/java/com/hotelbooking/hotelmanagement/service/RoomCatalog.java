@@ -0,0 +1,242 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.utils.PrefixTrie;
+import com.hotelbooking.hotelmanagement.utils.Utils;
+
+/**
+ * Immutable snapshot of all rooms that serves the room list, the room types, room type
+ * suggestions and single room lookups without touching the database. Readers only
+ * dereference the current snapshot; every room change builds a new one and swaps it in
+ * atomically, which is cheap because the rooms table is small and changes rarely.
+ *
+ * The snapshot is loaded once the application is ready, kept current by RoomService and
+ * RoomPhotoIngestion, and reloaded on a schedule ({@code room.catalog.refresh-interval})
+ * to pick up changes made through other instances. A reload that finds the rooms changed
+ * reports it to RoomCatalogVersion, so that clients holding an ETag fetch them again.
+ * Until the first load completes, or when {@code room.catalog.enabled} is false,
+ * {@link #isReady()} returns false and callers should fall back to the database.
+ */
+@Component
+public class RoomCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomCatalog.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
+    @Value("${room.catalog.enabled:true}")
+    private boolean enabled = true;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private volatile boolean ready;
+
+    // Same scheme as RoomAvailabilityIndex: updates share the read lock, a reload takes the
+    // write lock so that no update lands between the query and the swap.
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Room catalog snapshot disabled, catalog reads use the database");
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Unable to load room catalog snapshot, catalog reads will use the database", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${room.catalog.refresh-interval:PT5M}",
+            fixedDelayString = "${room.catalog.refresh-interval:PT5M}")
+    public void scheduledReload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Scheduled reload of room catalog snapshot failed", e);
+        }
+    }
+
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            List<RoomDTO> rooms = new ArrayList<>();
+            for (Room room : roomRepository.findAll()) {
+                rooms.add(Utils.mapRoomEntityToRoomDTO(room));
+            }
+            Snapshot loaded = Snapshot.of(rooms);
+            Snapshot previous = snapshot.getAndSet(loaded);
+            ready = true;
+            if (!loaded.rooms.equals(previous.rooms)) {
+                // Changed through another instance, or by a write this instance missed
+                catalogVersion.roomsChanged();
+            }
+            log.debug("Room catalog snapshot loaded with {} rooms in {} ms",
+                    loaded.rooms.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void putRoom(Room room) {
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        RoomDTO roomDTO = Utils.mapRoomEntityToRoomDTO(room);
+        update(current -> current.with(roomDTO));
+    }
+
+    public void removeRoom(Long roomId) {
+        if (roomId == null) {
+            return;
+        }
+        update(current -> current.without(roomId));
+    }
+
+    /**
+     * Up to {@code limit} rooms with an id below {@code before} (all rooms when null), newest
+     * first like RoomRepository#findAllByOrderByIdDesc. The DTOs are shared by every reader
+     * and must not be modified.
+     */
+    public List<RoomDTO> findRooms(Long before, int limit) {
+        Snapshot current = snapshot.get();
+        int from = before == null ? 0 : current.firstIdBelow(before);
+        int to = (int) Math.min(current.rooms.size(), (long) from + limit);
+        return current.rooms.subList(from, to);
+    }
+
+    /**
+     * A copy of the room that the caller may modify, e.g. to attach its bookings.
+     */
+    public Optional<RoomDTO> findRoom(long roomId) {
+        RoomDTO roomDTO = snapshot.get().byId.get(roomId);
+        return Optional.ofNullable(roomDTO).map(Utils::copyRoomDTO);
+    }
+
+    /**
+     * Distinct room types in alphabetical order.
+     */
+    public List<String> getRoomTypes() {
+        return snapshot.get().roomTypes;
+    }
+
+    /**
+     * Up to {@code limit} room types starting with {@code prefix}, see {@link PrefixTrie#suggest}.
+     */
+    public List<String> suggestRoomTypes(String prefix, int limit) {
+        return snapshot.get().roomTypeTrie.suggest(prefix, limit);
+    }
+
+    private void update(UnaryOperator<Snapshot> mutation) {
+        reloadLock.readLock().lock();
+        try {
+            snapshot.updateAndGet(mutation);
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), new long[0], Map.of(), List.of(), PrefixTrie.of(List.of()));
+
+        // Newest first, with the ids in the same (descending) order for binary search
+        private final List<RoomDTO> rooms;
+        private final long[] ids;
+        private final Map<Long, RoomDTO> byId;
+        private final List<String> roomTypes;
+        private final PrefixTrie roomTypeTrie;
+
+        private Snapshot(List<RoomDTO> rooms, long[] ids, Map<Long, RoomDTO> byId, List<String> roomTypes,
+                         PrefixTrie roomTypeTrie) {
+            this.rooms = rooms;
+            this.ids = ids;
+            this.byId = byId;
+            this.roomTypes = roomTypes;
+            this.roomTypeTrie = roomTypeTrie;
+        }
+
+        static Snapshot of(Collection<RoomDTO> roomDTOs) {
+            List<RoomDTO> rooms = new ArrayList<>(roomDTOs);
+            rooms.sort(Comparator.comparing(RoomDTO::getId).reversed());
+            long[] ids = new long[rooms.size()];
+            Map<Long, RoomDTO> byId = new HashMap<>();
+            TreeSet<String> roomTypes = new TreeSet<>();
+            for (int i = 0; i < rooms.size(); i++) {
+                RoomDTO room = rooms.get(i);
+                ids[i] = room.getId();
+                byId.put(room.getId(), room);
+                if (room.getRoomType() != null) {
+                    roomTypes.add(room.getRoomType());
+                }
+            }
+            return new Snapshot(List.copyOf(rooms), ids, Map.copyOf(byId), List.copyOf(roomTypes), PrefixTrie.of(roomTypes));
+        }
+
+        Snapshot with(RoomDTO room) {
+            Map<Long, RoomDTO> updated = new HashMap<>(byId);
+            updated.put(room.getId(), room);
+            return of(updated.values());
+        }
+
+        Snapshot without(Long roomId) {
+            if (!byId.containsKey(roomId)) {
+                return this;
+            }
+            Map<Long, RoomDTO> updated = new HashMap<>(byId);
+            updated.remove(roomId);
+            return of(updated.values());
+        }
+
+        // Index of the first room whose id is below the given one
+        int firstIdBelow(long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] >= id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
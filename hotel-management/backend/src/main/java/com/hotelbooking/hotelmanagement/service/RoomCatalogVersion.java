@@ -0,0 +1,73 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version stamps behind the ETag and Last-Modified headers of the room catalog endpoints.
+ * RoomService and RoomPhotoIngestion report every room change after it has been saved;
+ * BookingService and UserService report booking changes, because a single room is served
+ * together with its bookings.
+ *
+ * The stamps live in memory and start over with every restart, so each ETag carries the
+ * startup time as well. They are per application instance: a room change made through
+ * another instance is reflected once RoomCatalog's scheduled reload picks it up, a booking
+ * change, or data read from a read replica that has not caught up yet, only once this
+ * instance sees its own next change.
+ */
+@Component
+public class RoomCatalogVersion {
+
+    private final Clock clock;
+    private final String epoch;
+
+    private final AtomicLong roomVersion = new AtomicLong();
+    private final AtomicLong bookingVersion = new AtomicLong();
+    private volatile long roomsModifiedAt;
+    private volatile long bookingsModifiedAt;
+
+    public RoomCatalogVersion() {
+        this(Clock.systemUTC());
+    }
+
+    RoomCatalogVersion(Clock clock) {
+        this.clock = clock;
+        long startedAt = clock.millis();
+        this.epoch = Long.toString(startedAt, 36);
+        this.roomsModifiedAt = startedAt;
+        this.bookingsModifiedAt = startedAt;
+    }
+
+    public void roomsChanged() {
+        roomVersion.incrementAndGet();
+        roomsModifiedAt = clock.millis();
+    }
+
+    public void bookingsChanged() {
+        bookingVersion.incrementAndGet();
+        bookingsModifiedAt = clock.millis();
+    }
+
+    /**
+     * Stamp for responses built from rooms only, such as the room list and the room types.
+     */
+    public Stamp rooms() {
+        return new Stamp("\"rooms-" + epoch + "-" + roomVersion.get() + "\"", roomsModifiedAt);
+    }
+
+    /**
+     * Stamp for responses that also include bookings, such as a single room.
+     */
+    public Stamp roomsWithBookings() {
+        long lastModified = Math.max(roomsModifiedAt, bookingsModifiedAt);
+        return new Stamp("\"rooms-" + epoch + "-" + roomVersion.get() + "-" + bookingVersion.get() + "\"", lastModified);
+    }
+
+    /**
+     * Strong entity tag (quoted) and last modification time in epoch milliseconds.
+     */
+    public record Stamp(String etag, long lastModified) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.hotelbooking.hotelmanagement.dto.PhotoUploadDTO;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Uploads room photos to S3 off the request thread. RoomService stages the photo (copies
+ * it to a local temporary file, which outlives the request), saves the room with a
+ * PENDING photo and submits the upload. A worker uploads the file and its downscaled
+ * copies, retrying with exponential backoff, and then writes the photo URLs and READY (or
+ * FAILED) to the room.
+ *
+ * Staging takes one of {@code threads + queue-capacity} slots and the slot is only given
+ * back when the upload has finished, so a burst of uploads is turned away with a
+ * RejectedExecutionException before anything is saved instead of piling up temporary
+ * files. The latest upload per room is kept for the status endpoint; an upload that was
+ * superseded by a newer photo for the same room does not touch the room.
+ *
+ * With {@code spring.threads.virtual.enabled} the workers are virtual threads; their number
+ * stays bounded by {@code threads} because each one holds staged files and S3 part buffers.
+ */
+@Component
+public class RoomPhotoIngestion {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomPhotoIngestion.class);
+
+    @Autowired
+    private AwsS3Service awsS3Service;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    @Autowired
+    private RoomCatalog roomCatalog;
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final AtomicLong uploadIds = new AtomicLong();
+    private final Map<Long, PhotoUpload> uploads = new ConcurrentHashMap<>();
+    // Serializes submitting and applying uploads so that a superseded upload cannot win. A
+    // ReentrantLock rather than synchronized: it is held across a JDBC update, which would pin
+    // a virtual worker to its carrier thread.
+    private final Lock applyLock = new ReentrantLock();
+
+    public RoomPhotoIngestion(@Value("${room.photo-ingestion.threads:2}") int threads,
+                              @Value("${room.photo-ingestion.queue-capacity:50}") int queueCapacity,
+                              @Value("${room.photo-ingestion.max-attempts:3}") int maxAttempts,
+                              @Value("${room.photo-ingestion.retry-backoff:PT2S}") Duration retryBackoff,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                virtualThreads
+                        ? Thread.ofVirtual().name("photo-ingestion-", 1).factory()
+                        : Thread.ofPlatform().name("photo-ingestion-", 1).daemon().factory());
+        this.slots = new Semaphore(threads + Math.max(1, queueCapacity));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoff.toMillis();
+    }
+
+    /**
+     * Copies the photo to a temporary file and reserves an upload slot for it. Throws
+     * RejectedExecutionException when every slot is taken.
+     */
+    public StagedPhoto stage(MultipartFile photo) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Too many photo uploads in progress, please try again later");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("room-photo-", ".upload");
+            photo.transferTo(file);
+            return new StagedPhoto(file, photo.getOriginalFilename(), photo.getContentType());
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back the slot of a photo that will not be submitted, e.g. because saving the
+     * room failed.
+     */
+    public void discard(StagedPhoto staged) {
+        deleteQuietly(staged.file());
+        slots.release();
+    }
+
+    public PhotoUploadDTO submit(Long roomId, StagedPhoto staged) {
+        PhotoUpload upload = new PhotoUpload(uploadIds.incrementAndGet(), roomId, LocalDateTime.now());
+        applyLock.lock();
+        try {
+            uploads.put(roomId, upload);
+        } finally {
+            applyLock.unlock();
+        }
+        // Cannot be rejected: the staged photo holds one of the queue's slots
+        executor.execute(() -> run(upload, staged));
+        return upload.toDTO();
+    }
+
+    public Optional<PhotoUploadDTO> getUpload(Long roomId) {
+        return Optional.ofNullable(uploads.get(roomId)).map(PhotoUpload::toDTO);
+    }
+
+    public void forget(Long roomId) {
+        if (roomId != null) {
+            uploads.remove(roomId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Photo uploads still running at shutdown were abandoned, their rooms stay PENDING");
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(PhotoUpload upload, StagedPhoto staged) {
+        try {
+            RuntimeException lastError = null;
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                upload.attempts = attempt;
+                try {
+                    AwsS3Service.PhotoUrls urls = awsS3Service.saveImageVariantsToS3(
+                            staged.file().toFile(), staged.fileName(), staged.contentType());
+                    apply(upload, urls, Room.PhotoStatus.READY, null);
+                    return;
+                } catch (RuntimeException e) {
+                    lastError = e;
+                    log.warn("Photo upload for room {} failed (attempt {} of {}): {}",
+                            upload.roomId, attempt, maxAttempts, e.getMessage());
+                }
+                if (attempt < maxAttempts) {
+                    Thread.sleep(retryBackoffMillis << (attempt - 1));
+                }
+            }
+            apply(upload, null, Room.PhotoStatus.FAILED, lastError.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            apply(upload, null, Room.PhotoStatus.FAILED, "Upload was interrupted");
+        } catch (RuntimeException e) {
+            log.error("Unable to record the photo upload result for room {}", upload.roomId, e);
+        } finally {
+            deleteQuietly(staged.file());
+            slots.release();
+        }
+    }
+
+    private void apply(PhotoUpload upload, AwsS3Service.PhotoUrls urls, Room.PhotoStatus status, String error) {
+        applyLock.lock();
+        try {
+            if (uploads.get(upload.roomId) != upload) {
+                log.info("Photo upload {} for room {} was superseded by a newer photo", upload.id, upload.roomId);
+                return;
+            }
+            int updated = status == Room.PhotoStatus.READY
+                    ? roomRepository.updatePhoto(upload.roomId, urls.originalUrl(), urls.mediumUrl(), urls.thumbnailUrl(), status)
+                    : roomRepository.updatePhotoStatus(upload.roomId, status);
+            if (updated == 0) {
+                // The room was deleted while its photo was uploading
+                uploads.remove(upload.roomId, upload);
+                return;
+            }
+            upload.complete(status, urls != null ? urls.originalUrl() : null, error);
+        } finally {
+            applyLock.unlock();
+        }
+        roomRepository.findById(upload.roomId).ifPresent(room -> {
+            availabilityIndex.putRoom(room);
+            roomCatalog.putRoom(room);
+        });
+        catalogVersion.roomsChanged();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete staged photo {}", file, e);
+        }
+    }
+
+    public record StagedPhoto(Path file, String fileName, String contentType) {
+    }
+
+    private static final class PhotoUpload {
+
+        private final long id;
+        private final Long roomId;
+        private final LocalDateTime submittedAt;
+        private volatile Room.PhotoStatus status = Room.PhotoStatus.PENDING;
+        private volatile int attempts;
+        private volatile String url;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private PhotoUpload(long id, Long roomId, LocalDateTime submittedAt) {
+            this.id = id;
+            this.roomId = roomId;
+            this.submittedAt = submittedAt;
+        }
+
+        private void complete(Room.PhotoStatus status, String url, String error) {
+            this.url = url;
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private PhotoUploadDTO toDTO() {
+            PhotoUploadDTO dto = new PhotoUploadDTO();
+            dto.setRoomId(roomId);
+            dto.setStatus(status.name());
+            dto.setRoomPhotoUrl(url);
+            dto.setAttempts(attempts);
+            dto.setError(error);
+            dto.setSubmittedAt(submittedAt);
+            dto.setCompletedAt(completedAt);
+            return dto;
+        }
+    }
+}
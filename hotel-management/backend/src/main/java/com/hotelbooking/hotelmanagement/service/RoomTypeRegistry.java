@@ -0,0 +1,113 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.hotelmanagement.entity.RoomType;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomTypeRepository;
+
+/**
+ * Resolves free-form room type names to rows of the room_types table, which rooms reference
+ * by id so that availability searches filter with an exact match on an indexed column.
+ * Names are matched by {@link RoomType#keyOf}, so "Deluxe" and " deluxe" are the same type.
+ *
+ * Resolved types are cached for the lifetime of the application; a type is never renamed
+ * or removed, so a cached entry cannot go stale. Once the application is ready, rooms
+ * saved without a type id are assigned one.
+ */
+@Component
+public class RoomTypeRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomTypeRegistry.class);
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final Map<String, RoomType> typesByKey = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.error("Unable to assign room types to existing rooms", e);
+        }
+    }
+
+    /**
+     * Assigns a type to every room that has a type name but no type id and returns the number
+     * of rooms updated.
+     */
+    public int backfill() {
+        int assigned = 0;
+        List<String> untypedRoomTypes = roomRepository.findDistinctUntypedRoomTypes();
+        for (String roomType : untypedRoomTypes) {
+            if (roomType.isBlank()) {
+                continue;
+            }
+            assigned += roomRepository.assignType(roomType, resolve(roomType));
+        }
+        if (assigned > 0) {
+            log.info("Assigned room types to {} existing rooms", assigned);
+        }
+        return assigned;
+    }
+
+    /**
+     * The type with the given name, created on first use. Throws IllegalArgumentException
+     * for a blank name.
+     */
+    public RoomType resolve(String name) {
+        String key = RoomType.keyOf(name);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        RoomType cached = typesByKey.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        RoomType type = roomTypeRepository.findByNameKey(key).orElseGet(() -> create(name.trim(), key));
+        typesByKey.put(key, type);
+        return type;
+    }
+
+    /**
+     * The id of the type with the given name, or empty when no room has ever had that type.
+     */
+    public Optional<Long> findTypeId(String name) {
+        String key = RoomType.keyOf(name);
+        RoomType cached = typesByKey.get(key);
+        if (cached != null) {
+            return Optional.of(cached.getId());
+        }
+        // Unknown names are not cached, another instance may create the type at any time
+        Optional<RoomType> type = roomTypeRepository.findByNameKey(key);
+        type.ifPresent(found -> typesByKey.put(key, found));
+        return type.map(RoomType::getId);
+    }
+
+    private RoomType create(String name, String key) {
+        RoomType type = new RoomType();
+        type.setName(name);
+        type.setNameKey(key);
+        try {
+            return roomTypeRepository.save(type);
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another request or instance
+            return roomTypeRepository.findByNameKey(key).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.hotelbooking.hotelmanagement.dto.Response;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the service implementations (BookingService, RoomService,
+ * UserService, PaymentService and AdminDashboardService) as {@code hotel.service.calls},
+ * tagged with the service, the method and the outcome. The services report failures in
+ * Response.statusCode rather than by throwing, so the outcome is that status code ("200",
+ * "400", "404", "500"), "success" for methods that return something else and "exception"
+ * when the call throws. The timer count per outcome doubles as the outcome counter.
+ *
+ * Percentile histograms are published so that p50/p99 can be aggregated across instances
+ * on the Prometheus side, e.g. histogram_quantile(0.99, sum by (le, method)
+ * (rate(hotel_service_calls_seconds_bucket[5m]))).
+ */
+@Aspect
+@Component
+public class ServiceMetrics {
+
+    public static final String TIMER_NAME = "hotel.service.calls";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetrics() {
+    }
+
+    ServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.hotelbooking.hotelmanagement.service.impl..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        String outcome = "exception";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = result instanceof Response response ? String.valueOf(response.getStatusCode()) : "success";
+            return result;
+        } finally {
+            TimerKey key = new TimerKey(ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(),
+                    joinPoint.getSignature().getName(), outcome);
+            timers.computeIfAbsent(key, this::register).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(TIMER_NAME)
+                .description("Calls of the service layer by outcome")
+                .tag("service", key.service())
+                .tag("method", key.method())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(String service, String method, String outcome) {
+    }
+}
@@ -1,14 +1,27 @@
 package com.hotelbooking.hotelmanagement.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
 
 import com.hotelbooking.hotelmanagement.dto.DashboardDTO;
 import com.hotelbooking.hotelmanagement.dto.Response;
@@ -20,7 +33,9 @@ import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
 import com.hotelbooking.hotelmanagement.repo.RoomRepository;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
 import com.hotelbooking.hotelmanagement.service.interfac.IAdminDashboardService;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
 import com.hotelbooking.hotelmanagement.utils.Utils;
 
 @Service
@@ -28,6 +43,22 @@ public class AdminDashboardService implements IAdminDashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(AdminDashboardService.class);
 
+    // Sort keys accepted by each detail list, with the parser for their cursor values.
+    // Only non-null columns are offered so that keyset comparisons never meet a NULL.
+    private static final Map<String, Function<String, Object>> USER_SORT_KEYS = Map.of(
+            "id", Long::valueOf, "name", value -> value, "email", value -> value);
+    private static final Map<String, Function<String, Object>> BOOKING_SORT_KEYS = Map.of(
+            "id", Long::valueOf, "checkInDate", LocalDate::parse);
+    private static final Map<String, Function<String, Object>> ROOM_SORT_KEYS = Map.of(
+            "id", Long::valueOf);
+    private static final Map<String, Function<String, Object>> PAYMENT_SORT_KEYS = Map.of(
+            "id", Long::valueOf, "paymentDate", LocalDateTime::parse, "amount", BigDecimal::new);
+
+    // Associations the mappers read for every row, fetched with the page instead of one query per row
+    private static final String[] BOOKING_FETCH = {"user", "room", "payment"};
+    // A payment eagerly loads its booking, which in turn eagerly loads its user
+    private static final String[] PAYMENT_FETCH = {"booking.user"};
+
     @Autowired
     private UserRepository userRepository;
 
@@ -40,87 +71,18 @@ public class AdminDashboardService implements IAdminDashboardService {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
     @Override
+    @Transactional(readOnly = true)
     public Response getDashboardStatistics() {
         Response response = new Response();
 
         try {
-            DashboardDTO dashboard = new DashboardDTO();
-
-            // User Statistics
-            List<User> allUsers = userRepository.findAll();
-            dashboard.setTotalUsers((long) allUsers.size());
-            dashboard.setTotalAdmins(allUsers.stream()
-                    .filter(user -> "ADMIN".equals(user.getRole()))
-                    .count());
-            dashboard.setTotalRegularUsers(allUsers.stream()
-                    .filter(user -> "USER".equals(user.getRole()))
-                    .count());
-            dashboard.setAllUsers(allUsers.stream()
-                    .map(Utils::mapUserEntityToUserDTO)
-                    .collect(Collectors.toList()));
-
-            // Booking Statistics
-            List<Booking> allBookings = bookingRepository.findAll();
-            dashboard.setTotalBookings((long) allBookings.size());
-            dashboard.setConfirmedBookings(allBookings.stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
-                    .count());
-            dashboard.setCancelledBookings(allBookings.stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.CANCELLED)
-                    .count());
-            dashboard.setAllBookings(allBookings.stream()
-                    .map(booking -> Utils.mapBookingEntityToBookingDTOPlusBookedRooms(booking, true))
-                    .collect(Collectors.toList()));
-
-            // Room Statistics
-            List<Room> allRooms = roomRepository.findAll();
-            dashboard.setTotalRooms((long) allRooms.size());
-            
-            // Get booked room IDs
-            List<Long> bookedRoomIds = allBookings.stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
-                    .filter(booking -> booking.getRoom() != null)
-                    .map(booking -> booking.getRoom().getId())
-                    .filter(id -> id != null)
-                    .distinct()
-                    .collect(Collectors.toList());
-            
-            dashboard.setBookedRooms((long) bookedRoomIds.size());
-            dashboard.setAvailableRooms(dashboard.getTotalRooms() - dashboard.getBookedRooms());
-            dashboard.setAllRooms(allRooms.stream()
-                    .map(Utils::mapRoomEntityToRoomDTO)
-                    .collect(Collectors.toList()));
-
-            // Payment Statistics
-            List<Payment> allPayments = paymentRepository.findAll();
-            dashboard.setTotalPayments((long) allPayments.size());
-            
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-            BigDecimal successfulPayments = BigDecimal.ZERO;
-            BigDecimal failedPayments = BigDecimal.ZERO;
-            long successfulCount = 0;
-            long failedCount = 0;
-
-            for (Payment payment : allPayments) {
-                totalRevenue = totalRevenue.add(payment.getAmount());
-                if (payment.getStatus() == Payment.PaymentStatus.SUCCESS) {
-                    successfulPayments = successfulPayments.add(payment.getAmount());
-                    successfulCount++;
-                } else {
-                    failedPayments = failedPayments.add(payment.getAmount());
-                    failedCount++;
-                }
-            }
-
-            dashboard.setTotalRevenue(totalRevenue);
-            dashboard.setSuccessfulPayments(successfulPayments);
-            dashboard.setFailedPayments(failedPayments);
-            dashboard.setSuccessfulPaymentCount(successfulCount);
-            dashboard.setFailedPaymentCount(failedCount);
-            dashboard.setAllPayments(allPayments.stream()
-                    .map(Utils::mapPaymentEntityToPaymentDTO)
-                    .collect(Collectors.toList()));
+            // The counters only: the detail lists are served page by page by getUsersPage,
+            // getBookingsPage, getRoomsPage and getPaymentsPage
+            DashboardDTO dashboard = buildSummary();
 
             response.setStatusCode(200);
             response.setMessage("Dashboard statistics retrieved successfully");
@@ -138,5 +100,208 @@ public class AdminDashboardService implements IAdminDashboardService {
 
         return response;
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public Response getDashboardSummary() {
+        Response response = new Response();
+
+        try {
+            response.setStatusCode(200);
+            response.setMessage("Dashboard summary retrieved successfully");
+            response.setDashboard(buildSummary());
+
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while retrieving dashboard summary: " + e.getMessage());
+            log.error("Database error retrieving dashboard summary", e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error retrieving dashboard summary: " + e.getMessage());
+            log.error("Unexpected error retrieving dashboard summary", e);
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getUsersPage(String sort, String direction, String after, Integer limit) {
+        Response response = new Response();
+
+        try {
+            String sortKey = sortKey(sort, USER_SORT_KEYS);
+            Sort.Direction sortDirection = KeysetCursor.parseDirection(direction);
+            Window<User> page = scroll(userRepository, USER_SORT_KEYS, sortKey, sortDirection, after, KeysetCursor.clampLimit(limit));
+            response.setUserList(page.stream().map(Utils::mapUserEntityToUserDTO).collect(Collectors.toList()));
+            setPageResult(response, page, sortKey, sortDirection);
+
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while retrieving users: " + e.getMessage());
+            log.error("Database error retrieving dashboard users page", e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error retrieving users: " + e.getMessage());
+            log.error("Unexpected error retrieving dashboard users page", e);
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getBookingsPage(String sort, String direction, String after, Integer limit) {
+        Response response = new Response();
+
+        try {
+            String sortKey = sortKey(sort, BOOKING_SORT_KEYS);
+            Sort.Direction sortDirection = KeysetCursor.parseDirection(direction);
+            Window<Booking> page = scroll(bookingRepository, BOOKING_SORT_KEYS, sortKey, sortDirection, after, KeysetCursor.clampLimit(limit), BOOKING_FETCH);
+            response.setBookingList(page.stream()
+                    .map(booking -> Utils.mapBookingEntityToBookingDTOPlusBookedRooms(booking, true))
+                    .collect(Collectors.toList()));
+            setPageResult(response, page, sortKey, sortDirection);
+
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while retrieving bookings: " + e.getMessage());
+            log.error("Database error retrieving dashboard bookings page", e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error retrieving bookings: " + e.getMessage());
+            log.error("Unexpected error retrieving dashboard bookings page", e);
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getRoomsPage(String sort, String direction, String after, Integer limit) {
+        Response response = new Response();
+
+        try {
+            String sortKey = sortKey(sort, ROOM_SORT_KEYS);
+            Sort.Direction sortDirection = KeysetCursor.parseDirection(direction);
+            Window<Room> page = scroll(roomRepository, ROOM_SORT_KEYS, sortKey, sortDirection, after, KeysetCursor.clampLimit(limit));
+            response.setRoomList(page.stream().map(Utils::mapRoomEntityToRoomDTO).collect(Collectors.toList()));
+            setPageResult(response, page, sortKey, sortDirection);
+
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while retrieving rooms: " + e.getMessage());
+            log.error("Database error retrieving dashboard rooms page", e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error retrieving rooms: " + e.getMessage());
+            log.error("Unexpected error retrieving dashboard rooms page", e);
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getPaymentsPage(String sort, String direction, String after, Integer limit) {
+        Response response = new Response();
+
+        try {
+            String sortKey = sortKey(sort, PAYMENT_SORT_KEYS);
+            Sort.Direction sortDirection = KeysetCursor.parseDirection(direction);
+            Window<Payment> page = scroll(paymentRepository, PAYMENT_SORT_KEYS, sortKey, sortDirection, after, KeysetCursor.clampLimit(limit), PAYMENT_FETCH);
+            response.setPaymentList(page.stream().map(Utils::mapPaymentEntityToPaymentDTO).collect(Collectors.toList()));
+            setPageResult(response, page, sortKey, sortDirection);
+
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while retrieving payments: " + e.getMessage());
+            log.error("Database error retrieving dashboard payments page", e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error retrieving payments: " + e.getMessage());
+            log.error("Unexpected error retrieving dashboard payments page", e);
+        }
+
+        return response;
+    }
+
+    private DashboardDTO buildSummary() {
+        DashboardDTO dashboard = new DashboardDTO();
+        DashboardCounters.Snapshot counters = dashboardCounters.snapshot();
+
+        // User Statistics
+        dashboard.setTotalUsers(counters.totalUsers());
+        dashboard.setTotalAdmins(counters.totalAdmins());
+        dashboard.setTotalRegularUsers(counters.totalRegularUsers());
+
+        // Booking Statistics
+        dashboard.setTotalBookings(counters.totalBookings());
+        dashboard.setConfirmedBookings(counters.confirmedBookings());
+        dashboard.setCancelledBookings(counters.cancelledBookings());
+
+        // Room Statistics
+        dashboard.setTotalRooms(counters.totalRooms());
+        dashboard.setBookedRooms(counters.bookedRooms());
+        dashboard.setAvailableRooms(counters.availableRooms());
+
+        // Payment Statistics
+        dashboard.setTotalPayments(counters.totalPayments());
+        dashboard.setTotalRevenue(counters.totalRevenue());
+        dashboard.setSuccessfulPayments(counters.successfulPayments());
+        dashboard.setFailedPayments(counters.failedPayments());
+        dashboard.setSuccessfulPaymentCount(counters.successfulPaymentCount());
+        dashboard.setFailedPaymentCount(counters.failedPaymentCount());
+
+        dashboard.setCountersReconciledAt(dashboardCounters.getLastReconciledAt());
+        dashboard.setCountersDrift(dashboardCounters.getLastDrift());
+        return dashboard;
+    }
+
+    private static String sortKey(String sort, Map<String, Function<String, Object>> sortKeys) {
+        if (sort == null || sort.isBlank()) {
+            return "id";
+        }
+        if (!sortKeys.containsKey(sort)) {
+            throw new IllegalArgumentException("Invalid sort key " + sort + ", expected one of " + sortKeys.keySet());
+        }
+        return sort;
+    }
+
+    private static <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Map<String, Function<String, Object>> sortKeys,
+                                        String sortKey, Sort.Direction direction, String after, int limit, String... fetch) {
+        Sort sort = KeysetCursor.sort(sortKey, direction);
+        ScrollPosition position = KeysetCursor.decode(after, sortKey, direction, sortKeys.get(sortKey));
+        // The to-one paths in fetch (dotted for nested ones) are joined into the page query itself
+        Specification<T> all = (root, query, criteriaBuilder) -> {
+            for (String path : fetch) {
+                FetchParent<?, ?> parent = root;
+                for (String attribute : path.split("\\.")) {
+                    parent = parent.fetch(attribute, JoinType.LEFT);
+                }
+            }
+            return null;
+        };
+        return repository.findBy(all, query -> query.sortBy(sort).limit(limit).scroll(position));
+    }
+
+    private static void setPageResult(Response response, Window<?> page, String sortKey, Sort.Direction direction) {
+        if (page.hasNext() && !page.isEmpty()) {
+            response.setNextCursor(KeysetCursor.encode(page.positionAt(page.size() - 1), sortKey, direction));
+        }
+        response.setStatusCode(200);
+        response.setMessage("successful");
+    }
+}
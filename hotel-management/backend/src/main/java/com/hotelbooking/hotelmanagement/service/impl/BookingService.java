@@ -1,17 +1,29 @@
 package com.hotelbooking.hotelmanagement.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.entity.Booking;
 import com.hotelbooking.hotelmanagement.entity.Room;
@@ -20,7 +32,12 @@ import com.hotelbooking.hotelmanagement.exception.OurException;
 import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.RoomRepository;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
+import com.hotelbooking.hotelmanagement.service.RoomAvailabilityIndex;
+import com.hotelbooking.hotelmanagement.service.RoomCatalogVersion;
+import com.hotelbooking.hotelmanagement.service.RoomBookingLocks;
 import com.hotelbooking.hotelmanagement.service.interfac.IBookingService;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
 import com.hotelbooking.hotelmanagement.utils.Utils;
 
 @Service
@@ -33,6 +50,19 @@ public class BookingService implements IBookingService {
     private RoomRepository roomRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    @Autowired
+    private RoomBookingLocks roomBookingLocks;
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    // Upper bound on the rooms of one group booking, which are all locked while it is admitted
+    @Value("${booking.group.max-rooms:100}")
+    private int maxGroupRooms = 100;
 
 
     @Override
@@ -46,26 +76,32 @@ public class BookingService implements IBookingService {
             }
             long resolvedRoomId = requireId(roomId, "room");
             long resolvedUserId = requireId(userId, "user");
-            Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
-            User user = userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
-
-            List<Booking> existingBookings = room.getBookings();
 
-            // Filter out cancelled bookings when checking availability
-            List<Booking> activeBookings = existingBookings.stream()
-                    .filter(b -> b.getStatus() == null || b.getStatus() != Booking.BookingStatus.CANCELLED)
-                    .toList();
-            
-            if (!roomIsAvailable(bookingRequest, activeBookings)) {
-                throw new OurException("Room not Available for selected date range");
-            }
+            // Check and insert under the room's lock so concurrent requests cannot both pass the check
+            Booking savedBooking = roomBookingLocks.withRoomLock(resolvedRoomId, () -> {
+                Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
+                User user = userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
+
+                LocalDate occupiedUntil = Booking.occupiedUntil(bookingRequest.getCheckInDate(), bookingRequest.getCheckOutDate());
+                if (bookingRepository.existsActiveOverlap(resolvedRoomId, bookingRequest.getCheckInDate(), occupiedUntil)) {
+                    throw new OurException("Room not Available for selected date range");
+                }
+
+                bookingRequest.setRoom(room);
+                bookingRequest.setUser(user);
+                bookingRequest.setBookingConfirmationCode(Utils.generateRandomConfirmationCode(10));
+                return dashboardCounters.mutate(() -> {
+                    Booking booking = bookingRepository.save(bookingRequest);
+                    availabilityIndex.addBooking(room.getId(), booking.getId(),
+                            booking.getCheckInDate(), booking.getCheckOutDate());
+                    dashboardCounters.bookingAdded(room.getId(), booking.getStatus());
+                    catalogVersion.bookingsChanged();
+                    return booking;
+                });
+            });
+            Room room = savedBooking.getRoom();
+            String bookingConfirmationCode = savedBooking.getBookingConfirmationCode();
 
-            bookingRequest.setRoom(room);
-            bookingRequest.setUser(user);
-            String bookingConfirmationCode = Utils.generateRandomConfirmationCode(10);
-            bookingRequest.setBookingConfirmationCode(bookingConfirmationCode);
-            Booking savedBooking = bookingRepository.save(bookingRequest);
-            
             // Calculate total price for payment
             long days = ChronoUnit.DAYS.between(
                 bookingRequest.getCheckInDate(), 
@@ -104,12 +140,95 @@ public class BookingService implements IBookingService {
 
 
     @Override
+    public Response saveGroupBooking(Long userId, GroupBookingRequest groupRequest) {
+
+        Response response = new Response();
+
+        try {
+            long resolvedUserId = requireId(userId, "user");
+            Set<Long> roomIds = validateGroupBooking(groupRequest);
+            LocalDate checkInDate = groupRequest.getCheckInDate();
+            LocalDate checkOutDate = groupRequest.getCheckOutDate();
+            LocalDate occupiedUntil = Booking.occupiedUntil(checkInDate, checkOutDate);
+
+            // Same protocol as saveBooking, for every room at once: check and insert under the rooms' locks,
+            // and in one transaction so that either all the rooms are booked or none. The rooms' locks
+            // come first, a recount may be waiting behind the counters' lock
+            List<Booking> savedBookings = roomBookingLocks.withRoomLocks(roomIds, () -> dashboardCounters.mutate(() -> {
+                List<Booking> bookings = new TransactionTemplate(transactionManager).execute(status -> {
+                    Map<Long, Room> rooms = roomRepository.findAllById(roomIds).stream()
+                            .collect(Collectors.toMap(Room::getId, Function.identity()));
+                    if (rooms.size() != roomIds.size()) {
+                        throw new OurException("Room Not Found");
+                    }
+                    User user = userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
+
+                    List<Long> unavailableRoomIds = bookingRepository.findRoomIdsWithActiveOverlap(roomIds, checkInDate, occupiedUntil);
+                    if (!unavailableRoomIds.isEmpty()) {
+                        throw new OurException("Rooms not Available for selected date range: " + unavailableRoomIds);
+                    }
+
+                    List<Booking> newBookings = new ArrayList<>(roomIds.size());
+                    for (Long roomId : roomIds) {
+                        Booking booking = new Booking();
+                        booking.setCheckInDate(checkInDate);
+                        booking.setCheckOutDate(checkOutDate);
+                        booking.setNumOfAdults(groupRequest.getNumOfAdults());
+                        booking.setNumOfChildren(groupRequest.getNumOfChildren());
+                        booking.setRoom(rooms.get(roomId));
+                        booking.setUser(user);
+                        booking.setBookingConfirmationCode(Utils.generateRandomConfirmationCode(10));
+                        newBookings.add(booking);
+                    }
+                    bookingRepository.insertAll(newBookings);
+                    return newBookings;
+                });
+                // Only committed bookings reach the in-memory views
+                for (Booking booking : bookings) {
+                    availabilityIndex.addBooking(booking.getRoom().getId(), booking.getId(),
+                            booking.getCheckInDate(), booking.getCheckOutDate());
+                    dashboardCounters.bookingAdded(booking.getRoom().getId(), booking.getStatus());
+                }
+                catalogVersion.bookingsChanged();
+                return bookings;
+            }));
+
+            List<BookingDTO> bookingDTOList = new ArrayList<>(savedBookings.size());
+            for (Booking booking : savedBookings) {
+                BookingDTO bookingDTO = Utils.mapBookingEntityToBookingDTO(booking);
+                bookingDTO.setRoom(Utils.mapRoomEntityToRoomDTO(booking.getRoom()));
+                bookingDTOList.add(bookingDTO);
+            }
+            response.setStatusCode(200);
+            response.setMessage("successful");
+            response.setBookingList(bookingDTOList);
+
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (OurException e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            response.setStatusCode(500);
+            response.setMessage("Database error while saving group booking " + e.getMessage());
+            log.error("Database error while saving group booking for user {}", userId, e);
+        } catch (RuntimeException e) {
+            response.setStatusCode(500);
+            response.setMessage("Error Saving a group booking: " + e.getMessage());
+            log.error("Unexpected error while saving group booking for user {}", userId, e);
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Response findBookingByConfirmationCode(String confirmationCode) {
 
         Response response = new Response();
 
         try {
-            Booking booking = bookingRepository.findByBookingConfirmationCode(confirmationCode).orElseThrow(() -> new OurException("Booking Not Found"));
+            Booking booking = bookingRepository.findWithDetailsByBookingConfirmationCode(confirmationCode).orElseThrow(() -> new OurException("Booking Not Found"));
             BookingDTO bookingDTO = Utils.mapBookingEntityToBookingDTOPlusBookedRooms(booking, true);
             response.setStatusCode(200);
             response.setMessage("successful");
@@ -131,12 +250,21 @@ public class BookingService implements IBookingService {
     }
 
     @Override
-    public Response getAllBookings() {
+    @Transactional(readOnly = true)
+    public Response getAllBookings(Long after, Integer limit) {
 
         Response response = new Response();
 
         try {
-            List<Booking> bookingList = bookingRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+            int pageSize = KeysetCursor.clampLimit(limit);
+            // One row more than the page tells whether another page follows
+            List<Booking> bookingList = after == null
+                    ? bookingRepository.findAllByOrderByIdDesc(Limit.of(pageSize + 1))
+                    : bookingRepository.findByIdLessThanOrderByIdDesc(after, Limit.of(pageSize + 1));
+            if (bookingList.size() > pageSize) {
+                bookingList = bookingList.subList(0, pageSize);
+                response.setNextCursor(String.valueOf(bookingList.get(pageSize - 1).getId()));
+            }
             List<BookingDTO> bookingDTOList = Utils.mapBookingListEntityToBookingListDTO(bookingList);
             response.setStatusCode(200);
             response.setMessage("successful");
@@ -168,8 +296,17 @@ public class BookingService implements IBookingService {
                     .orElseThrow(() -> new OurException("Booking Does Not Exist"));
             
             // Update status to CANCELLED instead of deleting
+            Booking.BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+            Long bookedRoomId = booking.getRoom() != null ? booking.getRoom().getId() : null;
+            dashboardCounters.mutate(() -> {
+                bookingRepository.save(booking);
+                if (bookedRoomId != null) {
+                    availabilityIndex.removeBooking(bookedRoomId, booking.getId());
+                }
+                dashboardCounters.bookingStatusChanged(bookedRoomId, previousStatus, Booking.BookingStatus.CANCELLED);
+                catalogVersion.bookingsChanged();
+            });
             
             response.setStatusCode(200);
             response.setMessage("Booking cancelled successfully");
@@ -189,34 +326,41 @@ public class BookingService implements IBookingService {
         return response;
     }
 
+    // The group bookings are inserted with JDBC, so the checks the entity's constraints would make are made here
+    private Set<Long> validateGroupBooking(GroupBookingRequest groupRequest) {
+        if (groupRequest == null || groupRequest.getCheckInDate() == null || groupRequest.getCheckOutDate() == null) {
+            throw new IllegalArgumentException("Check in and check out dates are required");
+        }
+        if (groupRequest.getCheckOutDate().isBefore(groupRequest.getCheckInDate())) {
+            throw new IllegalArgumentException("Check in date must come after check out date");
+        }
+        if (!groupRequest.getCheckOutDate().isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Check out date must be in the future");
+        }
+        if (groupRequest.getNumOfAdults() < 1 || groupRequest.getNumOfChildren() < 0) {
+            throw new IllegalArgumentException("Each room needs at least 1 adult and no negative number of children");
+        }
+        List<Long> requestedRoomIds = groupRequest.getRoomIds();
+        if (requestedRoomIds == null || requestedRoomIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one room is required");
+        }
+        if (requestedRoomIds.size() > maxGroupRooms) {
+            throw new IllegalArgumentException("A group booking may hold at most " + maxGroupRooms + " rooms");
+        }
+        Set<Long> roomIds = new LinkedHashSet<>(requestedRoomIds);
+        if (roomIds.contains(null)) {
+            throw new IllegalArgumentException("Room ids must not be null");
+        }
+        if (roomIds.size() != requestedRoomIds.size()) {
+            throw new IllegalArgumentException("Each room may appear only once in a group booking");
+        }
+        return roomIds;
+    }
+
     private long requireId(Long id, String resourceName) {
         if (id == null) {
             throw new OurException("Missing identifier for " + resourceName);
         }
         return id;
     }
-
-    private boolean roomIsAvailable(Booking bookingRequest, List<Booking> existingBookings) {
-
-        return existingBookings.stream()
-                .noneMatch(existingBooking ->
-                        bookingRequest.getCheckInDate().equals(existingBooking.getCheckInDate())
-                                || bookingRequest.getCheckOutDate().isBefore(existingBooking.getCheckOutDate())
-                                || (bookingRequest.getCheckInDate().isAfter(existingBooking.getCheckInDate())
-                                && bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckOutDate()))
-                                || (bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckInDate())
-
-                                && bookingRequest.getCheckOutDate().equals(existingBooking.getCheckOutDate()))
-                                || (bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckInDate())
-
-                                && bookingRequest.getCheckOutDate().isAfter(existingBooking.getCheckOutDate()))
-
-                                || (bookingRequest.getCheckInDate().equals(existingBooking.getCheckOutDate())
-                                && bookingRequest.getCheckOutDate().equals(existingBooking.getCheckInDate()))
-
-                                || (bookingRequest.getCheckInDate().equals(existingBooking.getCheckOutDate())
-                                && bookingRequest.getCheckOutDate().equals(bookingRequest.getCheckInDate()))
-                );
-    }
 }
-
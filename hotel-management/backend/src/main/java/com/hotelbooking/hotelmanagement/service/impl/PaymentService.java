@@ -17,6 +17,7 @@ import com.hotelbooking.hotelmanagement.entity.Payment;
 import com.hotelbooking.hotelmanagement.exception.OurException;
 import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
 import com.hotelbooking.hotelmanagement.service.interfac.IPaymentService;
 import com.hotelbooking.hotelmanagement.utils.Utils;
 
@@ -31,6 +32,9 @@ public class PaymentService implements IPaymentService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
     @Override
     public Response processPayment(Long bookingId, BigDecimal amount) {
         Response response = new Response();
@@ -58,7 +62,11 @@ public class PaymentService implements IPaymentService {
             payment.setPaymentDate(LocalDateTime.now());
             
             // Save payment
-            Payment savedPayment = paymentRepository.save(payment);
+            Payment savedPayment = dashboardCounters.mutate(() -> {
+                Payment saved = paymentRepository.save(payment);
+                dashboardCounters.paymentAdded(saved.getStatus(), saved.getAmount());
+                return saved;
+            });
             
             // Map to DTO
             PaymentDTO paymentDTO = Utils.mapPaymentEntityToPaymentDTO(savedPayment);
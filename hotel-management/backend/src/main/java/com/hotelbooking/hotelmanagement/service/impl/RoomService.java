@@ -1,68 +1,155 @@
 package com.hotelbooking.hotelmanagement.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.hotelbooking.hotelmanagement.config.ReplicaReads;
+import com.hotelbooking.hotelmanagement.dto.PhotoUploadDTO;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
 import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.RoomType;
 import com.hotelbooking.hotelmanagement.exception.OurException;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.RoomRepository;
-import com.hotelbooking.hotelmanagement.service.AwsS3Service;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
+import com.hotelbooking.hotelmanagement.service.RoomAvailabilityIndex;
+import com.hotelbooking.hotelmanagement.service.RoomCatalog;
+import com.hotelbooking.hotelmanagement.service.RoomCatalogVersion;
+import com.hotelbooking.hotelmanagement.service.RoomPhotoIngestion;
+import com.hotelbooking.hotelmanagement.service.RoomTypeRegistry;
 import com.hotelbooking.hotelmanagement.service.interfac.IRoomService;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
+import com.hotelbooking.hotelmanagement.utils.PrefixTrie;
 import com.hotelbooking.hotelmanagement.utils.Utils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 @Service
 public class RoomService implements IRoomService {
 
+    private static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    private static final int MAX_SUGGESTION_LIMIT = 50;
 
     @Autowired
     private RoomRepository roomRepository;
     @Autowired
-    private AwsS3Service awsS3Service;
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomPhotoIngestion photoIngestion;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    @Autowired
+    private RoomCatalog roomCatalog;
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+    @Autowired
+    private RoomTypeRegistry roomTypeRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Override
     public Response addNewRoom(MultipartFile photo, String roomType, BigDecimal roomPrice, String description) {
         Response response = new Response();
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = null;
 
         try {
-            String imageUrl = awsS3Service.saveImageToS3(photo);
+            // The room is saved right away and its photo is uploaded in the background
+            stagedPhoto = photoIngestion.stage(photo);
+            RoomType type = roomTypeRegistry.resolve(roomType);
             Room room = new Room();
-            room.setRoomPhotoUrl(imageUrl);
-            room.setRoomType(roomType);
+            room.setPhotoStatus(Room.PhotoStatus.PENDING);
+            room.setType(type);
+            room.setRoomType(type.getName());
             room.setRoomPrice(roomPrice);
             room.setRoomDescription(description);
-            Room savedRoom = roomRepository.save(room);
+            Room savedRoom = dashboardCounters.mutate(() -> {
+                Room saved = roomRepository.save(room);
+                dashboardCounters.roomAdded();
+                return saved;
+            });
+            // Published before the upload starts, so that an upload finishing first is not overwritten
+            availabilityIndex.putRoom(savedRoom);
+            roomCatalog.putRoom(savedRoom);
+            catalogVersion.roomsChanged();
+            PhotoUploadDTO photoUpload = photoIngestion.submit(savedRoom.getId(), stagedPhoto);
+            stagedPhoto = null;
             RoomDTO roomDTO = Utils.mapRoomEntityToRoomDTO(savedRoom);
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setRoom(roomDTO);
+            response.setPhotoUpload(photoUpload);
 
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            response.setStatusCode(503);
+            response.setMessage(e.getMessage());
         } catch (Exception e) {
             response.setStatusCode(500);
             response.setMessage("Error saving a room " + e.getMessage());
+        } finally {
+            if (stagedPhoto != null) {
+                photoIngestion.discard(stagedPhoto);
+            }
         }
         return response;
     }
 
+    // Served from the room catalog snapshot when it is loaded, so no transaction (and no
+    // connection) is opened up front; the repository fallbacks run in their own read-only ones
     @Override
     public List<String> getAllRoomTypes() {
+        if (roomCatalog.isReady()) {
+            return roomCatalog.getRoomTypes();
+        }
         return roomRepository.findDistinctRoomTypes();
     }
 
     @Override
-    public Response getAllRooms() {
+    public List<String> suggestRoomTypes(String prefix, Integer limit) {
+        int suggestionLimit = limit == null ? DEFAULT_SUGGESTION_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGESTION_LIMIT));
+        if (roomCatalog.isReady()) {
+            return roomCatalog.suggestRoomTypes(prefix, suggestionLimit);
+        }
+        return PrefixTrie.of(roomRepository.findDistinctRoomTypes()).suggest(prefix, suggestionLimit);
+    }
+
+    @Override
+    public Response getAllRooms(Long after, Integer limit) {
         Response response = new Response();
 
         try {
-            List<Room> roomList = roomRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-            List<RoomDTO> roomDTOList = Utils.mapRoomListEntityToRoomListDTO(roomList);
+            int pageSize = KeysetCursor.clampLimit(limit);
+            // One row more than the page tells whether another page follows
+            List<RoomDTO> roomDTOList;
+            if (roomCatalog.isReady()) {
+                roomDTOList = roomCatalog.findRooms(after, pageSize + 1);
+            } else {
+                List<Room> roomList = after == null
+                        ? roomRepository.findAllByOrderByIdDesc(Limit.of(pageSize + 1))
+                        : roomRepository.findByIdLessThanOrderByIdDesc(after, Limit.of(pageSize + 1));
+                roomDTOList = Utils.mapRoomListEntityToRoomListDTO(roomList);
+            }
+            if (roomDTOList.size() > pageSize) {
+                roomDTOList = roomDTOList.subList(0, pageSize);
+                response.setNextCursor(String.valueOf(roomDTOList.get(pageSize - 1).getId()));
+            }
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setRoomList(roomDTOList);
@@ -81,7 +168,18 @@ public class RoomService implements IRoomService {
         try {
             long resolvedRoomId = requireRoomId(roomId);
             roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
-            roomRepository.deleteById(resolvedRoomId);
+            dashboardCounters.mutate(() -> {
+                // The room's bookings are removed by cascade
+                List<BookingRepository.CascadedBookingRow> cascadedBookings =
+                        bookingRepository.findCascadedBookingsByRoomId(resolvedRoomId);
+                roomRepository.deleteById(resolvedRoomId);
+                dashboardCounters.roomRemoved();
+                cascadedBookings.forEach(dashboardCounters::bookingRemoved);
+            });
+            availabilityIndex.removeRoom(resolvedRoomId);
+            roomCatalog.removeRoom(resolvedRoomId);
+            photoIngestion.forget(resolvedRoomId);
+            catalogVersion.roomsChanged();
             response.setStatusCode(200);
             response.setMessage("successful");
 
@@ -99,20 +197,34 @@ public class RoomService implements IRoomService {
     @Override
     public Response updateRoom(Long roomId, String description, String roomType, BigDecimal roomPrice, MultipartFile photo) {
         Response response = new Response();
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = null;
 
         try {
-            String imageUrl = null;
-            if (photo != null && !photo.isEmpty()) {
-                imageUrl = awsS3Service.saveImageToS3(photo);
-            }
             long resolvedRoomId = requireRoomId(roomId);
             Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
-            if (roomType != null) room.setRoomType(roomType);
-            if (roomPrice != null) room.setRoomPrice(roomPrice);
-            if (description != null) room.setRoomDescription(description);
-            if (imageUrl != null) room.setRoomPhotoUrl(imageUrl);
-
-            Room savedRoom = Objects.requireNonNull(roomRepository.save(room), "Room save returned null");
+            if (photo != null && !photo.isEmpty()) {
+                // The current photo stays in place until the new one has been uploaded
+                stagedPhoto = photoIngestion.stage(photo);
+            }
+            // The loaded room is left untouched so that no flush writes it back as a whole; only the
+            // columns edited here are written, the photo columns belong to the photo ingestion
+            RoomType type = roomType != null ? roomTypeRegistry.resolve(roomType) : room.getType();
+            roomRepository.updateDetails(resolvedRoomId, type,
+                    roomType != null ? type.getName() : room.getRoomType(),
+                    roomPrice != null ? roomPrice : room.getRoomPrice(),
+                    description != null ? description : room.getRoomDescription());
+            if (stagedPhoto != null) {
+                roomRepository.updatePhotoStatus(resolvedRoomId, Room.PhotoStatus.PENDING);
+            }
+            Room savedRoom = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
+            // Published before the upload starts, as in addNewRoom
+            availabilityIndex.putRoom(savedRoom);
+            roomCatalog.putRoom(savedRoom);
+            catalogVersion.roomsChanged();
+            if (stagedPhoto != null) {
+                response.setPhotoUpload(photoIngestion.submit(savedRoom.getId(), stagedPhoto));
+                stagedPhoto = null;
+            }
             RoomDTO roomDTO = Utils.mapRoomEntityToRoomDTO(savedRoom);
 
             response.setStatusCode(200);
@@ -122,21 +234,71 @@ public class RoomService implements IRoomService {
         } catch (OurException e) {
             response.setStatusCode(404);
             response.setMessage(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            response.setStatusCode(503);
+            response.setMessage(e.getMessage());
         } catch (Exception e) {
             response.setStatusCode(500);
             response.setMessage("Error saving a room " + e.getMessage());
+        } finally {
+            if (stagedPhoto != null) {
+                photoIngestion.discard(stagedPhoto);
+            }
         }
         return response;
     }
 
     @Override
+    public Response getPhotoUploadStatus(Long roomId) {
+        Response response = new Response();
+
+        try {
+            long resolvedRoomId = requireRoomId(roomId);
+            PhotoUploadDTO photoUpload = photoIngestion.getUpload(resolvedRoomId).orElse(null);
+            if (photoUpload == null) {
+                // No upload since the last restart: report what the room row says
+                Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
+                photoUpload = new PhotoUploadDTO();
+                photoUpload.setRoomId(room.getId());
+                photoUpload.setStatus(room.getPhotoStatus() != null ? room.getPhotoStatus().name() : Room.PhotoStatus.READY.name());
+                photoUpload.setRoomPhotoUrl(room.getRoomPhotoUrl());
+            }
+            response.setStatusCode(200);
+            response.setMessage("successful");
+            response.setPhotoUpload(photoUpload);
+
+        } catch (OurException e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting photo upload status " + e.getMessage());
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Response getRoomById(Long roomId) {
         Response response = new Response();
 
         try {
             long resolvedRoomId = requireRoomId(roomId);
-            Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
-            RoomDTO roomDTO = Utils.mapRoomEntityToRoomDTOPlusBookings(room);
+            // A room missing from the snapshot, e.g. one just added through another instance,
+            // is looked up in the database
+            RoomDTO roomDTO = roomCatalog.isReady() ? roomCatalog.findRoom(resolvedRoomId).orElse(null) : null;
+            if (roomDTO != null) {
+                // Only the bookings are read from the database, as flat rows
+                roomDTO.setBookings(bookingRepository.findRoomBookingsByRoomId(resolvedRoomId).stream()
+                        .map(Utils::mapRoomBookingRowToBookingDTO)
+                        .collect(Collectors.toList()));
+            } else {
+                Room room = roomRepository.findById(resolvedRoomId).orElseThrow(() -> new OurException("Room Not Found"));
+                roomDTO = Utils.mapRoomEntityToRoomDTOPlusBookings(room);
+            }
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setRoom(roomDTO);
@@ -156,8 +318,13 @@ public class RoomService implements IRoomService {
         Response response = new Response();
 
         try {
-            List<Room> availableRooms = roomRepository.findAvailableRoomsByDatesAndTypes(checkInDate, checkOutDate, roomType);
-            List<RoomDTO> roomDTOList = Utils.mapRoomListEntityToRoomListDTO(availableRooms);
+            List<RoomDTO> roomDTOList;
+            if (availabilityIndex.isReady()) {
+                roomDTOList = availabilityIndex.findAvailableRooms(checkInDate, checkOutDate, roomType);
+            } else {
+                roomDTOList = readOnly(() -> Utils.mapRoomListEntityToRoomListDTO(
+                        findAvailableRoomsInDatabase(checkInDate, checkOutDate, roomType)));
+            }
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setRoomList(roomDTOList);
@@ -169,13 +336,55 @@ public class RoomService implements IRoomService {
         return response;
     }
 
+    @Override
+    public Response checkAvailabilityIndexConsistency(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        Response response = new Response();
+
+        try {
+            if (!availabilityIndex.isReady()) {
+                throw new OurException("Availability index has not been built yet");
+            }
+            Set<Long> indexedRoomIds = availabilityIndex.findAvailableRoomIds(checkInDate, checkOutDate, roomType);
+            Set<Long> databaseRoomIds = findAvailableRoomsInDatabase(checkInDate, checkOutDate, roomType)
+                    .stream()
+                    .map(Room::getId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            Set<Long> missingFromIndex = new TreeSet<>(databaseRoomIds);
+            missingFromIndex.removeAll(indexedRoomIds);
+            Set<Long> extraInIndex = new TreeSet<>(indexedRoomIds);
+            extraInIndex.removeAll(databaseRoomIds);
+
+            response.setStatusCode(200);
+            if (missingFromIndex.isEmpty() && extraInIndex.isEmpty()) {
+                response.setMessage("consistent");
+            } else {
+                response.setMessage("inconsistent: missing from index " + missingFromIndex + ", only in index " + extraInIndex);
+            }
+
+        } catch (OurException e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error checking availability index " + e.getMessage());
+        }
+        return response;
+    }
+
     @Override
     public Response getAllAvailableRooms() {
         Response response = new Response();
 
         try {
-            List<Room> roomList = roomRepository.getAllAvailableRooms();
-            List<RoomDTO> roomDTOList = Utils.mapRoomListEntityToRoomListDTO(roomList);
+            // Available means free from today on: past and cancelled bookings do not count
+            LocalDate today = LocalDate.now();
+            List<RoomDTO> roomDTOList;
+            if (availabilityIndex.isReady()) {
+                roomDTOList = availabilityIndex.findRoomsFreeFrom(today);
+            } else {
+                roomDTOList = readOnly(() -> Utils.mapRoomListEntityToRoomListDTO(roomRepository.getAllAvailableRooms(today)));
+            }
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setRoomList(roomDTOList);
@@ -190,6 +399,26 @@ public class RoomService implements IRoomService {
         return response;
     }
 
+    // A blank type matches every room; a type no room has ever had matches none
+    private List<Room> findAvailableRoomsInDatabase(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        // The same nights that saveBooking would check: a same-day stay holds its check-in night
+        LocalDate occupiedUntil = Booking.occupiedUntil(checkInDate, checkOutDate);
+        if (roomType == null || roomType.isBlank()) {
+            return roomRepository.findAvailableRoomsByDates(checkInDate, occupiedUntil);
+        }
+        return roomTypeRegistry.findTypeId(roomType)
+                .map(roomTypeId -> roomRepository.findAvailableRoomsByDatesAndTypeId(checkInDate, occupiedUntil, roomTypeId))
+                .orElse(List.of());
+    }
+
+    // Only the database fallbacks open a transaction, so an answer from the index borrows no connection
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // Served by the read replica when one is configured
+        return ReplicaReads.call(() -> transaction.execute(status -> work.get()));
+    }
+
     private long requireRoomId(Long roomId) {
         if (roomId == null) {
             throw new OurException("Room identifier is required");
@@ -1,23 +1,32 @@
 package com.hotelbooking.hotelmanagement.service.impl;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.hotelmanagement.dto.LoginRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.dto.UserDTO;
 import com.hotelbooking.hotelmanagement.entity.User;
 import com.hotelbooking.hotelmanagement.exception.OurException;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.CustomUserDetailsService;
+import com.hotelbooking.hotelmanagement.service.DashboardCounters;
+import com.hotelbooking.hotelmanagement.service.RoomAvailabilityIndex;
+import com.hotelbooking.hotelmanagement.service.RoomCatalogVersion;
 import com.hotelbooking.hotelmanagement.service.interfac.IUserService;
 import com.hotelbooking.hotelmanagement.utils.JWTUtils;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
 import com.hotelbooking.hotelmanagement.utils.Utils;
 
 @Service
@@ -27,9 +36,19 @@ public class UserService implements IUserService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JWTUtils jwtUtils;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
     @Override
     public Response register(User user) {
         Response response = new Response();
@@ -41,7 +60,11 @@ public class UserService implements IUserService {
                 throw new OurException(user.getEmail() + "Already Exists");
             }
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-            User savedUser = userRepository.save(user);
+            User savedUser = dashboardCounters.mutate(() -> {
+                User saved = userRepository.save(user);
+                dashboardCounters.userAdded(saved.getRole());
+                return saved;
+            });
             UserDTO userDTO = Utils.mapUserEntityToUserDTO(savedUser);
             response.setStatusCode(200);
             response.setUser(userDTO);
@@ -121,11 +144,20 @@ public class UserService implements IUserService {
     }
 
     @Override
-    public Response getAllUsers() {
+    @Transactional(readOnly = true)
+    public Response getAllUsers(Long after, Integer limit) {
 
         Response response = new Response();
         try {
-            List<User> userList = userRepository.findAll();
+            int pageSize = KeysetCursor.clampLimit(limit);
+            // One row more than the page tells whether another page follows
+            List<User> userList = after == null
+                    ? userRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                    : userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+            if (userList.size() > pageSize) {
+                userList = userList.subList(0, pageSize);
+                response.setNextCursor(String.valueOf(userList.get(pageSize - 1).getId()));
+            }
             List<UserDTO> userDTOList = Utils.mapUserListEntityToUserListDTO(userList);
             response.setStatusCode(200);
             response.setMessage("successful");
@@ -144,6 +176,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getUserBookingHistory(String userId) {
 
         Response response = new Response();
@@ -152,7 +185,11 @@ public class UserService implements IUserService {
         try {
             long resolvedUserId = resolveUserId(userId);
             User user = userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
-            UserDTO userDTO = Utils.mapUserEntityToUserDTOPlusUserBookingsAndRoom(user);
+            UserDTO userDTO = Utils.mapUserEntityToUserDTO(user);
+            // One projection query for the whole history instead of walking user.getBookings()
+            userDTO.setBookings(bookingRepository.findHistoryByUserId(resolvedUserId).stream()
+                    .map(Utils::mapBookingHistoryRowToBookingDTO)
+                    .collect(Collectors.toList()));
             response.setStatusCode(200);
             response.setMessage("successful");
             response.setUser(userDTO);
@@ -180,8 +217,25 @@ public class UserService implements IUserService {
 
         try {
             long resolvedUserId = resolveUserId(userId);
-            userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
-            userRepository.deleteById(resolvedUserId);
+            User user = userRepository.findById(resolvedUserId).orElseThrow(() -> new OurException("User Not Found"));
+            // The user's bookings are removed by cascade, so release their dates in the index as well
+            List<BookingRepository.CascadedBookingRow> cascadedBookings = dashboardCounters.mutate(() -> {
+                List<BookingRepository.CascadedBookingRow> bookings =
+                        bookingRepository.findCascadedBookingsByUserId(resolvedUserId);
+                userRepository.deleteById(resolvedUserId);
+                dashboardCounters.userRemoved(user.getRole());
+                bookings.forEach(dashboardCounters::bookingRemoved);
+                return bookings;
+            });
+            customUserDetailsService.evictUser(user.getEmail());
+            for (BookingRepository.CascadedBookingRow booking : cascadedBookings) {
+                if (booking.getRoomId() != null) {
+                    availabilityIndex.removeBooking(booking.getRoomId(), booking.getBookingId());
+                }
+            }
+            if (!cascadedBookings.isEmpty()) {
+                catalogVersion.bookingsChanged();
+            }
             response.setStatusCode(200);
             response.setMessage("successful");
 
@@ -202,6 +256,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getUserById(String userId) {
 
         Response response = new Response();
@@ -231,6 +286,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getMyInfo(String email) {
 
         Response response = new Response();
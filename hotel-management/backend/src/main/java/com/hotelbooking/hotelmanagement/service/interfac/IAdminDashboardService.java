@@ -4,5 +4,14 @@ import com.hotelbooking.hotelmanagement.dto.Response;
 
 public interface IAdminDashboardService {
     Response getDashboardStatistics();
-}
 
+    Response getDashboardSummary();
+
+    Response getUsersPage(String sort, String direction, String after, Integer limit);
+
+    Response getBookingsPage(String sort, String direction, String after, Integer limit);
+
+    Response getRoomsPage(String sort, String direction, String after, Integer limit);
+
+    Response getPaymentsPage(String sort, String direction, String after, Integer limit);
+}
@@ -1,5 +1,6 @@
 package com.hotelbooking.hotelmanagement.service.interfac;
 
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.entity.Booking;
 
@@ -7,9 +8,11 @@ public interface IBookingService {
 
     Response saveBooking(Long roomId, Long userId, Booking bookingRequest);
 
+    Response saveGroupBooking(Long userId, GroupBookingRequest groupRequest);
+
     Response findBookingByConfirmationCode(String confirmationCode);
 
-    Response getAllBookings();
+    Response getAllBookings(Long after, Integer limit);
 
     Response cancelBooking(Long bookingId);
 
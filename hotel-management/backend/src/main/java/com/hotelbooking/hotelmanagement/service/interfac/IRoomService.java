@@ -14,16 +14,22 @@ public interface IRoomService {
 
     List<String> getAllRoomTypes();
 
-    Response getAllRooms();
+    List<String> suggestRoomTypes(String prefix, Integer limit);
+
+    Response getAllRooms(Long after, Integer limit);
 
     Response deleteRoom(Long roomId);
 
     Response updateRoom(Long roomId, String description, String roomType, BigDecimal roomPrice, MultipartFile photo);
 
+    Response getPhotoUploadStatus(Long roomId);
+
     Response getRoomById(Long roomId);
 
     Response getAvailableRoomsByDataAndType(LocalDate checkInDate, LocalDate checkOutDate, String roomType);
 
+    Response checkAvailabilityIndexConsistency(LocalDate checkInDate, LocalDate checkOutDate, String roomType);
+
     Response getAllAvailableRooms();
 }
 
@@ -9,7 +9,7 @@ public interface IUserService {
 
     Response login(LoginRequest loginRequest);
 
-    Response getAllUsers();
+    Response getAllUsers(Long after, Integer limit);
 
     Response getUserBookingHistory(String userId);
 
@@ -0,0 +1,82 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Small thread-safe cache whose entries carry their own expiry instant and whose size is
+ * bounded. Expired entries are never returned. When the cache is full, expired entries are
+ * purged first and, if that is not enough, arbitrary entries are evicted, which is good
+ * enough for caches whose values can always be recomputed.
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public ExpiringCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public ExpiringCache(int maxEntries, Clock clock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (maxEntries == 0 || expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = clock.millis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        // Still full: drop about a tenth of the entries rather than one per insert
+        Iterator<K> keys = entries.keySet().iterator();
+        int toEvict = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        while (toEvict-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Downscales photos with the JDK's ImageIO and Java 2D only.
+ *
+ * The source is never decoded at full resolution: the reader subsamples it while decoding
+ * to between one and two times the largest requested size, which for a 24 megapixel photo
+ * cuts the decoded raster from ~72MB to under 5MB, and the final step is a bilinear
+ * scale from that intermediate image. Smaller sizes are scaled from the larger result
+ * rather than decoded again.
+ */
+public class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Writes one JPEG per requested size (the longest side in pixels, largest first) and
+     * returns, per size, whether a file was written. Nothing is written for a size that is
+     * not smaller than the source, the original serves for it. Throws IOException when
+     * the source is not an image ImageIO can decode.
+     */
+    public static boolean[] writeJpegVariants(File source, int[] maxDimensions, File[] targets, float quality) throws IOException {
+        boolean[] written = new boolean[maxDimensions.length];
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longestSide = Math.max(width, height);
+                int largest = maxDimensions[0];
+                if (maxDimensions[maxDimensions.length - 1] >= longestSide) {
+                    return written;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Decodes at one to two times the largest size: never below it, so the
+                // final scale only ever shrinks
+                int subsampling = Math.max(1, longestSide / largest);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+
+                for (int i = 0; i < maxDimensions.length; i++) {
+                    if (maxDimensions[i] >= longestSide) {
+                        continue;
+                    }
+                    image = scale(image, maxDimensions[i]);
+                    writeJpeg(image, targets[i], quality);
+                    written[i] = true;
+                }
+                return written;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        // JPEG has no alpha channel, transparent areas become white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    static void writeJpeg(BufferedImage image, File target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
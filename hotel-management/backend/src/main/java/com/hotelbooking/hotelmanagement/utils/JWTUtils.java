@@ -2,16 +2,21 @@ package com.hotelbooking.hotelmanagement.utils;
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
 
 @Service
 public class JWTUtils {
@@ -20,12 +25,25 @@ public class JWTUtils {
     private static final long EXPIRATION_TIME = 1000 * 60 * 24 * 7; //for 7 days
 
     private final SecretKey Key;
+    private final JwtParser parser;
+
+    // Tokens whose signature and expiry were already checked, keyed by the SHA-256 of the token
+    private final ExpiringCache<String, VerifiedToken> verifiedTokens;
+    private final long cacheTtlMillis;
 
     public JWTUtils() {
+        this(10_000, Duration.ofMinutes(10));
+    }
+
+    @Autowired
+    public JWTUtils(@Value("${jwt.verified-cache.max-entries:10000}") int cacheMaxEntries,
+                    @Value("${jwt.verified-cache.ttl:PT10M}") Duration cacheTtl) {
         String secreteString = "843567893696976453275974432697R634976R738467TR678T34865R6834R8763T478378637664538745673865783678548735687R3";
         byte[] keyBytes = Base64.getDecoder().decode(secreteString.getBytes(StandardCharsets.UTF_8));
         this.Key = new SecretKeySpec(keyBytes, "HmacSHA256");
-
+        this.parser = Jwts.parser().verifyWith(Key).build();
+        this.verifiedTokens = new ExpiringCache<>(cacheMaxEntries);
+        this.cacheTtlMillis = cacheTtl.toMillis();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -37,21 +55,42 @@ public class JWTUtils {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token, Claims::getSubject);
+    /**
+     * Verifies the token once and returns the claims the application needs. A token seen
+     * before is answered from the cache until it expires, without verifying its signature
+     * again. Invalid or expired tokens are never cached and throw the JJWT exception.
+     */
+    public VerifiedToken validateToken(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration());
+        long expiresAt = verified.expiration() != null ? verified.expiration().getTime() : Long.MAX_VALUE;
+        verifiedTokens.put(key, verified, Math.min(expiresAt, System.currentTimeMillis() + cacheTtlMillis));
+        return verified;
     }
 
-    private <T> T extractClaims(String token, Function<Claims, T> claimsTFunction) {
-        return claimsTFunction.apply(Jwts.parser().verifyWith(Key).build().parseSignedClaims(token).getPayload());
+    public String extractUsername(String token) {
+        return validateToken(token).subject();
     }
 
     public boolean isValidToken(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return username != null && username.equals(userDetails.getUsername());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
 
+    public record VerifiedToken(String subject, Date issuedAt, Date expiration) {
+    }
+}
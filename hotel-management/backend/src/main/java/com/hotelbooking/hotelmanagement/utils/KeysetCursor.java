@@ -0,0 +1,94 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque cursors for keyset-paginated lists. A list is ordered by one sort key and then
+ * by id, and a cursor carries the sort key name and direction together with both values of
+ * the last row returned, so the next page continues right after that row however many rows
+ * were inserted or deleted in between.
+ */
+public class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public static Sort.Direction parseDirection(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort direction: " + direction);
+        }
+    }
+
+    public static Sort sort(String sortKey, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortKey);
+        return ID.equals(sortKey) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode} for the same sort key and direction. The
+     * parser turns the serialized sort value back into the type of the entity attribute.
+     */
+    public static ScrollPosition decode(String cursor, String sortKey, Sort.Direction direction,
+                                       Function<String, Object> sortValueParser) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // The sort value sits between the direction and the id and may itself contain the separator
+        int directionStart = raw.indexOf(SEPARATOR);
+        int valueStart = directionStart < 0 ? -1 : raw.indexOf(SEPARATOR, directionStart + 1);
+        int idStart = raw.lastIndexOf(SEPARATOR);
+        if (valueStart < 0 || valueStart == idStart || !raw.substring(0, directionStart).equals(sortKey)) {
+            throw new IllegalArgumentException("Cursor does not belong to sort key " + sortKey);
+        }
+        // Replayed in the other direction the scroll would continue from the wrong side of the row
+        if (!raw.substring(directionStart + 1, valueStart).equals(direction.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to sort key " + sortKey + " in " + direction + " order");
+        }
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!ID.equals(sortKey)) {
+                keys.put(sortKey, sortValueParser.apply(raw.substring(valueStart + 1, idStart)));
+            }
+            keys.put(ID, Long.valueOf(raw.substring(idStart + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static String encode(ScrollPosition position, String sortKey, Sort.Direction direction) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        String value = String.valueOf(keys.get(sortKey));
+        String raw = sortKey + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + keys.get(ID);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
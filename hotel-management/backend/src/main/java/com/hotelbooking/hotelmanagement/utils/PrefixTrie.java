@@ -0,0 +1,90 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable, case-insensitive prefix trie over a set of names. A lookup walks one node per
+ * character of the prefix and then collects names below that node in alphabetical order,
+ * stopping as soon as the limit is reached, so it costs the same however many names there
+ * are that do not match.
+ */
+public final class PrefixTrie {
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(new Node());
+
+    private final Node root;
+
+    private PrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    public static PrefixTrie of(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EMPTY;
+        }
+        Node root = new Node();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            Node node = root;
+            for (char c : key(name).toCharArray()) {
+                node = node.children.computeIfAbsent(c, ignored -> new Node());
+            }
+            node.names.add(name);
+        }
+        return new PrefixTrie(root);
+    }
+
+    /**
+     * Up to {@code limit} names starting with {@code prefix}, ignoring case and leading
+     * blanks, in alphabetical order. A null or blank prefix matches every name.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        if (limit <= 0) {
+            return suggestions;
+        }
+        Node node = root;
+        for (char c : key(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) {
+                return suggestions;
+            }
+        }
+        collect(node, suggestions, limit);
+        return suggestions;
+    }
+
+    private static boolean collect(Node node, List<String> suggestions, int limit) {
+        for (String name : node.names) {
+            suggestions.add(name);
+            if (suggestions.size() == limit) {
+                return true;
+            }
+        }
+        for (Node child : node.children.values()) {
+            if (collect(child, suggestions, limit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.stripLeading().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        // Sorted so that a depth-first walk yields names in alphabetical order
+        private final Map<Character, Node> children = new TreeMap<>();
+        // Names that differ only in case end on the same node
+        private final TreeSet<String> names = new TreeSet<>();
+    }
+}
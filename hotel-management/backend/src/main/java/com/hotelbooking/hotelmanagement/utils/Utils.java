@@ -12,6 +12,7 @@ import com.hotelbooking.hotelmanagement.entity.Booking;
 import com.hotelbooking.hotelmanagement.entity.Payment;
 import com.hotelbooking.hotelmanagement.entity.Room;
 import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 
 public class Utils {
 
@@ -48,10 +49,29 @@ public class Utils {
         roomDTO.setRoomType(room.getRoomType());
         roomDTO.setRoomPrice(room.getRoomPrice());
         roomDTO.setRoomPhotoUrl(room.getRoomPhotoUrl());
+        roomDTO.setRoomPhotoMediumUrl(room.getRoomPhotoMediumUrl());
+        roomDTO.setRoomPhotoThumbnailUrl(room.getRoomPhotoThumbnailUrl());
         roomDTO.setRoomDescription(room.getRoomDescription());
+        if (room.getPhotoStatus() != null) {
+            roomDTO.setPhotoStatus(room.getPhotoStatus().name());
+        }
         return roomDTO;
     }
 
+    // Room fields only, for handing out DTOs kept in memory by RoomAvailabilityIndex and RoomCatalog
+    public static RoomDTO copyRoomDTO(RoomDTO source) {
+        RoomDTO copy = new RoomDTO();
+        copy.setId(source.getId());
+        copy.setRoomType(source.getRoomType());
+        copy.setRoomPrice(source.getRoomPrice());
+        copy.setRoomPhotoUrl(source.getRoomPhotoUrl());
+        copy.setRoomPhotoMediumUrl(source.getRoomPhotoMediumUrl());
+        copy.setRoomPhotoThumbnailUrl(source.getRoomPhotoThumbnailUrl());
+        copy.setPhotoStatus(source.getPhotoStatus());
+        copy.setRoomDescription(source.getRoomDescription());
+        return copy;
+    }
+
     public static BookingDTO mapBookingEntityToBookingDTO(Booking booking) {
         BookingDTO bookingDTO = new BookingDTO();
         // Map simple fields
@@ -75,7 +95,12 @@ public class Utils {
         roomDTO.setRoomType(room.getRoomType());
         roomDTO.setRoomPrice(room.getRoomPrice());
         roomDTO.setRoomPhotoUrl(room.getRoomPhotoUrl());
+        roomDTO.setRoomPhotoMediumUrl(room.getRoomPhotoMediumUrl());
+        roomDTO.setRoomPhotoThumbnailUrl(room.getRoomPhotoThumbnailUrl());
         roomDTO.setRoomDescription(room.getRoomDescription());
+        if (room.getPhotoStatus() != null) {
+            roomDTO.setPhotoStatus(room.getPhotoStatus().name());
+        }
 
         if (room.getBookings() != null) {
             roomDTO.setBookings(room.getBookings().stream().map(Utils::mapBookingEntityToBookingDTO).collect(Collectors.toList()));
@@ -117,6 +142,57 @@ public class Utils {
         return bookingDTO;
     }
 
+    public static BookingDTO mapRoomBookingRowToBookingDTO(BookingRepository.RoomBookingRow row) {
+        BookingDTO bookingDTO = new BookingDTO();
+        bookingDTO.setId(row.getId());
+        bookingDTO.setCheckInDate(row.getCheckInDate());
+        bookingDTO.setCheckOutDate(row.getCheckOutDate());
+        bookingDTO.setNumOfAdults(row.getNumOfAdults());
+        bookingDTO.setNumOfChildren(row.getNumOfChildren());
+        bookingDTO.setTotalNumOfGuest(row.getTotalNumOfGuest());
+        bookingDTO.setBookingConfirmationCode(row.getBookingConfirmationCode());
+        if (row.getStatus() != null) {
+            bookingDTO.setStatus(row.getStatus().name());
+        }
+        return bookingDTO;
+    }
+
+    public static BookingDTO mapBookingHistoryRowToBookingDTO(BookingRepository.BookingHistoryRow row) {
+
+        BookingDTO bookingDTO = new BookingDTO();
+        bookingDTO.setId(row.getId());
+        bookingDTO.setCheckInDate(row.getCheckInDate());
+        bookingDTO.setCheckOutDate(row.getCheckOutDate());
+        bookingDTO.setNumOfAdults(row.getNumOfAdults());
+        bookingDTO.setNumOfChildren(row.getNumOfChildren());
+        bookingDTO.setTotalNumOfGuest(row.getTotalNumOfGuest());
+        bookingDTO.setBookingConfirmationCode(row.getBookingConfirmationCode());
+        if (row.getStatus() != null) {
+            bookingDTO.setStatus(row.getStatus().name());
+        }
+        if (row.getRoomId() != null) {
+            RoomDTO roomDTO = new RoomDTO();
+
+            roomDTO.setId(row.getRoomId());
+            roomDTO.setRoomType(row.getRoomType());
+            roomDTO.setRoomPrice(row.getRoomPrice());
+            roomDTO.setRoomPhotoUrl(row.getRoomPhotoUrl());
+            roomDTO.setRoomDescription(row.getRoomDescription());
+            bookingDTO.setRoom(roomDTO);
+        }
+        if (row.getPaymentId() != null) {
+            PaymentDTO paymentDTO = new PaymentDTO();
+
+            paymentDTO.setId(row.getPaymentId());
+            paymentDTO.setBookingId(row.getId());
+            paymentDTO.setAmount(row.getPaymentAmount());
+            paymentDTO.setStatus(row.getPaymentStatus().name());
+            paymentDTO.setPaymentDate(row.getPaymentDate());
+            bookingDTO.setPayment(paymentDTO);
+        }
+        return bookingDTO;
+    }
+
     public static UserDTO mapUserEntityToUserDTOPlusUserBookingsAndRoom(User user) {
         UserDTO userDTO = new UserDTO();
 
@@ -0,0 +1,245 @@
+package com.hotelbooking.hotelmanagement.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private NodeService nodeService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        // Two independent in-memory databases standing in for the primary and its replica
+        DataSource primaryDataSource = database("primary");
+        DataSource replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.execute("CREATE TABLE node (name VARCHAR(20))");
+        primary.update("INSERT INTO node VALUES ('primary')");
+        replica.execute("CREATE TABLE node (name VARCHAR(20))");
+        replica.update("INSERT INTO node VALUES ('replica')");
+        // As ADD_REPLICATION_HEARTBEAT_TABLE.sql and replication would create it
+        primary.execute("CREATE TABLE replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replica.execute("CREATE TABLE replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, Duration.ofSeconds(5), clock);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor));
+        routed = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        // Proxied the way the application's services are: the ReplicaReads aspect plus
+        // the @Transactional interceptor
+        AspectJProxyFactory factory = new AspectJProxyFactory(new NodeService(routed, readOnlyTransaction));
+        factory.addAspect(new ReplicaReads());
+        factory.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager, new AnnotationTransactionAttributeSource()));
+        nodeService = factory.getProxy();
+    }
+
+    @Test
+    void testReadOnlyTransactions_UseReplicaOnceItHasCaughtUp() {
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", replicaRead());
+
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals(1_000, lagMonitor.getLagMillis());
+        assertEquals("replica", replicaRead());
+        assertEquals("primary", readWriteTransaction.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void testReadOnlyTransactions_FallBackToPrimaryWhileReplicaLags() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        assertEquals("replica", replicaRead());
+
+        clock.advance(Duration.ofSeconds(10));
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(10_000, lagMonitor.getLagMillis());
+        assertEquals("primary", replicaRead());
+
+        replicate();
+        lagMonitor.check();
+        assertEquals("replica", replicaRead());
+    }
+
+    @Test
+    void testReadOnlyTransactions_FallBackToPrimaryWhenReplicaIsUnreachable() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        replica.execute("DROP TABLE replication_heartbeat");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(-1, lagMonitor.getLagMillis());
+        assertEquals("primary", replicaRead());
+    }
+
+    @Test
+    void testHeartbeatTableMissing_KeepsReplicaUnusedWithoutCreatingIt() {
+        primary.execute("DROP TABLE replication_heartbeat");
+
+        lagMonitor.check();
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(-1, lagMonitor.getLagMillis());
+        assertEquals(0, primary.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REPLICATION_HEARTBEAT'", Integer.class));
+        assertEquals("primary", replicaRead());
+    }
+
+    @Test
+    void testServiceReadOnlyMethods_UseReplica() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+
+        assertEquals("replica", nodeService.readOnlyLookup());
+        assertFalse(ReplicaReads.isAllowed());
+    }
+
+    @Test
+    void testWritesAndTheirLookups_UsePrimary() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        // A repository findById outside a service transaction runs in a read-only
+        // transaction of its own, as in a write path that is not @Transactional
+        assertEquals("primary", nodeService.unannotatedLookup());
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+        // The same lookup inside a read-write transaction joins it
+        assertEquals("primary", nodeService.readWriteLookup());
+        assertEquals("primary", ReplicaReads.call(
+                () -> readWriteTransaction.execute(status -> readOnlyTransaction.execute(inner -> currentNode()))));
+        assertEquals("primary", nodeService.write("written"));
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM node WHERE name = 'written'", Integer.class));
+    }
+
+    private String replicaRead() {
+        return ReplicaReads.call(() -> readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return routed.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    // Copies the primary's latest heartbeat to the replica, as replication would
+    private void replicate() {
+        Long beat = primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        replica.update("MERGE INTO replication_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)", beat);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    static class NodeService {
+
+        private final JdbcTemplate jdbcTemplate;
+        // Stands in for the read-only transaction Spring Data opens around an inherited findById
+        private final TransactionTemplate repositoryTransaction;
+
+        NodeService(JdbcTemplate jdbcTemplate, TransactionTemplate repositoryTransaction) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.repositoryTransaction = repositoryTransaction;
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnlyLookup() {
+            return findNode();
+        }
+
+        @Transactional
+        public String readWriteLookup() {
+            return findNode();
+        }
+
+        public String unannotatedLookup() {
+            return findNode();
+        }
+
+        public String write(String name) {
+            String node = findNode();
+            jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+            return node;
+        }
+
+        private String findNode() {
+            return repositoryTransaction.execute(
+                    status -> jdbcTemplate.queryForObject("SELECT name FROM node FETCH FIRST 1 ROWS ONLY", String.class));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,14 +2,21 @@ package com.hotelbooking.hotelmanagement.controller;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -23,11 +30,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.security.SecurityConfig;
+import com.hotelbooking.hotelmanagement.service.BookingExporter;
+import com.hotelbooking.hotelmanagement.service.CustomUserDetailsService;
 import com.hotelbooking.hotelmanagement.service.interfac.IBookingService;
+import com.hotelbooking.hotelmanagement.utils.JWTUtils;
 
 @WebMvcTest(BookingController.class)
+@Import(SecurityConfig.class)
 @SuppressWarnings("null")
 class BookingControllerTest {
 
@@ -37,6 +50,16 @@ class BookingControllerTest {
     @MockitoBean
     private IBookingService bookingService;
 
+    @MockitoBean
+    private BookingExporter bookingExporter;
+
+    // Needed by the JWTAuthFilter and SecurityConfig of the security setup
+    @MockitoBean
+    private JWTUtils jwtUtils;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -70,6 +93,59 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.bookingConfirmationCode").value("ABC123"));
     }
 
+    @Test
+    @WithMockUser(authorities = "USER")
+    void testSaveGroupBooking_Success() throws Exception {
+        // Given
+        GroupBookingRequest groupRequest = new GroupBookingRequest();
+        groupRequest.setRoomIds(List.of(1L, 2L));
+        groupRequest.setCheckInDate(LocalDate.now().plusDays(1));
+        groupRequest.setCheckOutDate(LocalDate.now().plusDays(3));
+        groupRequest.setNumOfAdults(2);
+
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("successful");
+        response.setBookingList(List.of(new BookingDTO(), new BookingDTO()));
+
+        when(bookingService.saveGroupBooking(anyLong(), any(GroupBookingRequest.class)))
+                .thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/bookings/book-rooms/1")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(groupRequest))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusCode").value(200))
+                .andExpect(jsonPath("$.bookingList.length()").value(2));
+
+        ArgumentCaptor<GroupBookingRequest> bound = ArgumentCaptor.forClass(GroupBookingRequest.class);
+        verify(bookingService).saveGroupBooking(eq(1L), bound.capture());
+        assertEquals(List.of(1L, 2L), bound.getValue().getRoomIds());
+        assertEquals(groupRequest.getCheckInDate(), bound.getValue().getCheckInDate());
+        assertEquals(groupRequest.getCheckOutDate(), bound.getValue().getCheckOutDate());
+        assertEquals(2, bound.getValue().getNumOfAdults());
+    }
+
+    @Test
+    @WithMockUser(authorities = "GUEST")
+    void testSaveGroupBooking_ForbiddenWithoutUserRole() throws Exception {
+        // Given
+        GroupBookingRequest groupRequest = new GroupBookingRequest();
+        groupRequest.setRoomIds(List.of(1L, 2L));
+        groupRequest.setCheckInDate(LocalDate.now().plusDays(1));
+        groupRequest.setCheckOutDate(LocalDate.now().plusDays(3));
+
+        // When & Then
+        mockMvc.perform(post("/bookings/book-rooms/1")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(groupRequest))
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+        verify(bookingService, never()).saveGroupBooking(anyLong(), any(GroupBookingRequest.class));
+    }
+
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testSaveBooking_AsAdmin() throws Exception {
@@ -109,7 +185,7 @@ class BookingControllerTest {
         response.setMessage("successful");
         response.setBookingList(Arrays.asList(bookingDTO));
 
-        when(bookingService.getAllBookings()).thenReturn(response);
+        when(bookingService.getAllBookings(null, null)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(get("/bookings/all")
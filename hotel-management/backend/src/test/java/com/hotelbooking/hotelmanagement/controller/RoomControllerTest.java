@@ -9,9 +9,15 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -21,23 +27,40 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.security.SecurityConfig;
+import com.hotelbooking.hotelmanagement.service.CustomUserDetailsService;
+import com.hotelbooking.hotelmanagement.service.RoomCatalogVersion;
 import com.hotelbooking.hotelmanagement.service.interfac.IRoomService;
+import com.hotelbooking.hotelmanagement.utils.JWTUtils;
 
 @WebMvcTest(RoomController.class)
+@Import({RoomCatalogVersion.class, SecurityConfig.class})
 @SuppressWarnings("null")
 class RoomControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private RoomCatalogVersion catalogVersion;
+
     @MockitoBean
     private IRoomService roomService;
 
+    // Needed by the JWTAuthFilter and SecurityConfig of the security setup
+    @MockitoBean
+    private JWTUtils jwtUtils;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testAddNewRoom_Success() throws Exception {
@@ -91,7 +114,7 @@ class RoomControllerTest {
         response.setMessage("successful");
         response.setRoomList(Arrays.asList(roomDTO));
 
-        when(roomService.getAllRooms()).thenReturn(response);
+        when(roomService.getAllRooms(null, null)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(get("/rooms/all"))
@@ -113,6 +136,90 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$[1]").value("Standard"));
     }
 
+    @Test
+    void testSuggestRoomTypes_Success() throws Exception {
+        // Given
+        when(roomService.suggestRoomTypes("de", 5)).thenReturn(Arrays.asList("Deluxe", "Deluxe Suite"));
+
+        // When & Then
+        mockMvc.perform(get("/rooms/types/suggest").param("prefix", "de").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.rooms().etag()))
+                .andExpect(jsonPath("$[0]").value("Deluxe"))
+                .andExpect(jsonPath("$[1]").value("Deluxe Suite"));
+    }
+
+    @Test
+    void testSuggestRoomTypes_NotModifiedUntilCatalogChanges() throws Exception {
+        // Given
+        when(roomService.suggestRoomTypes("de", null)).thenReturn(List.of("Deluxe"));
+        String etag = catalogVersion.rooms().etag();
+
+        // When & Then
+        mockMvc.perform(get("/rooms/types/suggest").param("prefix", "de").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(roomService, never()).suggestRoomTypes(any(), any());
+
+        catalogVersion.roomsChanged();
+        mockMvc.perform(get("/rooms/types/suggest").param("prefix", "de").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.rooms().etag()))
+                .andExpect(jsonPath("$[0]").value("Deluxe"));
+    }
+
+    @Test
+    void testGetAllRooms_NotModifiedWithoutCallingService() throws Exception {
+        // Given
+        String etag = catalogVersion.rooms().etag();
+
+        // When & Then
+        mockMvc.perform(get("/rooms/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(roomService, never()).getAllRooms(any(), any());
+    }
+
+    @Test
+    void testGetAllRooms_ServedAgainOnceCatalogChanges() throws Exception {
+        // Given
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("successful");
+        response.setRoomList(List.of());
+        when(roomService.getAllRooms(null, null)).thenReturn(response);
+        String etag = catalogVersion.rooms().etag();
+        catalogVersion.roomsChanged();
+
+        // When & Then
+        mockMvc.perform(get("/rooms/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.rooms().etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    void testGetRoomById_NotModifiedUntilBookingsChange() throws Exception {
+        // Given
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("successful");
+        response.setRoom(new RoomDTO());
+        when(roomService.getRoomById(1L)).thenReturn(response);
+        String etag = catalogVersion.roomsWithBookings().etag();
+
+        // When & Then
+        mockMvc.perform(get("/rooms/room-by-id/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(roomService, never()).getRoomById(anyLong());
+
+        catalogVersion.bookingsChanged();
+        mockMvc.perform(get("/rooms/room-by-id/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
     @Test
     void testGetRoomById_Success() throws Exception {
         // Given
@@ -205,7 +312,8 @@ class RoomControllerTest {
         response.setMessage("successful");
         response.setRoom(roomDTO);
 
-        when(roomService.updateRoom(anyLong(), anyString(), anyString(), any(BigDecimal.class), any()))
+        // No description is sent, so none is passed on
+        when(roomService.updateRoom(eq(1L), isNull(), eq("Suite"), eq(new BigDecimal("200.00")), any()))
                 .thenReturn(response);
 
         // When & Then
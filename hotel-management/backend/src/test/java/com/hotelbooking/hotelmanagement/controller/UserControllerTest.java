@@ -43,7 +43,7 @@ class UserControllerTest {
         response.setMessage("successful");
         response.setUserList(Arrays.asList(userDTO));
 
-        when(userService.getAllUsers()).thenReturn(response);
+        when(userService.getAllUsers(null, null)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(get("/users/all")
@@ -0,0 +1,126 @@
+package com.hotelbooking.hotelmanagement.integration;
+
+import com.hotelbooking.hotelmanagement.HotelManagementApplication;
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.interfac.IBookingService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Time to admit one stay in ROOMS rooms, once as ROOMS saveBooking calls and once as a
+ * single saveGroupBooking call, against an in-memory database. Every iteration books a new
+ * week so that no request is turned away; the first WARMUP_ITERATIONS are discarded. A
+ * database over the network widens the gap, since each saveBooking pays its own round
+ * trips and commit. Run with {@code mvn test -Pbenchmark -Dtest=GroupBookingBenchmarkTest}.
+ */
+@Tag("benchmark")
+class GroupBookingBenchmarkTest {
+
+    private static final int ROOMS = 50;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int ITERATIONS = 40;
+    private static final LocalDate FIRST_WEEK = LocalDate.now().plusDays(7);
+
+    @Test
+    void benchmarkGroupAdmission() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelManagementApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:group-booking-benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN")) {
+            IBookingService bookingService = context.getBean(IBookingService.class);
+            List<Long> roomIds = seedRooms(context.getBean(RoomRepository.class));
+            Long userId = seedUser(context.getBean(UserRepository.class));
+
+            long singleNanos = 0;
+            long groupNanos = 0;
+            int week = 0;
+            for (int iteration = 0; iteration < WARMUP_ITERATIONS + ITERATIONS; iteration++) {
+                LocalDate singleCheckIn = FIRST_WEEK.plusWeeks(week++);
+                long started = System.nanoTime();
+                for (Long roomId : roomIds) {
+                    Booking request = new Booking();
+                    request.setCheckInDate(singleCheckIn);
+                    request.setCheckOutDate(singleCheckIn.plusDays(3));
+                    request.setNumOfAdults(2);
+                    assertEquals(200, bookingService.saveBooking(roomId, userId, request).getStatusCode());
+                }
+                long single = System.nanoTime() - started;
+
+                LocalDate groupCheckIn = FIRST_WEEK.plusWeeks(week++);
+                GroupBookingRequest groupRequest = new GroupBookingRequest();
+                groupRequest.setRoomIds(roomIds);
+                groupRequest.setCheckInDate(groupCheckIn);
+                groupRequest.setCheckOutDate(groupCheckIn.plusDays(3));
+                groupRequest.setNumOfAdults(2);
+                started = System.nanoTime();
+                Response response = bookingService.saveGroupBooking(userId, groupRequest);
+                long group = System.nanoTime() - started;
+                assertEquals(200, response.getStatusCode(), response.getMessage());
+                assertEquals(ROOMS, response.getBookingList().size());
+
+                if (iteration >= WARMUP_ITERATIONS) {
+                    singleNanos += single;
+                    groupNanos += group;
+                }
+            }
+
+            // All-or-nothing: a group that reuses a booked week admits none of its rooms
+            BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+            long bookingsBefore = bookingRepository.count();
+            GroupBookingRequest clash = new GroupBookingRequest();
+            clash.setRoomIds(roomIds);
+            clash.setCheckInDate(FIRST_WEEK.plusDays(1));
+            clash.setCheckOutDate(FIRST_WEEK.plusDays(2));
+            clash.setNumOfAdults(1);
+            assertEquals(404, bookingService.saveGroupBooking(userId, clash).getStatusCode());
+            assertEquals(bookingsBefore, bookingRepository.count());
+
+            double singleMillis = singleNanos / 1_000_000.0 / ITERATIONS;
+            double groupMillis = groupNanos / 1_000_000.0 / ITERATIONS;
+            System.out.printf("%d rooms for one stay: %d x saveBooking %.2f ms, saveGroupBooking %.2f ms (%.1fx)%n",
+                    ROOMS, ROOMS, singleMillis, groupMillis, singleMillis / groupMillis);
+
+            assertTrue(groupMillis < singleMillis,
+                    "Group admission took " + groupMillis + " ms, single calls " + singleMillis + " ms");
+        }
+    }
+
+    private static List<Long> seedRooms(RoomRepository roomRepository) {
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("Type " + i % 5);
+            room.setRoomPrice(new BigDecimal("100.00"));
+            rooms.add(room);
+        }
+        return roomRepository.saveAll(rooms).stream().map(Room::getId).toList();
+    }
+
+    private static Long seedUser(UserRepository userRepository) {
+        User user = new User();
+        user.setName("Group Organiser");
+        user.setEmail("group@example.com");
+        user.setPhoneNumber("1234567890");
+        user.setPassword("$2a$10$storedhash");
+        user.setRole("USER");
+        return userRepository.save(user).getId();
+    }
+}
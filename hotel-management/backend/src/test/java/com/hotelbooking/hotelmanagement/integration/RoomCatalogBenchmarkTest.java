@@ -0,0 +1,135 @@
+package com.hotelbooking.hotelmanagement.integration;
+
+import com.hotelbooking.hotelmanagement.HotelManagementApplication;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.service.RoomCatalog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures {@code GET /rooms/all} throughput with 1 to 32 concurrent readers, once with the
+ * catalog served from the database and once from the RoomCatalog snapshot. Each mode runs
+ * in its own application on a random port with an in-memory database of ROOMS rooms, so
+ * the database side is cheaper here than against MySQL over the network. Run with {@code mvn test -Pbenchmark -Dtest=RoomCatalogBenchmarkTest}.
+ */
+@Tag("benchmark")
+class RoomCatalogBenchmarkTest {
+
+    private static final int ROOMS = 200;
+    private static final int PAGE_SIZE = 100;
+    private static final int[] READERS = {1, 8, 32};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    @Test
+    void benchmarkRoomListThroughput() throws Exception {
+        // Both modes share one JVM, so the first round only warms up the JIT and is discarded
+        double[] snapshot = null;
+        double[] database = null;
+        for (int round = 0; round < 2; round++) {
+            snapshot = measure(true);
+            database = measure(false);
+        }
+
+        System.out.println("readers | database (req/s) | snapshot (req/s) | speedup");
+        for (int i = 0; i < READERS.length; i++) {
+            System.out.printf("%7d | %16.0f | %16.0f | %6.2fx%n", READERS[i], database[i], snapshot[i], snapshot[i] / database[i]);
+        }
+
+        int busiest = READERS.length - 1;
+        assertTrue(snapshot[busiest] > database[busiest],
+                "Snapshot served " + snapshot[busiest] + " req/s, the database " + database[busiest] + " req/s");
+    }
+
+    private double[] measure(boolean snapshotEnabled) throws Exception {
+        String mode = snapshotEnabled ? "snapshot" : "database";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelManagementApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:room-catalog-" + mode,
+                        "--room.catalog.enabled=" + snapshotEnabled,
+                        "--logging.level.root=WARN")) {
+            seedRooms(context.getBean(RoomRepository.class));
+            if (snapshotEnabled) {
+                context.getBean(RoomCatalog.class).reload();
+            }
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/rooms/all?limit=" + PAGE_SIZE);
+
+            double[] throughput = new double[READERS.length];
+            for (int i = 0; i < READERS.length; i++) {
+                run(uri, READERS[i], WARMUP);
+                throughput[i] = run(uri, READERS[i], MEASUREMENT) / (MEASUREMENT.toMillis() / 1000.0);
+            }
+            return throughput;
+        }
+    }
+
+    // Requests completed by the readers within the given time
+    private long run(URI uri, int readers, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(readers);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    started.await();
+                    long completed = 0;
+                    while (!stop.get()) {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        assertEquals(200, response.statusCode());
+                        completed++;
+                    }
+                    return completed;
+                }));
+            }
+            started.await();
+            Thread.sleep(duration.toMillis());
+            stop.set(true);
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+            client.close();
+        }
+    }
+
+    private static void seedRooms(RoomRepository roomRepository) {
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("Type " + (i % 5));
+            room.setRoomPrice(new BigDecimal("100.00").add(BigDecimal.valueOf(i)));
+            room.setRoomDescription("Benchmark room " + i + " with a description of typical length for the catalog");
+            room.setRoomPhotoUrl("https://example.com/rooms/" + i + ".jpg");
+            rooms.add(room);
+        }
+        roomRepository.saveAll(rooms);
+    }
+}
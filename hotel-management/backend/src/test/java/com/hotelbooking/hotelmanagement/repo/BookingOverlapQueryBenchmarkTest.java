@@ -0,0 +1,103 @@
+package com.hotelbooking.hotelmanagement.repo;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the booking availability check as a room's history grows from 10 to 100k
+ * bookings, comparing the indexed existence query with loading Room.bookings.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class BookingOverlapQueryBenchmarkTest {
+
+    private static final int[] HISTORY_SIZES = {10, 1_000, 10_000, 100_000};
+    private static final int QUERY_ITERATIONS = 2_000;
+    private static final int COLLECTION_ITERATIONS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void benchmarkOverlapCheckAgainstHistorySize() {
+        LocalDate today = LocalDate.now();
+        LocalDate checkIn = today.plusDays(10);
+        LocalDate checkOut = today.plusDays(12);
+        List<double[]> results = new ArrayList<>();
+
+        for (int historySize : HISTORY_SIZES) {
+            Room room = new Room();
+            room.setRoomType("Benchmark");
+            room.setRoomPrice(new BigDecimal("100.00"));
+            entityManager.persist(room);
+            entityManager.flush();
+            insertPastBookings(room.getId(), historySize, today);
+            entityManager.clear();
+
+            for (int i = 0; i < 200; i++) {
+                bookingRepository.existsActiveOverlap(room.getId(), checkIn, checkOut);
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < QUERY_ITERATIONS; i++) {
+                assertFalse(bookingRepository.existsActiveOverlap(room.getId(), checkIn, checkOut));
+            }
+            double queryMicros = (System.nanoTime() - started) / 1_000.0 / QUERY_ITERATIONS;
+
+            started = System.nanoTime();
+            for (int i = 0; i < COLLECTION_ITERATIONS; i++) {
+                entityManager.clear();
+                Room loaded = entityManager.find(Room.class, room.getId());
+                assertEquals(historySize, loaded.getBookings().size());
+            }
+            double collectionMicros = (System.nanoTime() - started) / 1_000.0 / COLLECTION_ITERATIONS;
+            entityManager.clear();
+
+            results.add(new double[]{historySize, queryMicros, collectionMicros});
+        }
+
+        System.out.println("history size | existsActiveOverlap (us) | load Room.bookings (us)");
+        for (double[] row : results) {
+            System.out.printf("%12d | %24.1f | %23.1f%n", (long) row[0], row[1], row[2]);
+        }
+
+        double smallest = results.get(0)[1];
+        double largest = results.get(results.size() - 1)[1];
+        assertTrue(largest < smallest * 10,
+                "Overlap query latency grew from " + smallest + "us to " + largest + "us with history size");
+    }
+
+    private void insertPastBookings(Long roomId, int count, LocalDate today) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate checkOut = today.minusDays(2L * i + 1);
+            rows.add(new Object[]{roomId, Date.valueOf(checkOut.minusDays(1)), Date.valueOf(checkOut),
+                    i % 10 == 0 ? Booking.BookingStatus.CANCELLED.name() : Booking.BookingStatus.CONFIRMED.name()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (room_id, check_in_date, check_out_date, status, num_of_adults, num_of_children, total_num_of_guest)" +
+                        " VALUES (?, ?, ?, ?, 1, 0, 1)", rows);
+    }
+}
@@ -7,13 +7,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ActiveProfiles("test")
 class BookingRepositoryTest {
 
     @Autowired
@@ -58,6 +62,75 @@ class BookingRepositoryTest {
         assertEquals(savedRoom.getId(), found.get().getRoom().getId());
     }
 
+    @Test
+    void testExistsActiveOverlap_SameDayBookingHoldsItsNight() {
+        // Given
+        LocalDate day = LocalDate.now().plusDays(5);
+        Room room = persistRoomWithBooking(day, day, Booking.BookingStatus.CONFIRMED);
+
+        // Then
+        assertTrue(bookingRepository.existsActiveOverlap(room.getId(), day, day.plusDays(2)));
+        assertTrue(bookingRepository.existsActiveOverlap(room.getId(), day.minusDays(1), day.plusDays(1)));
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), day.plusDays(1), day.plusDays(3)));
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), day.minusDays(2), day));
+    }
+
+    @Test
+    void testExistsActiveOverlap_NightsAreHalfOpen() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        Room room = persistRoomWithBooking(checkIn, checkIn.plusDays(3), Booking.BookingStatus.CONFIRMED);
+
+        // Then
+        assertTrue(bookingRepository.existsActiveOverlap(room.getId(), checkIn.plusDays(2), checkIn.plusDays(4)));
+        assertTrue(bookingRepository.existsActiveOverlap(room.getId(), checkIn.minusDays(1), checkIn.plusDays(1)));
+        // Checking in on the previous guest's check-out day, or out on their check-in day, is fine
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), checkIn.plusDays(3), checkIn.plusDays(5)));
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), checkIn.minusDays(2), checkIn));
+    }
+
+    @Test
+    void testExistsActiveOverlap_MissingCheckOutHoldsCheckInNight() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        Room room = persistRoomWithBooking(checkIn, null, Booking.BookingStatus.CONFIRMED);
+
+        // Then
+        assertTrue(bookingRepository.existsActiveOverlap(room.getId(), checkIn, checkIn.plusDays(1)));
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), checkIn.plusDays(1), checkIn.plusDays(2)));
+    }
+
+    @Test
+    void testExistsActiveOverlap_IgnoresCancelledBookings() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        Room room = persistRoomWithBooking(checkIn, checkIn.plusDays(3), Booking.BookingStatus.CANCELLED);
+
+        // Then
+        assertFalse(bookingRepository.existsActiveOverlap(room.getId(), checkIn, checkIn.plusDays(3)));
+    }
+
+    @Test
+    void testFindRoomIdsWithActiveOverlap_MatchesExistsActiveOverlap() {
+        // Given
+        LocalDate day = LocalDate.now().plusDays(5);
+        Room sameDay = persistRoomWithBooking(day, day, Booking.BookingStatus.CONFIRMED);
+        Room noCheckOut = persistRoomWithBooking(day, null, Booking.BookingStatus.CONFIRMED);
+        Room leavesThatDay = persistRoomWithBooking(day.minusDays(2), day, Booking.BookingStatus.CONFIRMED);
+        Room cancelled = persistRoomWithBooking(day, day.plusDays(2), Booking.BookingStatus.CANCELLED);
+        List<Long> roomIds = List.of(sameDay.getId(), noCheckOut.getId(), leavesThatDay.getId(), cancelled.getId());
+
+        // When
+        List<Long> taken = bookingRepository.findRoomIdsWithActiveOverlap(roomIds, day, day.plusDays(2));
+
+        // Then
+        assertEquals(Set.of(sameDay.getId(), noCheckOut.getId()), Set.copyOf(taken));
+        for (Long roomId : roomIds) {
+            assertEquals(taken.contains(roomId), bookingRepository.existsActiveOverlap(roomId, day, day.plusDays(2)));
+        }
+        assertTrue(bookingRepository.findRoomIdsWithActiveOverlap(roomIds, day.plusDays(1), day.plusDays(3)).isEmpty());
+    }
+
     @Test
     void testFindByBookingConfirmationCode_NotFound() {
         // When
@@ -138,5 +211,30 @@ class BookingRepositoryTest {
         Optional<Booking> found = bookingRepository.findById(bookingId);
         assertFalse(found.isPresent());
     }
-}
 
+    private Room persistRoomWithBooking(LocalDate checkIn, LocalDate checkOut, Booking.BookingStatus status) {
+        User user = new User();
+        user.setEmail("guest" + checkIn + checkOut + status + "@example.com");
+        user.setName("Guest");
+        user.setPassword("password123");
+        user.setPhoneNumber("1234567890");
+        user.setRole("USER");
+        entityManager.persist(user);
+
+        Room room = new Room();
+        room.setRoomType("Deluxe");
+        room.setRoomPrice(new java.math.BigDecimal("150.00"));
+        entityManager.persist(room);
+
+        Booking booking = new Booking();
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setNumOfAdults(1);
+        booking.setBookingConfirmationCode("OVERLAP" + room.getId());
+        booking.setStatus(status);
+        booking.setUser(user);
+        booking.setRoom(room);
+        entityManager.persistAndFlush(booking);
+        return room;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -118,7 +119,7 @@ class RoomRepositoryTest {
         entityManager.persistAndFlush(room2);
 
         // When
-        List<Room> availableRooms = roomRepository.getAllAvailableRooms();
+        List<Room> availableRooms = roomRepository.getAllAvailableRooms(LocalDate.now());
 
         // Then
         assertNotNull(availableRooms);
@@ -0,0 +1,173 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.dto.UserDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.impl.AdminDashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the dashboard summary and keyset-paginated lists against the test database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AdminDashboardService.class, DashboardCounters.class})
+@SuppressWarnings("null")
+class AdminDashboardServiceTest {
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        Room room = new Room();
+        room.setRoomType("Deluxe");
+        room.setRoomPrice(new BigDecimal("100.00"));
+        roomRepository.save(room);
+
+        for (int i = 0; i < 7; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + (7 - i) + "@example.com");
+            user.setPhoneNumber("12345678" + i);
+            user.setPassword("password");
+            user.setRole(i == 0 ? "ADMIN" : "USER");
+            userRepository.save(user);
+
+            Booking booking = new Booking();
+            booking.setRoom(room);
+            booking.setUser(user);
+            // Two bookings share each check-in date so that the id tie-breaker is exercised
+            booking.setCheckInDate(LocalDate.now().plusDays(10 - i / 2));
+            booking.setCheckOutDate(booking.getCheckInDate().plusDays(1));
+            booking.setNumOfAdults(1);
+            booking.setBookingConfirmationCode("CODE" + i);
+            bookings.add(bookingRepository.save(booking));
+        }
+        // Rows were inserted through the repositories, so load the counters from the database
+        dashboardCounters.reconcile();
+    }
+
+    @Test
+    void testGetDashboardSummary_ContainsCountsOnly() {
+        Response response = adminDashboardService.getDashboardSummary();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(7L, response.getDashboard().getTotalUsers());
+        assertEquals(1L, response.getDashboard().getTotalAdmins());
+        assertEquals(7L, response.getDashboard().getTotalBookings());
+        assertEquals(1L, response.getDashboard().getBookedRooms());
+    }
+
+    @Test
+    void testGetDashboardStatistics_SameCountersAsSummary() {
+        Response statistics = adminDashboardService.getDashboardStatistics();
+
+        assertEquals(200, statistics.getStatusCode());
+        assertEquals(adminDashboardService.getDashboardSummary().getDashboard(), statistics.getDashboard());
+    }
+
+    @Test
+    void testGetBookingsPage_WalksAllPagesBySortKey() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Response response = adminDashboardService.getBookingsPage("checkInDate", "desc", cursor, 3);
+            assertEquals(200, response.getStatusCode());
+            assertTrue(response.getBookingList().size() <= 3);
+            response.getBookingList().stream().map(BookingDTO::getId).forEach(seen::add);
+            cursor = response.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getCheckInDate).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .toList();
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testGetUsersPage_SortsByEmail() {
+        Response first = adminDashboardService.getUsersPage("email", null, null, 4);
+        Response second = adminDashboardService.getUsersPage("email", null, first.getNextCursor(), 4);
+
+        List<String> emails = new ArrayList<>();
+        first.getUserList().stream().map(UserDTO::getEmail).forEach(emails::add);
+        second.getUserList().stream().map(UserDTO::getEmail).forEach(emails::add);
+        assertEquals(List.of("user1@example.com", "user2@example.com", "user3@example.com", "user4@example.com",
+                "user5@example.com", "user6@example.com", "user7@example.com"), emails);
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetUsersPage_ClampsLimit() {
+        Response response = adminDashboardService.getUsersPage(null, null, null, 0);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.getUserList().size());
+        assertNotNull(response.getNextCursor());
+    }
+
+    @Test
+    void testGetRoomsPage_RejectsUnknownSortKey() {
+        Response response = adminDashboardService.getRoomsPage("roomDescription", null, null, null);
+
+        assertEquals(400, response.getStatusCode());
+    }
+
+    @Test
+    void testGetBookingsPage_RejectsCursorOfOtherSortKey() {
+        String idCursor = adminDashboardService.getBookingsPage("id", null, null, 2).getNextCursor();
+
+        Response response = adminDashboardService.getBookingsPage("checkInDate", null, idCursor, 2);
+
+        assertEquals(400, response.getStatusCode());
+    }
+
+    @Test
+    void testGetBookingsPage_RejectsCursorOfOtherDirection() {
+        String ascendingCursor = adminDashboardService.getBookingsPage("checkInDate", "asc", null, 2).getNextCursor();
+
+        Response response = adminDashboardService.getBookingsPage("checkInDate", "desc", ascendingCursor, 2);
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals("Cursor does not belong to sort key checkInDate in DESC order", response.getMessage());
+    }
+}
@@ -0,0 +1,177 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.hotelbooking.hotelmanagement.config.AwsS3Config;
+import com.hotelbooking.hotelmanagement.config.AwsS3Properties;
+import com.hotelbooking.hotelmanagement.exception.OurException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class AwsS3ServiceTest {
+
+    @Mock
+    private TransferManager transferManager;
+
+    @Mock
+    private Upload upload;
+
+    @Spy
+    private AwsS3Properties awsS3Properties = new AwsS3Properties();
+
+    @InjectMocks
+    private AwsS3Service awsS3Service;
+
+    private File photo;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() throws Exception {
+        awsS3Properties.setBucket("test-bucket");
+        // Not an image, so only the original is uploaded
+        photo = File.createTempFile("room-photo-", ".png");
+        photo.deleteOnExit();
+        Files.write(photo.toPath(), new byte[2048]);
+    }
+
+    @Test
+    void testSaveImageVariantsToS3_UploadsOriginalFromFile() throws Exception {
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(upload);
+
+        AwsS3Service.PhotoUrls urls = awsS3Service.saveImageVariantsToS3(photo, "room.png", "image/png");
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(transferManager).upload(request.capture());
+        verify(upload).waitForCompletion();
+        assertEquals("test-bucket", request.getValue().getBucketName());
+        assertEquals("room.png", request.getValue().getKey());
+        assertEquals(photo, request.getValue().getFile());
+        assertEquals("image/png", request.getValue().getMetadata().getContentType());
+        assertEquals("https://test-bucket.s3.amazonaws.com/room.png", urls.originalUrl());
+    }
+
+    @Test
+    void testSaveImageVariantsToS3_UsesPublicUrlOfCustomEndpoint() {
+        awsS3Properties.setPublicUrl("http://localhost:9000/test-bucket");
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(upload);
+
+        assertEquals("http://localhost:9000/test-bucket/room.png",
+                awsS3Service.saveImageVariantsToS3(photo, "room.png", "image/png").originalUrl());
+    }
+
+    @Test
+    void testSaveImageVariantsToS3_Interrupted() throws Exception {
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(upload);
+        doThrow(new InterruptedException()).when(upload).waitForCompletion();
+
+        assertThrows(OurException.class, () -> awsS3Service.saveImageVariantsToS3(photo, "room.png", "image/png"));
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void testSaveImageVariantsToS3_UploadsDownscaledCopiesNextToOriginal() throws Exception {
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(upload);
+        File original = File.createTempFile("room-photo-", ".jpg");
+        try {
+            ImageIO.write(new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB), "jpeg", original);
+
+            AwsS3Service.PhotoUrls urls = awsS3Service.saveImageVariantsToS3(original, "suite.jpg", "image/jpeg");
+
+            ArgumentCaptor<PutObjectRequest> requests = ArgumentCaptor.forClass(PutObjectRequest.class);
+            verify(transferManager, times(3)).upload(requests.capture());
+            verify(upload, times(3)).waitForCompletion();
+            assertEquals(List.of("suite.jpg", "suite-medium.jpg", "suite-thumb.jpg"),
+                    requests.getAllValues().stream().map(PutObjectRequest::getKey).toList());
+            assertEquals("https://test-bucket.s3.amazonaws.com/suite.jpg", urls.originalUrl());
+            assertEquals("https://test-bucket.s3.amazonaws.com/suite-medium.jpg", urls.mediumUrl());
+            assertEquals("https://test-bucket.s3.amazonaws.com/suite-thumb.jpg", urls.thumbnailUrl());
+        } finally {
+            original.delete();
+        }
+    }
+
+    @Test
+    void testSaveImageVariantsToS3_StoresOnlyOriginalWhenNotAnImage() throws Exception {
+        when(transferManager.upload(any(PutObjectRequest.class))).thenReturn(upload);
+        File original = File.createTempFile("room-photo-", ".jpg");
+        try {
+            Files.write(original.toPath(), new byte[]{1, 2, 3});
+
+            AwsS3Service.PhotoUrls urls = awsS3Service.saveImageVariantsToS3(original, "broken.jpg", "image/jpeg");
+
+            verify(transferManager, times(1)).upload(any(PutObjectRequest.class));
+            assertEquals(urls.originalUrl(), urls.mediumUrl());
+            assertEquals(urls.originalUrl(), urls.thumbnailUrl());
+        } finally {
+            original.delete();
+        }
+    }
+
+    /**
+     * Round trip against a real S3-compatible store, e.g. the MinIO service of docker-compose:
+     * S3_TEST_ENDPOINT=http://localhost:9000 S3_TEST_BUCKET=phegon-hotel-mongo mvn test -Dtest=AwsS3ServiceTest
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "S3_TEST_ENDPOINT", matches = ".+")
+    void testSaveImageVariantsToS3_MultipartUploadAgainstS3CompatibleStore() throws Exception {
+        AwsS3Properties properties = new AwsS3Properties();
+        properties.setEndpoint(System.getenv("S3_TEST_ENDPOINT"));
+        properties.setBucket(System.getenv().getOrDefault("S3_TEST_BUCKET", "phegon-hotel-mongo"));
+        properties.setAccessKey(System.getenv().getOrDefault("S3_TEST_ACCESS_KEY", "minioadmin"));
+        properties.setSecretKey(System.getenv().getOrDefault("S3_TEST_SECRET_KEY", "minioadmin"));
+        properties.setPathStyleAccess(true);
+        properties.setMultipartThreshold(5L * 1024 * 1024);
+        properties.setMultipartPartSize(5L * 1024 * 1024);
+
+        AwsS3Config config = new AwsS3Config();
+        ReflectionTestUtils.setField(config, "properties", properties);
+        AmazonS3 amazonS3 = config.amazonS3();
+        TransferManager realTransferManager = config.transferManager(amazonS3);
+        AwsS3Service service = new AwsS3Service();
+        ReflectionTestUtils.setField(service, "awsS3Properties", properties);
+        ReflectionTestUtils.setField(service, "transferManager", realTransferManager);
+
+        // Large enough to be split into three parts
+        byte[] content = new byte[12 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+        String key = "upload-test-" + System.nanoTime() + ".jpg";
+        File upload = File.createTempFile("upload-test-", ".jpg");
+        try {
+            Files.write(upload.toPath(), content);
+            service.saveImageVariantsToS3(upload, key, "image/jpeg");
+
+            try (S3Object stored = amazonS3.getObject(properties.getBucket(), key)) {
+                assertEquals(content.length, stored.getObjectMetadata().getContentLength());
+                assertArrayEquals(content, stored.getObjectContent().readAllBytes());
+            }
+        } finally {
+            amazonS3.deleteObject(properties.getBucket(), key);
+            realTransferManager.shutdownNow();
+            upload.delete();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bookings export against the test database, with more bookings than one fetch so
+ * that clearing the persistence context between batches is exercised.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookingExporter.class, JacksonAutoConfiguration.class})
+@SuppressWarnings("null")
+class BookingExporterTest {
+
+    private static final int BOOKINGS = BookingRepository.EXPORT_FETCH_SIZE * 2 + 7;
+
+    @Autowired
+    private BookingExporter bookingExporter;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        Room room = new Room();
+        room.setRoomType("Suite, \"Deluxe\"");
+        room.setRoomPrice(new BigDecimal("250.00"));
+        roomRepository.save(room);
+
+        User user = new User();
+        user.setName("=HYPERLINK(\"http://example.com\")");
+        user.setEmail("guest@example.com");
+        user.setPhoneNumber("1234567890");
+        user.setPassword("password");
+        user.setRole("USER");
+        userRepository.save(user);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setRoom(room);
+            booking.setUser(user);
+            booking.setCheckInDate(LocalDate.of(2030, 1, 1).plusDays(i));
+            booking.setCheckOutDate(booking.getCheckInDate().plusDays(2));
+            booking.setNumOfAdults(2);
+            booking.setBookingConfirmationCode("CODE" + i);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        Payment payment = new Payment();
+        payment.setBooking(bookings.get(0));
+        payment.setAmount(new BigDecimal("500.00"));
+        payment.setStatus(Payment.PaymentStatus.SUCCESS);
+        paymentRepository.save(payment);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExport_NdjsonWritesOneBookingPerLine() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = bookingExporter.export(BookingExporter.Format.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(BOOKINGS, written);
+        assertEquals(BOOKINGS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("CODE0", first.get("bookingConfirmationCode").asText());
+        assertEquals("2030-01-01", first.get("checkInDate").asText());
+        assertEquals("guest@example.com", first.get("user").get("email").asText());
+        assertEquals("Suite, \"Deluxe\"", first.get("room").get("roomType").asText());
+        assertEquals("SUCCESS", first.get("payment").get("status").asText());
+        assertFalse(first.get("user").has("bookings"));
+        JsonNode last = objectMapper.readTree(lines[BOOKINGS - 1]);
+        assertEquals("CODE" + (BOOKINGS - 1), last.get("bookingConfirmationCode").asText());
+        assertFalse(last.has("payment"));
+    }
+
+    @Test
+    void testExport_CsvQuotesFieldsAndNeutralizesFormulas() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = bookingExporter.export(BookingExporter.Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(BOOKINGS, written);
+        assertEquals(BOOKINGS + 1, lines.length);
+        assertTrue(lines[0].startsWith("id,bookingConfirmationCode,status,checkInDate"));
+        assertTrue(lines[1].contains(",CODE0,CONFIRMED,2030-01-01,2030-01-03,2,0,2,"));
+        assertTrue(lines[1].contains(",\"Suite, \"\"Deluxe\"\"\",250.00,"));
+        assertTrue(lines[1].contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\",guest@example.com,"));
+        assertTrue(lines[1].contains(",500.00,SUCCESS,"));
+    }
+
+    @Test
+    void testFormatParse_RejectsUnknownFormat() {
+        assertEquals(BookingExporter.Format.NDJSON, BookingExporter.Format.parse(null));
+        assertEquals(BookingExporter.Format.CSV, BookingExporter.Format.parse("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> BookingExporter.Format.parse("xml"));
+    }
+}
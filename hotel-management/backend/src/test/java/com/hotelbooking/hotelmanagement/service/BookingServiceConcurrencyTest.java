@@ -0,0 +1,261 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.impl.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Fires overlapping saveBooking and saveGroupBooking calls for a handful of rooms from many
+ * threads and checks that no two admitted bookings of the same room overlap.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@SuppressWarnings("null")
+class BookingServiceConcurrencyTest {
+
+    private static final int ROOMS = 20;
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 250;
+    private static final LocalDate BASE = LocalDate.now().plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    // Real counters, so that the writes run inside mutate
+    @Spy
+    private DashboardCounters dashboardCounters = new DashboardCounters();
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RoomBookingLocks roomBookingLocks = new RoomBookingLocks(64);
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final Map<Long, Room> rooms = new HashMap<>();
+    private final AtomicLong bookingIds = new AtomicLong();
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        for (long id = 1; id <= ROOMS; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setRoomType("Deluxe");
+            room.setRoomPrice(new BigDecimal("100.00"));
+            room.setBookings(new CopyOnWriteArrayList<>());
+            rooms.put(id, room);
+        }
+        User user = new User();
+        user.setId(1L);
+
+        when(roomRepository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rooms.get(invocation.<Long>getArgument(0))));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookingRepository.existsActiveOverlap(anyLong(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation -> {
+            LocalDate checkIn = invocation.getArgument(1);
+            LocalDate checkOut = invocation.getArgument(2);
+            return rooms.get(invocation.<Long>getArgument(0)).getBookings().stream()
+                    .anyMatch(b -> b.getCheckInDate().isBefore(checkOut) && b.getCheckOutDate().isAfter(checkIn));
+        });
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            // Widen the window between the availability check and the insert
+            Thread.yield();
+            booking.setId(bookingIds.incrementAndGet());
+            booking.getRoom().getBookings().add(booking);
+            return booking;
+        });
+        when(roomRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(rooms::get).toList());
+        when(bookingRepository.findRoomIdsWithActiveOverlap(anyCollection(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation -> {
+            LocalDate checkIn = invocation.getArgument(1);
+            LocalDate checkOut = invocation.getArgument(2);
+            return invocation.<Collection<Long>>getArgument(0).stream()
+                    .filter(roomId -> rooms.get(roomId).getBookings().stream()
+                            .anyMatch(b -> b.getCheckInDate().isBefore(checkOut) && b.getCheckOutDate().isAfter(checkIn)))
+                    .toList();
+        });
+        doAnswer(invocation -> {
+            Thread.yield();
+            for (Booking booking : invocation.<List<Booking>>getArgument(0)) {
+                booking.setId(bookingIds.incrementAndGet());
+                booking.getRoom().getBookings().add(booking);
+            }
+            return null;
+        }).when(bookingRepository).insertAll(anyList());
+    }
+
+    @Test
+    void testConcurrentOverlappingBookings_NeverDoubleBookARoom() throws Exception {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    long roomId = random.nextLong(1, ROOMS + 1);
+                    LocalDate checkIn = BASE.plusDays(random.nextInt(60));
+                    Booking request = new Booking();
+                    request.setCheckInDate(checkIn);
+                    request.setCheckOutDate(checkIn.plusDays(random.nextInt(1, 5)));
+                    request.setNumOfAdults(1);
+
+                    Response response = bookingService.saveBooking(roomId, 1L, request);
+                    if (response.getStatusCode() == 200) {
+                        admitted.incrementAndGet();
+                    } else if (response.getStatusCode() == 404) {
+                        rejected.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        int total = THREADS * REQUESTS_PER_THREAD;
+        System.out.printf("saveBooking stress: %d requests on %d threads in %d ms (%.0f req/s), %d admitted, %d rejected%n",
+                total, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                total / (elapsedNanos / 1_000_000_000.0), admitted.get(), rejected.get());
+
+        assertEquals(0, failed.get());
+        assertEquals(total, admitted.get() + rejected.get());
+        assertTrue(admitted.get() > 0);
+        for (Room room : rooms.values()) {
+            assertNoOverlaps(room);
+        }
+    }
+
+    @Test
+    void testConcurrentGroupAndSingleBookings_NeverDoubleBookOrDeadlock() throws Exception {
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    LocalDate checkIn = BASE.plusDays(random.nextInt(60));
+                    LocalDate checkOut = checkIn.plusDays(random.nextInt(1, 5));
+                    Response response;
+                    if (random.nextBoolean()) {
+                        // Room sets in random order, so the lock order is down to RoomBookingLocks
+                        GroupBookingRequest request = new GroupBookingRequest();
+                        request.setRoomIds(random.longs(1, ROOMS + 1).distinct().limit(random.nextInt(2, 6)).boxed().toList());
+                        request.setCheckInDate(checkIn);
+                        request.setCheckOutDate(checkOut);
+                        request.setNumOfAdults(1);
+                        response = bookingService.saveGroupBooking(1L, request);
+                    } else {
+                        Booking request = new Booking();
+                        request.setCheckInDate(checkIn);
+                        request.setCheckOutDate(checkOut);
+                        request.setNumOfAdults(1);
+                        response = bookingService.saveBooking(random.nextLong(1, ROOMS + 1), 1L, request);
+                    }
+                    if (response.getStatusCode() == 200) {
+                        admitted.incrementAndGet();
+                    } else if (response.getStatusCode() != 404) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(0, failed.get());
+        assertTrue(admitted.get() > 0);
+        for (Room room : rooms.values()) {
+            assertNoOverlaps(room);
+        }
+    }
+
+    private static void assertNoOverlaps(Room room) {
+        List<Booking> bookings = room.getBookings();
+        for (int i = 0; i < bookings.size(); i++) {
+            for (int j = i + 1; j < bookings.size(); j++) {
+                Booking a = bookings.get(i);
+                Booking b = bookings.get(j);
+                boolean overlap = a.getCheckInDate().isBefore(b.getCheckOutDate())
+                        && b.getCheckInDate().isBefore(a.getCheckOutDate());
+                assertFalse(overlap, "Room " + room.getId() + " double booked: " + a + " and " + b);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotelbooking.hotelmanagement.service;
 
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.entity.Booking;
 import com.hotelbooking.hotelmanagement.entity.Room;
@@ -13,9 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,6 +26,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,6 +46,22 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    // Real counters, so that the writes run inside mutate
+    @Spy
+    private DashboardCounters dashboardCounters = new DashboardCounters();
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RoomBookingLocks roomBookingLocks = new RoomBookingLocks(16);
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -103,6 +124,30 @@ class BookingServiceTest {
         verify(roomRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).findById(1L);
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(availabilityIndex, times(1)).addBooking(1L, 1L, checkIn, checkOut);
+        verify(bookingRepository, times(1)).existsActiveOverlap(1L, checkIn, checkOut);
+        verify(dashboardCounters, times(1)).bookingAdded(1L, Booking.BookingStatus.CONFIRMED);
+        verify(catalogVersion, times(1)).bookingsChanged();
+    }
+
+    @Test
+    void testSaveBooking_SameDayStayChecksCheckInNight() {
+        // Given
+        LocalDate day = LocalDate.now().plusDays(5);
+        Booking bookingRequest = new Booking();
+        bookingRequest.setCheckInDate(day);
+        bookingRequest.setCheckOutDate(day);
+
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.existsActiveOverlap(1L, day, day.plusDays(1))).thenReturn(true);
+
+        // When
+        Response response = bookingService.saveBooking(1L, 1L, bookingRequest);
+
+        // Then
+        assertEquals(404, response.getStatusCode());
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -161,17 +206,14 @@ class BookingServiceTest {
     @Test
     void testSaveBooking_RoomNotAvailable() {
         // Given
-        Booking existingBooking = new Booking();
-        existingBooking.setCheckInDate(LocalDate.now().plusDays(1));
-        existingBooking.setCheckOutDate(LocalDate.now().plusDays(3));
-        testRoom.setBookings(Arrays.asList(existingBooking));
-
         Booking bookingRequest = new Booking();
         bookingRequest.setCheckInDate(LocalDate.now().plusDays(2)); // Overlaps with existing
         bookingRequest.setCheckOutDate(LocalDate.now().plusDays(4));
 
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.existsActiveOverlap(1L, bookingRequest.getCheckInDate(), bookingRequest.getCheckOutDate()))
+                .thenReturn(true);
 
         // When
         Response response = bookingService.saveBooking(1L, 1L, bookingRequest);
@@ -182,12 +224,111 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
+    @Test
+    void testSaveGroupBooking_Success() {
+        // Given
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        secondRoom.setRoomType("Suite");
+        secondRoom.setRoomPrice(new BigDecimal("250.00"));
+        GroupBookingRequest request = groupRequest(List.of(1L, 2L));
+
+        when(roomRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(secondRoom, testRoom));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(10L + i);
+            }
+            return null;
+        }).when(bookingRepository).insertAll(anyList());
+
+        // When
+        Response response = bookingService.saveGroupBooking(1L, request);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, response.getBookingList().size());
+        assertEquals(1L, response.getBookingList().get(0).getRoom().getId());
+        assertEquals(2L, response.getBookingList().get(1).getRoom().getId());
+        assertNotNull(response.getBookingList().get(0).getBookingConfirmationCode());
+        assertEquals(2, response.getBookingList().get(1).getTotalNumOfGuest());
+        verify(bookingRepository, times(1)).findRoomIdsWithActiveOverlap(Set.of(1L, 2L),
+                request.getCheckInDate(), request.getCheckOutDate());
+        verify(bookingRepository, never()).existsActiveOverlap(anyLong(), any(), any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(availabilityIndex, times(1)).addBooking(1L, 10L, request.getCheckInDate(), request.getCheckOutDate());
+        verify(availabilityIndex, times(1)).addBooking(2L, 11L, request.getCheckInDate(), request.getCheckOutDate());
+        verify(catalogVersion, times(1)).bookingsChanged();
+    }
+
+    @Test
+    void testSaveGroupBooking_OneRoomTakenBooksNone() {
+        // Given
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        GroupBookingRequest request = groupRequest(List.of(1L, 2L));
+
+        when(roomRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(testRoom, secondRoom));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findRoomIdsWithActiveOverlap(Set.of(1L, 2L), request.getCheckInDate(), request.getCheckOutDate()))
+                .thenReturn(List.of(2L));
+
+        // When
+        Response response = bookingService.saveGroupBooking(1L, request);
+
+        // Then
+        assertEquals(404, response.getStatusCode());
+        assertEquals("Rooms not Available for selected date range: [2]", response.getMessage());
+        verify(bookingRepository, never()).insertAll(anyList());
+        verify(transactionManager, times(1)).rollback(any());
+        verifyNoInteractions(availabilityIndex, catalogVersion);
+        verify(dashboardCounters, never()).bookingAdded(any(), any());
+    }
+
+    @Test
+    void testSaveGroupBooking_RoomNotFound() {
+        // Given
+        when(roomRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(testRoom));
+
+        // When
+        Response response = bookingService.saveGroupBooking(1L, groupRequest(List.of(1L, 99L)));
+
+        // Then
+        assertEquals(404, response.getStatusCode());
+        assertEquals("Room Not Found", response.getMessage());
+        verify(bookingRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testSaveGroupBooking_InvalidRequests() {
+        GroupBookingRequest duplicateRooms = groupRequest(List.of(1L, 1L));
+        GroupBookingRequest noRooms = groupRequest(List.of());
+        GroupBookingRequest tooManyRooms = groupRequest(LongStream.rangeClosed(1, 101).boxed().toList());
+        GroupBookingRequest noAdults = groupRequest(List.of(1L));
+        noAdults.setNumOfAdults(0);
+
+        for (GroupBookingRequest request : List.of(duplicateRooms, noRooms, tooManyRooms, noAdults)) {
+            assertEquals(400, bookingService.saveGroupBooking(1L, request).getStatusCode());
+        }
+        verifyNoInteractions(roomRepository, bookingRepository, transactionManager);
+    }
+
+    private static GroupBookingRequest groupRequest(List<Long> roomIds) {
+        GroupBookingRequest request = new GroupBookingRequest();
+        request.setRoomIds(roomIds);
+        request.setCheckInDate(LocalDate.now().plusDays(1));
+        request.setCheckOutDate(LocalDate.now().plusDays(3));
+        request.setNumOfAdults(2);
+        return request;
+    }
+
     @Test
     void testFindBookingByConfirmationCode_Success() {
         // Given
         String confirmationCode = "ABC123";
         testBooking.setBookingConfirmationCode(confirmationCode);
-        when(bookingRepository.findByBookingConfirmationCode(confirmationCode))
+        when(bookingRepository.findWithDetailsByBookingConfirmationCode(confirmationCode))
                 .thenReturn(Optional.of(testBooking));
 
         // When
@@ -197,14 +338,14 @@ class BookingServiceTest {
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getBooking());
         assertEquals("successful", response.getMessage());
-        verify(bookingRepository, times(1)).findByBookingConfirmationCode(confirmationCode);
+        verify(bookingRepository, times(1)).findWithDetailsByBookingConfirmationCode(confirmationCode);
     }
 
     @Test
     void testFindBookingByConfirmationCode_NotFound() {
         // Given
         String confirmationCode = "INVALID";
-        when(bookingRepository.findByBookingConfirmationCode(confirmationCode))
+        when(bookingRepository.findWithDetailsByBookingConfirmationCode(confirmationCode))
                 .thenReturn(Optional.empty());
 
         // When
@@ -219,17 +360,38 @@ class BookingServiceTest {
     void testGetAllBookings_Success() {
         // Given
         List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findAll(any(Sort.class))).thenReturn(bookings);
+        when(bookingRepository.findAllByOrderByIdDesc(Limit.of(21))).thenReturn(bookings);
 
         // When
-        Response response = bookingService.getAllBookings();
+        Response response = bookingService.getAllBookings(null, null);
 
         // Then
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getBookingList());
         assertEquals(1, response.getBookingList().size());
         assertEquals("successful", response.getMessage());
-        verify(bookingRepository, times(1)).findAll(any(Sort.class));
+        assertNull(response.getNextCursor());
+        verify(bookingRepository, times(1)).findAllByOrderByIdDesc(Limit.of(21));
+    }
+
+    @Test
+    void testGetAllBookings_ReturnsCursorWhenMoreRowsFollow() {
+        // Given
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 9; id >= 7; id--) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            bookings.add(booking);
+        }
+        when(bookingRepository.findByIdLessThanOrderByIdDesc(10L, Limit.of(3))).thenReturn(bookings);
+
+        // When
+        Response response = bookingService.getAllBookings(10L, 2);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, response.getBookingList().size());
+        assertEquals("8", response.getNextCursor());
     }
 
     @Test
@@ -0,0 +1,77 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.exception.OurException;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService customUserDetailsService = new CustomUserDetailsService(100, Duration.ofMinutes(5));
+
+    private User user;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("admin@example.com");
+        user.setPassword("hashed");
+        user.setRole("ADMIN");
+    }
+
+    @Test
+    void testLoadAuthenticatedUser_CachesPrincipal() {
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = customUserDetailsService.loadAuthenticatedUser("admin@example.com");
+        AuthenticatedUser second = customUserDetailsService.loadAuthenticatedUser("admin@example.com");
+
+        assertSame(first, second);
+        assertEquals(1L, first.id());
+        assertEquals("ADMIN", first.role());
+        assertEquals("ADMIN", first.getAuthorities().iterator().next().getAuthority());
+        assertNull(first.getPassword());
+        verify(userRepository, times(1)).findByEmail("admin@example.com");
+    }
+
+    @Test
+    void testEvictUser_ReloadsChangedRole() {
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(user));
+        customUserDetailsService.loadAuthenticatedUser("admin@example.com");
+
+        user.setRole("USER");
+        customUserDetailsService.evictUser("admin@example.com");
+
+        assertEquals("USER", customUserDetailsService.loadAuthenticatedUser("admin@example.com").role());
+        verify(userRepository, times(2)).findByEmail("admin@example.com");
+    }
+
+    @Test
+    void testLoadAuthenticatedUser_UnknownUserIsNotCached() {
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(OurException.class, () -> customUserDetailsService.loadAuthenticatedUser("ghost@example.com"));
+        assertThrows(OurException.class, () -> customUserDetailsService.loadAuthenticatedUser("ghost@example.com"));
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+    }
+}
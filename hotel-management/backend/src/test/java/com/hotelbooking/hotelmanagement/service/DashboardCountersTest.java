@@ -0,0 +1,263 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class DashboardCountersTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @InjectMocks
+    private DashboardCounters dashboardCounters;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        when(userRepository.countUsersByRole()).thenReturn(List.of(roleCount("ADMIN", 1), roleCount("USER", 4)));
+        when(bookingRepository.countBookingsByStatus()).thenReturn(List.of(
+                statusCount(Booking.BookingStatus.CONFIRMED, 3), statusCount(Booking.BookingStatus.CANCELLED, 1)));
+        when(bookingRepository.countBookingsPerRoomByStatus(Booking.BookingStatus.CONFIRMED))
+                .thenReturn(List.of(roomCount(1L, 2), roomCount(2L, 1)));
+        when(roomRepository.count()).thenReturn(5L);
+        when(paymentRepository.sumPaymentsByStatus()).thenReturn(List.of(
+                statusTotal(Payment.PaymentStatus.SUCCESS, 2, "300.00"), statusTotal(Payment.PaymentStatus.FAILED, 1, "50.00")));
+        dashboardCounters.reconcile();
+    }
+
+    @Test
+    void testReconcile_LoadsTotalsFromAggregates() {
+        DashboardCounters.Snapshot snapshot = dashboardCounters.snapshot();
+
+        assertEquals(5, snapshot.totalUsers());
+        assertEquals(1, snapshot.totalAdmins());
+        assertEquals(4, snapshot.totalRegularUsers());
+        assertEquals(4, snapshot.totalBookings());
+        assertEquals(3, snapshot.confirmedBookings());
+        assertEquals(1, snapshot.cancelledBookings());
+        assertEquals(2, snapshot.bookedRooms());
+        assertEquals(3, snapshot.availableRooms());
+        assertEquals(3, snapshot.totalPayments());
+        assertEquals(new BigDecimal("350.00"), snapshot.totalRevenue());
+        assertTrue(dashboardCounters.getLastDrift().isEmpty());
+    }
+
+    @Test
+    void testBookingUpdates_TrackBookedRooms() {
+        dashboardCounters.bookingAdded(3L, Booking.BookingStatus.CONFIRMED);
+        assertEquals(3, dashboardCounters.snapshot().bookedRooms());
+
+        // Room 1 stays booked until its second confirmed booking is cancelled
+        dashboardCounters.bookingStatusChanged(1L, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.CANCELLED);
+        assertEquals(3, dashboardCounters.snapshot().bookedRooms());
+        dashboardCounters.bookingStatusChanged(1L, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.CANCELLED);
+
+        DashboardCounters.Snapshot snapshot = dashboardCounters.snapshot();
+        assertEquals(2, snapshot.bookedRooms());
+        assertEquals(5, snapshot.totalBookings());
+        assertEquals(2, snapshot.confirmedBookings());
+        assertEquals(3, snapshot.cancelledBookings());
+    }
+
+    @Test
+    void testBookingRemoved_AlsoRemovesCascadedPayment() {
+        dashboardCounters.bookingRemoved(cascadedBooking(2L, Booking.BookingStatus.CONFIRMED,
+                Payment.PaymentStatus.SUCCESS, "100.00"));
+
+        DashboardCounters.Snapshot snapshot = dashboardCounters.snapshot();
+        assertEquals(3, snapshot.totalBookings());
+        assertEquals(1, snapshot.bookedRooms());
+        assertEquals(2, snapshot.totalPayments());
+        assertEquals(new BigDecimal("200.00"), snapshot.successfulPayments());
+    }
+
+    @Test
+    void testUserUpdates() {
+        dashboardCounters.userAdded("USER");
+        dashboardCounters.userRoleChanged("USER", "ADMIN");
+        dashboardCounters.userRemoved("USER");
+
+        DashboardCounters.Snapshot snapshot = dashboardCounters.snapshot();
+        assertEquals(5, snapshot.totalUsers());
+        assertEquals(2, snapshot.totalAdmins());
+        assertEquals(3, snapshot.totalRegularUsers());
+    }
+
+    @Test
+    void testReconcile_ReportsAndCorrectsDrift() {
+        // A booking and a payment that no hook reported
+        when(bookingRepository.countBookingsByStatus()).thenReturn(List.of(
+                statusCount(Booking.BookingStatus.CONFIRMED, 4), statusCount(Booking.BookingStatus.CANCELLED, 1)));
+        when(paymentRepository.sumPaymentsByStatus()).thenReturn(List.of(
+                statusTotal(Payment.PaymentStatus.SUCCESS, 3, "420.00"), statusTotal(Payment.PaymentStatus.FAILED, 1, "50.00")));
+
+        Map<String, String> drift = dashboardCounters.reconcile();
+
+        assertEquals(Map.of("totalBookings", "1", "confirmedBookings", "1", "totalPayments", "1",
+                "successfulPaymentCount", "1", "successfulPayments", "120.00"), drift);
+        assertEquals(drift, dashboardCounters.getLastDrift());
+        assertEquals(5, dashboardCounters.snapshot().totalBookings());
+        assertEquals(new BigDecimal("470.00"), dashboardCounters.snapshot().totalRevenue());
+    }
+
+    @Test
+    void testReconcile_WaitsForWriteAndItsHook() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch reportHook = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> mutation = executor.submit(() -> dashboardCounters.mutate(() -> {
+                // The room is in the database, its hook has not run yet
+                when(roomRepository.count()).thenReturn(6L);
+                written.countDown();
+                awaitLatch(reportHook);
+                dashboardCounters.roomAdded();
+            }));
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+
+            Future<Map<String, String>> recount = executor.submit(() -> dashboardCounters.reconcile());
+            assertThrows(TimeoutException.class, () -> recount.get(200, TimeUnit.MILLISECONDS));
+            reportHook.countDown();
+            mutation.get(5, TimeUnit.SECONDS);
+
+            assertTrue(recount.get(5, TimeUnit.SECONDS).isEmpty());
+            assertEquals(6, dashboardCounters.snapshot().totalRooms());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static UserRepository.RoleCount roleCount(String role, long total) {
+        return new UserRepository.RoleCount() {
+            @Override
+            public String getRole() {
+                return role;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static BookingRepository.StatusCount statusCount(Booking.BookingStatus status, long total) {
+        return new BookingRepository.StatusCount() {
+            @Override
+            public Booking.BookingStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static BookingRepository.RoomCount roomCount(Long roomId, long total) {
+        return new BookingRepository.RoomCount() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static BookingRepository.CascadedBookingRow cascadedBooking(Long roomId, Booking.BookingStatus status,
+                                                                        Payment.PaymentStatus paymentStatus, String paymentAmount) {
+        return new BookingRepository.CascadedBookingRow() {
+            @Override
+            public Long getBookingId() {
+                return 10L;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Booking.BookingStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Payment.PaymentStatus getPaymentStatus() {
+                return paymentStatus;
+            }
+
+            @Override
+            public BigDecimal getPaymentAmount() {
+                return new BigDecimal(paymentAmount);
+            }
+        };
+    }
+
+    private static PaymentRepository.StatusTotal statusTotal(Payment.PaymentStatus status, long total, String amount) {
+        return new PaymentRepository.StatusTotal() {
+            @Override
+            public Payment.PaymentStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.BookingDTO;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.impl.AdminDashboardService;
+import com.hotelbooking.hotelmanagement.service.impl.BookingService;
+import com.hotelbooking.hotelmanagement.service.impl.UserService;
+import com.hotelbooking.hotelmanagement.support.SqlStatementCounter;
+import com.hotelbooking.hotelmanagement.support.SqlStatementReport;
+import com.hotelbooking.hotelmanagement.utils.JWTUtils;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the exact number of SQL statements behind the booking and user mapping paths, with
+ * enough users, rooms and bookings that one extra query per row would show up in the count.
+ */
+@DataJpaTest(properties = SqlStatementCounter.ENABLE_STATISTICS)
+@ActiveProfiles("test")
+@Import({SqlStatementCounter.class, UserService.class, BookingService.class, AdminDashboardService.class, DashboardCounters.class,
+        RoomAvailabilityIndex.class, RoomBookingLocks.class, RoomCatalogVersion.class, JWTUtils.class})
+@ExtendWith(SqlStatementReport.class)
+@SuppressWarnings("null")
+class MapperStatementCountTest {
+
+    private static final int ROOMS = 3;
+    private static final int USERS = 4;
+    private static final int BOOKINGS_PER_USER = 5;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    private User guest;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        Room[] rooms = new Room[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            rooms[i] = new Room();
+            rooms[i].setRoomType("Type " + i);
+            rooms[i].setRoomPrice(new BigDecimal("100.00"));
+            roomRepository.save(rooms[i]);
+        }
+        int code = 0;
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("User " + u);
+            user.setEmail("user" + u + "@example.com");
+            user.setPhoneNumber("12345678" + u);
+            user.setPassword("password");
+            user.setRole("USER");
+            userRepository.save(user);
+            if (u == 0) {
+                guest = user;
+            }
+            for (int b = 0; b < BOOKINGS_PER_USER; b++) {
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setRoom(rooms[code % ROOMS]);
+                booking.setCheckInDate(LocalDate.of(2030, 1, 1).plusDays(code));
+                booking.setCheckOutDate(booking.getCheckInDate().plusDays(1));
+                booking.setNumOfAdults(1);
+                booking.setBookingConfirmationCode("CODE" + code++);
+                bookingRepository.save(booking);
+
+                Payment payment = new Payment();
+                payment.setBooking(booking);
+                payment.setAmount(new BigDecimal("100.00"));
+                payment.setStatus(Payment.PaymentStatus.SUCCESS);
+                paymentRepository.save(payment);
+            }
+        }
+    }
+
+    @Test
+    void testGetUserBookingHistory_LoadsUserThenAllBookingsInOneQuery() {
+        Response response = measure("IUserService.getUserBookingHistory", 2, () -> userService.getUserBookingHistory(String.valueOf(guest.getId())));
+
+        List<BookingDTO> history = response.getUser().getBookings();
+        assertEquals(BOOKINGS_PER_USER, history.size());
+        assertEquals("CODE0", history.get(0).getBookingConfirmationCode());
+        assertEquals("Type 0", history.get(0).getRoom().getRoomType());
+        assertEquals("SUCCESS", history.get(0).getPayment().getStatus());
+        assertEquals(history.get(0).getId(), history.get(0).getPayment().getBookingId());
+    }
+
+    @Test
+    void testFindBookingByConfirmationCode_SingleQuery() {
+        Response response = measure("IBookingService.findBookingByConfirmationCode", 1, () -> bookingService.findBookingByConfirmationCode("CODE4"));
+
+        BookingDTO booking = response.getBooking();
+        assertEquals("user0@example.com", booking.getUser().getEmail());
+        assertEquals("Type 1", booking.getRoom().getRoomType());
+        assertEquals("SUCCESS", booking.getPayment().getStatus());
+    }
+
+    @Test
+    void testGetAllBookings_SingleQuery() {
+        Response response = measure("IBookingService.getAllBookings", 1, () -> bookingService.getAllBookings(null, null));
+
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, response.getBookingList().size());
+    }
+
+    @Test
+    void testGetDashboardStatistics_NoListQueries() {
+        Response response = measure("IAdminDashboardService.getDashboardStatistics", 0, () -> adminDashboardService.getDashboardStatistics());
+
+        assertEquals(200, response.getStatusCode());
+        assertNotNull(response.getDashboard().getTotalBookings());
+    }
+
+    @Test
+    void testDashboardBookingsAndPaymentsPages_SingleQuery() {
+        Response bookings = measure("IAdminDashboardService.getBookingsPage", 1, () -> adminDashboardService.getBookingsPage("checkInDate", "desc", null, 10));
+        assertEquals(10, bookings.getBookingList().size());
+        assertNotNull(bookings.getBookingList().get(0).getUser());
+        assertNotNull(bookings.getBookingList().get(0).getPayment());
+
+        Response payments = measure("IAdminDashboardService.getPaymentsPage", 1, () -> adminDashboardService.getPaymentsPage(null, null, null, 10));
+        assertEquals(10, payments.getPaymentList().size());
+        assertNotNull(payments.getPaymentList().get(0).getBookingId());
+    }
+
+    private Response measure(String call, long expectedStatements, Supplier<Response> action) {
+        Response response = counter.measure(call, action).assertStatements(expectedStatements);
+        assertEquals(200, response.getStatusCode(), response.getMessage());
+        return response;
+    }
+}
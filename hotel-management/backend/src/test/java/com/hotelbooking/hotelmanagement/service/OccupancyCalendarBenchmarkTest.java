@@ -0,0 +1,143 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Memory budget of the occupancy calendars for ROOMS rooms over a CALENDAR_DAYS window, and
+ * the cost of a whole-hotel search for a 30-night stay answered from the calendars versus
+ * from the booking intervals alone. Bookings fill about 70% of the nights with stays of one
+ * to seven nights. Run with {@code mvn test -Pbenchmark -Dtest=OccupancyCalendarBenchmarkTest}.
+ */
+@Tag("benchmark")
+class OccupancyCalendarBenchmarkTest {
+
+    private static final int ROOMS = 10_000;
+    private static final int CALENDAR_DAYS = 730;
+    private static final int STAY_NIGHTS = 30;
+    private static final int QUERIES = 500;
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 1);
+
+    // Keeps the search results alive so the JIT cannot drop the searches
+    private static long sink;
+
+    @Test
+    void benchmarkWholeHotelSearch() {
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        List<BookingRepository.BookingRange> ranges = new ArrayList<>();
+        Random random = new Random(7);
+        long bookingId = 1;
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            Room room = new Room();
+            room.setId(roomId);
+            room.setRoomType("Type " + roomId % 6);
+            room.setRoomPrice(new BigDecimal("100.00"));
+            rooms.add(room);
+            LocalDate day = TODAY.plusDays(random.nextInt(5));
+            while (day.isBefore(TODAY.plusDays(CALENDAR_DAYS))) {
+                LocalDate checkOut = day.plusDays(1 + random.nextInt(7));
+                ranges.add(range(bookingId++, roomId, day, checkOut));
+                // Roughly three free nights for every seven booked ones
+                day = checkOut.plusDays(1 + random.nextInt(4));
+            }
+        }
+
+        RoomAvailabilityIndex calendars = index(rooms, ranges, CALENDAR_DAYS);
+        RoomAvailabilityIndex intervals = index(rooms, ranges, 0);
+
+        long calendarBytes = calendars.calendarFootprintBytes();
+        int wordsPerRoom = (CALENDAR_DAYS + 63) / 64;
+        long intervalBytes = 4L * (16L * ROOMS + 8L * ranges.size());
+        assertEquals((16L + 8L * wordsPerRoom) * ROOMS, calendarBytes);
+
+        double calendarMicros = measure(calendars, random);
+        double intervalMicros = measure(intervals, random);
+        for (int i = 0; i < 50; i++) {
+            LocalDate checkIn = TODAY.plusDays(random.nextInt(CALENDAR_DAYS - STAY_NIGHTS));
+            assertEquals(intervals.findAvailableRoomIds(checkIn, checkIn.plusDays(STAY_NIGHTS), null),
+                    calendars.findAvailableRoomIds(checkIn, checkIn.plusDays(STAY_NIGHTS), null));
+        }
+
+        System.out.printf("rooms %d, calendar days %d, bookings %d%n", ROOMS, CALENDAR_DAYS, ranges.size());
+        System.out.printf("occupancy calendars: %d words per room, %d bytes per room, %.2f MB in total%n",
+                wordsPerRoom, 16 + 8 * wordsPerRoom, calendarBytes / 1024.0 / 1024.0);
+        System.out.printf("booking intervals:   %.2f MB in total (4 long arrays per room)%n",
+                intervalBytes / 1024.0 / 1024.0);
+        System.out.printf("whole-hotel search for %d nights: calendars %.0f us, intervals %.0f us%n",
+                STAY_NIGHTS, calendarMicros, intervalMicros);
+
+        assertTrue(calendarMicros < intervalMicros,
+                "Calendars took " + calendarMicros + "us per search, intervals " + intervalMicros + "us");
+    }
+
+    // Microseconds per whole-hotel search for all room types; the first round only warms up the JIT
+    private static double measure(RoomAvailabilityIndex index, Random random) {
+        double micros = 0;
+        for (int round = 0; round < 2; round++) {
+            long started = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                LocalDate checkIn = TODAY.plusDays(random.nextInt(CALENDAR_DAYS - STAY_NIGHTS));
+                Set<Long> available = index.findAvailableRoomIds(checkIn, checkIn.plusDays(STAY_NIGHTS), null);
+                sink += available.size();
+            }
+            micros = (System.nanoTime() - started) / 1_000.0 / QUERIES;
+        }
+        return micros;
+    }
+
+    private static RoomAvailabilityIndex index(List<Room> rooms, List<BookingRepository.BookingRange> ranges, int calendarDays) {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(bookingRepository.findActiveBookingRanges(Booking.BookingStatus.CANCELLED)).thenReturn(ranges);
+
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex();
+        ReflectionTestUtils.setField(index, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(index, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(index, "calendarDays", calendarDays);
+        ReflectionTestUtils.setField(index, "clock", Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+        index.rebuild();
+        return index;
+    }
+
+    private static BookingRepository.BookingRange range(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookingRepository.BookingRange() {
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            @Override
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+}
@@ -0,0 +1,235 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        // The occupancy calendars start ten days before BASE, so the searches below are answered from them
+        ReflectionTestUtils.setField(availabilityIndex, "clock", clockAt(BASE.minusDays(10)));
+        when(roomRepository.findAll()).thenReturn(List.of(room(1L, "Deluxe"), room(2L, "Deluxe Suite"), room(3L, "Standard")));
+        when(bookingRepository.findActiveBookingRanges(Booking.BookingStatus.CANCELLED)).thenReturn(List.of(
+                range(10L, 1L, BASE.plusDays(5), BASE.plusDays(8)),
+                range(11L, 2L, BASE.plusDays(1), BASE.plusDays(20))));
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild_MarksIndexReady() {
+        assertTrue(availabilityIndex.isReady());
+    }
+
+    @Test
+    void testFindAvailableRooms_ExcludesOverlappingBookings() {
+        // Nights are half-open: checking in on the previous guest's check-out day is free
+        assertEquals(Set.of(3L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(7), BASE.plusDays(8), null));
+        assertEquals(Set.of(1L, 3L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(8), BASE.plusDays(9), null));
+        // ... and so is checking out on the next guest's check-in day
+        assertEquals(Set.of(1L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(3), BASE.plusDays(5), "Deluxe"));
+        assertEquals(Set.of(1L, 3L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(9), BASE.plusDays(10), null));
+        assertEquals(Set.of(3L), availabilityIndex.findAvailableRoomIds(BASE, BASE.plusDays(30), null));
+    }
+
+    @Test
+    void testFindAvailableRooms_MatchesRoomTypeExactly() {
+        // Like the room type id in SQL: case and surrounding blanks are ignored, but "Deluxe Suite" is another type
+        List<RoomDTO> rooms = availabilityIndex.findAvailableRooms(BASE.plusDays(21), BASE.plusDays(22), " deluxe");
+
+        assertEquals(1, rooms.size());
+        assertEquals(1L, rooms.get(0).getId());
+        assertEquals(Set.of(2L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(21), BASE.plusDays(22), "Deluxe Suite"));
+        assertEquals(Set.of(1L, 2L, 3L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(21), BASE.plusDays(22), ""));
+    }
+
+    @Test
+    void testSameDayStays_HoldTheirCheckInNight() {
+        availabilityIndex.addBooking(3L, 12L, BASE.plusDays(2), BASE.plusDays(2));
+
+        // A stored same-day stay blocks a stay starting that day, and a same-day search checks its night
+        assertFalse(availabilityIndex.findAvailableRoomIds(BASE.plusDays(2), BASE.plusDays(4), "Standard").contains(3L));
+        assertFalse(availabilityIndex.findAvailableRoomIds(BASE.plusDays(2), BASE.plusDays(2), "Standard").contains(3L));
+        assertTrue(availabilityIndex.findAvailableRoomIds(BASE.plusDays(3), BASE.plusDays(3), "Standard").contains(3L));
+        assertTrue(availabilityIndex.findAvailableRoomIds(BASE, BASE.plusDays(2), "Standard").contains(3L));
+        assertFalse(ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(2))).contains(3L));
+        assertTrue(ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(3))).contains(3L));
+    }
+
+    @Test
+    void testAddAndRemoveBooking_UpdatesAvailability() {
+        availabilityIndex.addBooking(3L, 12L, BASE.plusDays(2), BASE.plusDays(4));
+        assertFalse(availabilityIndex.findAvailableRoomIds(BASE.plusDays(3), BASE.plusDays(3), "Standard").contains(3L));
+
+        availabilityIndex.removeBooking(3L, 12L);
+        assertTrue(availabilityIndex.findAvailableRoomIds(BASE.plusDays(3), BASE.plusDays(3), "Standard").contains(3L));
+    }
+
+    @Test
+    void testNestedIntervals_AreDetectedAfterLongerEarlierBooking() {
+        // A long booking followed by a short one: the running maximum keeps the long one visible
+        availabilityIndex.addBooking(3L, 20L, BASE.plusDays(1), BASE.plusDays(30));
+        availabilityIndex.addBooking(3L, 21L, BASE.plusDays(2), BASE.plusDays(3));
+
+        assertFalse(availabilityIndex.findAvailableRoomIds(BASE.plusDays(25), BASE.plusDays(26), "Standard").contains(3L));
+
+        availabilityIndex.removeBooking(3L, 20L);
+        assertTrue(availabilityIndex.findAvailableRoomIds(BASE.plusDays(25), BASE.plusDays(26), "Standard").contains(3L));
+    }
+
+    @Test
+    void testPutAndRemoveRoom() {
+        availabilityIndex.putRoom(room(4L, "Standard"));
+        assertEquals(Set.of(3L, 4L), availabilityIndex.findAvailableRoomIds(BASE, BASE.plusDays(1), "Standard"));
+
+        availabilityIndex.removeRoom(4L);
+        assertEquals(Set.of(3L), availabilityIndex.findAvailableRoomIds(BASE, BASE.plusDays(1), "Standard"));
+    }
+
+    @Test
+    void testCalendar_AgreesWithIntervalsInsideAndOutsideWindow() {
+        // Bookings crossing word boundaries and both ends of a 100-day window starting at BASE
+        RoomAvailabilityIndex intervalsOnly = new RoomAvailabilityIndex();
+        ReflectionTestUtils.setField(intervalsOnly, "calendarDays", 0);
+        ReflectionTestUtils.setField(availabilityIndex, "calendarDays", 100);
+        ReflectionTestUtils.setField(availabilityIndex, "clock", clockAt(BASE));
+        availabilityIndex.shiftCalendars();
+        Random random = new Random(42);
+        long bookingId = 100;
+        for (long roomId = 4; roomId < 20; roomId++) {
+            availabilityIndex.putRoom(room(roomId, "Standard"));
+            intervalsOnly.putRoom(room(roomId, "Standard"));
+            for (int b = 0; b < 6; b++) {
+                LocalDate checkIn = BASE.plusDays(random.nextInt(130) - 15);
+                LocalDate checkOut = checkIn.plusDays(random.nextInt(70));
+                availabilityIndex.addBooking(roomId, bookingId, checkIn, checkOut);
+                intervalsOnly.addBooking(roomId, bookingId++, checkIn, checkOut);
+            }
+        }
+        availabilityIndex.removeRoom(3L);
+
+        for (int q = 0; q < 2000; q++) {
+            LocalDate checkIn = BASE.plusDays(random.nextInt(130) - 15);
+            LocalDate checkOut = checkIn.plusDays(random.nextInt(40));
+            assertEquals(intervalsOnly.findAvailableRoomIds(checkIn, checkOut, "Standard"),
+                    availabilityIndex.findAvailableRoomIds(checkIn, checkOut, "Standard"), checkIn + " to " + checkOut);
+        }
+    }
+
+    @Test
+    void testCalendar_WordBoundaries() {
+        RoomAvailabilityIndex.BookingIntervals intervals = RoomAvailabilityIndex.BookingIntervals.EMPTY
+                .with(1L, LocalDate.ofEpochDay(63), LocalDate.ofEpochDay(65))
+                .with(2L, LocalDate.ofEpochDay(130), LocalDate.ofEpochDay(260));
+        RoomAvailabilityIndex.OccupancyCalendar calendar = RoomAvailabilityIndex.OccupancyCalendar.of(intervals, 0, 300);
+
+        assertFalse(calendar.isBooked(0, 62));
+        assertTrue(calendar.isBooked(62, 63));
+        assertTrue(calendar.isBooked(64, 64));
+        assertFalse(calendar.isBooked(65, 129));
+        assertTrue(calendar.isBooked(0, 299));
+        assertTrue(calendar.isBooked(192, 192));
+        assertFalse(calendar.isBooked(261, 299));
+        assertTrue(calendar.covers(0, 299));
+        assertFalse(calendar.covers(0, 300));
+        assertEquals(16 + 8 * 5, calendar.footprintBytes());
+        assertEquals(0, RoomAvailabilityIndex.OccupancyCalendar.of(RoomAvailabilityIndex.BookingIntervals.EMPTY, 0, 300).footprintBytes());
+    }
+
+    @Test
+    void testShiftCalendars_KeepsAnswers() {
+        Set<Long> before = availabilityIndex.findAvailableRoomIds(BASE.plusDays(7), BASE.plusDays(9), null);
+
+        ReflectionTestUtils.setField(availabilityIndex, "clock", clockAt(BASE.plusDays(6)));
+        availabilityIndex.shiftCalendars();
+
+        assertEquals(before, availabilityIndex.findAvailableRoomIds(BASE.plusDays(7), BASE.plusDays(9), null));
+        // Days before the new window are answered from the intervals
+        assertEquals(Set.of(3L), availabilityIndex.findAvailableRoomIds(BASE.plusDays(5), BASE.plusDays(5), null));
+    }
+
+    @Test
+    void testFindRoomsFreeFrom_IgnoresEarlierBookings() {
+        // Room 1 is free from its guest's check-out day, room 2 from the day after its last night
+        assertEquals(List.of(3L), ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(7))));
+        assertEquals(List.of(1L, 3L), ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(8))));
+        assertEquals(List.of(1L, 3L), ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(19))));
+        assertEquals(List.of(1L, 2L, 3L), ids(availabilityIndex.findRoomsFreeFrom(BASE.plusDays(20))));
+    }
+
+    private static List<Long> ids(List<RoomDTO> rooms) {
+        return rooms.stream().map(RoomDTO::getId).toList();
+    }
+
+    private static Clock clockAt(LocalDate day) {
+        return Clock.fixed(day.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneId.of("UTC"));
+    }
+
+    private static Room room(Long id, String roomType) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomType(roomType);
+        room.setRoomPrice(new BigDecimal("100.00"));
+        return room;
+    }
+
+    private static BookingRepository.BookingRange range(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookingRepository.BookingRange() {
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            @Override
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+}
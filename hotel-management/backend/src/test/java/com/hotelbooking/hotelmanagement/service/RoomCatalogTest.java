@@ -0,0 +1,123 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class RoomCatalogTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @InjectMocks
+    private RoomCatalog roomCatalog;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        when(roomRepository.findAll()).thenReturn(List.of(
+                room(2L, "Suite"), room(5L, "Deluxe"), room(3L, "Deluxe"), room(9L, "Standard")));
+        roomCatalog.reload();
+    }
+
+    @Test
+    void testReload_MarksCatalogReady() {
+        assertTrue(roomCatalog.isReady());
+    }
+
+    @Test
+    void testReload_ReportsRoomChangesOnly() {
+        verify(catalogVersion, times(1)).roomsChanged();
+
+        // Nothing changed since the last load
+        roomCatalog.reload();
+        verify(catalogVersion, times(1)).roomsChanged();
+
+        // A price changed through another instance
+        Room repriced = room(5L, "Deluxe");
+        repriced.setRoomPrice(new BigDecimal("120.00"));
+        when(roomRepository.findAll()).thenReturn(List.of(
+                room(2L, "Suite"), repriced, room(3L, "Deluxe"), room(9L, "Standard")));
+        roomCatalog.reload();
+        verify(catalogVersion, times(2)).roomsChanged();
+        assertEquals(new BigDecimal("120.00"), roomCatalog.findRoom(5L).orElseThrow().getRoomPrice());
+    }
+
+    @Test
+    void testFindRooms_PagesNewestFirst() {
+        assertEquals(List.of(9L, 5L), ids(roomCatalog.findRooms(null, 2)));
+        assertEquals(List.of(3L, 2L), ids(roomCatalog.findRooms(5L, 2)));
+        assertEquals(List.of(2L), ids(roomCatalog.findRooms(3L, 20)));
+        assertEquals(List.of(), ids(roomCatalog.findRooms(2L, 20)));
+        // A cursor that is not a room id still continues right below it
+        assertEquals(List.of(5L, 3L, 2L), ids(roomCatalog.findRooms(7L, 20)));
+    }
+
+    @Test
+    void testGetRoomTypes_DistinctAndSorted() {
+        assertEquals(List.of("Deluxe", "Standard", "Suite"), roomCatalog.getRoomTypes());
+    }
+
+    @Test
+    void testSuggestRoomTypes_ByPrefix() {
+        assertEquals(List.of("Standard", "Suite"), roomCatalog.suggestRoomTypes("s", 10));
+        assertEquals(List.of("Deluxe"), roomCatalog.suggestRoomTypes("DEL", 10));
+
+        roomCatalog.putRoom(room(12L, "Deluxe Suite"));
+        assertEquals(List.of("Deluxe"), roomCatalog.suggestRoomTypes("de", 1));
+        assertEquals(List.of("Deluxe", "Deluxe Suite"), roomCatalog.suggestRoomTypes("de", 10));
+    }
+
+    @Test
+    void testPutAndRemoveRoom_SwapSnapshot() {
+        List<RoomDTO> before = roomCatalog.findRooms(null, 20);
+
+        roomCatalog.putRoom(room(12L, "Penthouse"));
+        roomCatalog.putRoom(room(3L, "Family"));
+        roomCatalog.removeRoom(9L);
+
+        assertEquals(List.of(12L, 5L, 3L, 2L), ids(roomCatalog.findRooms(null, 20)));
+        assertEquals(List.of("Deluxe", "Family", "Penthouse", "Suite"), roomCatalog.getRoomTypes());
+        assertEquals("Family", roomCatalog.findRoom(3L).orElseThrow().getRoomType());
+        // Readers holding the previous list keep seeing it unchanged
+        assertEquals(List.of(9L, 5L, 3L, 2L), ids(before));
+    }
+
+    @Test
+    void testFindRoom_ReturnsCopy() {
+        RoomDTO room = roomCatalog.findRoom(5L).orElseThrow();
+        room.setRoomType("Changed");
+
+        assertEquals("Deluxe", roomCatalog.findRoom(5L).orElseThrow().getRoomType());
+        assertTrue(roomCatalog.findRoom(4L).isEmpty());
+    }
+
+    private static List<Long> ids(List<RoomDTO> rooms) {
+        return rooms.stream().map(RoomDTO::getId).toList();
+    }
+
+    private static Room room(Long id, String roomType) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomType(roomType);
+        room.setRoomPrice(new BigDecimal("100.00"));
+        return room;
+    }
+}
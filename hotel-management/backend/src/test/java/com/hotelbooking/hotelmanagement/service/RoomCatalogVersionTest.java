@@ -0,0 +1,43 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomCatalogVersionTest {
+
+    private static final Instant STARTED_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void testStamps_ChangeOnlyWithWhatTheyCover() {
+        RoomCatalogVersion catalogVersion = new RoomCatalogVersion(Clock.fixed(STARTED_AT, ZoneOffset.UTC));
+        RoomCatalogVersion.Stamp rooms = catalogVersion.rooms();
+        RoomCatalogVersion.Stamp roomsWithBookings = catalogVersion.roomsWithBookings();
+
+        assertTrue(rooms.etag().startsWith("\"") && rooms.etag().endsWith("\""));
+        assertEquals(STARTED_AT.toEpochMilli(), rooms.lastModified());
+
+        catalogVersion.bookingsChanged();
+        assertEquals(rooms, catalogVersion.rooms());
+        assertNotEquals(roomsWithBookings, catalogVersion.roomsWithBookings());
+
+        roomsWithBookings = catalogVersion.roomsWithBookings();
+        catalogVersion.roomsChanged();
+        assertNotEquals(rooms.etag(), catalogVersion.rooms().etag());
+        assertNotEquals(roomsWithBookings.etag(), catalogVersion.roomsWithBookings().etag());
+    }
+
+    @Test
+    void testStamps_DifferAfterRestart() {
+        RoomCatalogVersion beforeRestart = new RoomCatalogVersion(Clock.fixed(STARTED_AT, ZoneOffset.UTC));
+        RoomCatalogVersion afterRestart = new RoomCatalogVersion(Clock.fixed(STARTED_AT.plus(Duration.ofMinutes(1)), ZoneOffset.UTC));
+
+        assertNotEquals(beforeRestart.rooms().etag(), afterRestart.rooms().etag());
+        assertNotEquals(beforeRestart.roomsWithBookings().etag(), afterRestart.roomsWithBookings().etag());
+    }
+}
@@ -0,0 +1,179 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.PhotoUploadDTO;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.exception.OurException;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class RoomPhotoIngestionTest {
+
+    @Mock
+    private AwsS3Service awsS3Service;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    // One worker and one queued upload, retries without waiting
+    @InjectMocks
+    private RoomPhotoIngestion photoIngestion = new RoomPhotoIngestion(1, 1, 3, Duration.ZERO, false);
+
+    private final MockMultipartFile photo = new MockMultipartFile("photo", "room.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() throws InterruptedException {
+        photoIngestion.shutdown();
+    }
+
+    @Test
+    void testSubmit_RetriesAndStoresPhotoUrl() throws Exception {
+        when(awsS3Service.saveImageVariantsToS3(any(File.class), eq("room.jpg"), eq("image/jpeg")))
+                .thenThrow(new OurException("Unable to upload image to s3 bucket"))
+                .thenReturn(urls("room"));
+        when(roomRepository.updatePhoto(1L, "https://bucket.s3.amazonaws.com/room.jpg", "https://bucket.s3.amazonaws.com/room-medium.jpg",
+                "https://bucket.s3.amazonaws.com/room-thumb.jpg", Room.PhotoStatus.READY)).thenReturn(1);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(new Room()));
+
+        RoomPhotoIngestion.StagedPhoto staged = photoIngestion.stage(photo);
+        PhotoUploadDTO submitted = photoIngestion.submit(1L, staged);
+        assertEquals("PENDING", submitted.getStatus());
+
+        PhotoUploadDTO completed = awaitCompletion(1L);
+        assertEquals("READY", completed.getStatus());
+        assertEquals(2, completed.getAttempts());
+        assertEquals("https://bucket.s3.amazonaws.com/room.jpg", completed.getRoomPhotoUrl());
+        assertFalse(Files.exists(staged.file()));
+        verify(availabilityIndex).putRoom(any(Room.class));
+    }
+
+    @Test
+    void testSubmit_MarksRoomFailedAfterLastAttempt() throws Exception {
+        when(awsS3Service.saveImageVariantsToS3(any(File.class), anyString(), anyString()))
+                .thenThrow(new OurException("Unable to upload image to s3 bucket"));
+        when(roomRepository.updatePhotoStatus(1L, Room.PhotoStatus.FAILED)).thenReturn(1);
+
+        photoIngestion.submit(1L, photoIngestion.stage(photo));
+
+        PhotoUploadDTO completed = awaitCompletion(1L);
+        assertEquals("FAILED", completed.getStatus());
+        assertEquals(3, completed.getAttempts());
+        assertNotNull(completed.getError());
+        verify(roomRepository, never()).updatePhoto(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testStage_RejectsWhenAllSlotsAreTaken() throws Exception {
+        RoomPhotoIngestion.StagedPhoto first = photoIngestion.stage(photo);
+        RoomPhotoIngestion.StagedPhoto second = photoIngestion.stage(photo);
+
+        assertThrows(RejectedExecutionException.class, () -> photoIngestion.stage(photo));
+
+        photoIngestion.discard(first);
+        assertFalse(Files.exists(first.file()));
+        photoIngestion.discard(photoIngestion.stage(photo));
+        photoIngestion.discard(second);
+    }
+
+    @Test
+    void testSubmit_SupersededUploadDoesNotTouchRoom() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(awsS3Service.saveImageVariantsToS3(any(File.class), anyString(), anyString())).thenAnswer(invocation -> {
+            if (invocation.getArgument(1).equals("old.jpg")) {
+                firstStarted.countDown();
+                releaseFirst.await();
+                return urls("old");
+            }
+            return urls("new");
+        });
+        when(roomRepository.updatePhoto(eq(1L), eq("https://bucket.s3.amazonaws.com/new.jpg"), anyString(), anyString(), eq(Room.PhotoStatus.READY)))
+                .thenReturn(1);
+
+        photoIngestion.submit(1L, photoIngestion.stage(new MockMultipartFile("photo", "old.jpg", "image/jpeg", new byte[]{1})));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        photoIngestion.submit(1L, photoIngestion.stage(new MockMultipartFile("photo", "new.jpg", "image/jpeg", new byte[]{2})));
+        releaseFirst.countDown();
+
+        PhotoUploadDTO completed = awaitCompletion(1L);
+        assertEquals("https://bucket.s3.amazonaws.com/new.jpg", completed.getRoomPhotoUrl());
+        verify(roomRepository, never()).updatePhoto(eq(1L), eq("https://bucket.s3.amazonaws.com/old.jpg"), anyString(), anyString(), any());
+    }
+
+    @Test
+    void testSubmit_RunsOnVirtualThreadsWhenEnabled() throws Exception {
+        RoomPhotoIngestion virtualIngestion = new RoomPhotoIngestion(1, 1, 1, Duration.ZERO, true);
+        ReflectionTestUtils.setField(virtualIngestion, "awsS3Service", awsS3Service);
+        ReflectionTestUtils.setField(virtualIngestion, "roomRepository", roomRepository);
+        ReflectionTestUtils.setField(virtualIngestion, "availabilityIndex", availabilityIndex);
+        ReflectionTestUtils.setField(virtualIngestion, "roomCatalog", roomCatalog);
+        ReflectionTestUtils.setField(virtualIngestion, "catalogVersion", catalogVersion);
+        CountDownLatch uploaded = new CountDownLatch(1);
+        AtomicBoolean virtualWorker = new AtomicBoolean();
+        when(awsS3Service.saveImageVariantsToS3(any(File.class), anyString(), anyString())).thenAnswer(invocation -> {
+            virtualWorker.set(Thread.currentThread().isVirtual());
+            uploaded.countDown();
+            return urls("room");
+        });
+        when(roomRepository.updatePhoto(eq(1L), anyString(), anyString(), anyString(), eq(Room.PhotoStatus.READY))).thenReturn(1);
+
+        try {
+            virtualIngestion.submit(1L, virtualIngestion.stage(photo));
+            assertTrue(uploaded.await(5, TimeUnit.SECONDS));
+        } finally {
+            virtualIngestion.shutdown();
+        }
+        assertTrue(virtualWorker.get());
+        assertEquals("READY", virtualIngestion.getUpload(1L).orElseThrow().getStatus());
+    }
+
+    private static AwsS3Service.PhotoUrls urls(String name) {
+        return new AwsS3Service.PhotoUrls("https://bucket.s3.amazonaws.com/" + name + ".jpg",
+                "https://bucket.s3.amazonaws.com/" + name + "-medium.jpg",
+                "https://bucket.s3.amazonaws.com/" + name + "-thumb.jpg");
+    }
+
+    private PhotoUploadDTO awaitCompletion(Long roomId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            PhotoUploadDTO upload = photoIngestion.getUpload(roomId).orElseThrow();
+            if (!"PENDING".equals(upload.getStatus())) {
+                return upload;
+            }
+            Thread.sleep(10);
+        }
+        fail("Photo upload for room " + roomId + " did not complete");
+        return null;
+    }
+}
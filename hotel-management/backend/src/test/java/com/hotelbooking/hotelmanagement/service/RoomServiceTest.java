@@ -1,23 +1,35 @@
 package com.hotelbooking.hotelmanagement.service;
 
+import com.hotelbooking.hotelmanagement.dto.PhotoUploadDTO;
 import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.dto.RoomDTO;
 import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.entity.RoomType;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.RoomRepository;
 import com.hotelbooking.hotelmanagement.service.impl.RoomService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,7 +43,29 @@ class RoomServiceTest {
     private RoomRepository roomRepository;
 
     @Mock
-    private AwsS3Service awsS3Service;
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomPhotoIngestion photoIngestion;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    // Real counters, so that the writes run inside mutate
+    @Spy
+    private DashboardCounters dashboardCounters = new DashboardCounters();
+
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @Mock
+    private RoomTypeRegistry roomTypeRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @Mock
     private MultipartFile multipartFile;
@@ -53,10 +87,11 @@ class RoomServiceTest {
     }
 
     @Test
-    void testAddNewRoom_Success() {
+    void testAddNewRoom_Success() throws Exception {
         // Given
-        when(multipartFile.isEmpty()).thenReturn(false);
-        when(awsS3Service.saveImageToS3(any(MultipartFile.class))).thenReturn("https://example.com/room.jpg");
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "room.jpg", "image/jpeg");
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
+        when(roomTypeRegistry.resolve("Deluxe")).thenReturn(roomType(7L, "Deluxe"));
         when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
 
         // When
@@ -71,16 +106,60 @@ class RoomServiceTest {
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getRoom());
         assertEquals("successful", response.getMessage());
-        verify(awsS3Service, times(1)).saveImageToS3(any(MultipartFile.class));
-        verify(roomRepository, times(1)).save(any(Room.class));
+        ArgumentCaptor<Room> savedRoom = ArgumentCaptor.forClass(Room.class);
+        verify(roomRepository, times(1)).save(savedRoom.capture());
+        assertEquals(Room.PhotoStatus.PENDING, savedRoom.getValue().getPhotoStatus());
+        assertEquals(7L, savedRoom.getValue().getType().getId());
+        verify(photoIngestion, times(1)).submit(1L, stagedPhoto);
+        verify(photoIngestion, never()).discard(any());
+        verify(roomCatalog, times(1)).putRoom(testRoom);
+        verify(catalogVersion, times(1)).roomsChanged();
     }
 
     @Test
-    void testAddNewRoom_S3Error() {
+    void testAddNewRoom_UploadFinishingFirstIsNotOverwritten() throws Exception {
         // Given
-        when(multipartFile.isEmpty()).thenReturn(false);
-        when(awsS3Service.saveImageToS3(any(MultipartFile.class)))
-                .thenThrow(new RuntimeException("S3 upload failed"));
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "room.jpg", "image/jpeg");
+        Room uploaded = updatedRoom(roomType(7L, "Deluxe"), "https://example.com/uploaded.jpg", Room.PhotoStatus.READY);
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
+        when(roomTypeRegistry.resolve("Deluxe")).thenReturn(roomType(7L, "Deluxe"));
+        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+        when(photoIngestion.submit(1L, stagedPhoto)).thenAnswer(invocation -> completeUpload(uploaded));
+
+        // When
+        Response response = roomService.addNewRoom(multipartFile, "Deluxe", new BigDecimal("150.00"), "A beautiful deluxe room");
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertLastPublished(uploaded);
+    }
+
+    @Test
+    void testAddNewRoom_UploadQueueFull() throws Exception {
+        // Given
+        when(photoIngestion.stage(multipartFile))
+                .thenThrow(new RejectedExecutionException("Too many photo uploads in progress, please try again later"));
+
+        // When
+        Response response = roomService.addNewRoom(
+                multipartFile,
+                "Deluxe",
+                new BigDecimal("150.00"),
+                "A beautiful deluxe room"
+        );
+
+        // Then
+        assertEquals(503, response.getStatusCode());
+        verify(roomRepository, never()).save(any(Room.class));
+    }
+
+    @Test
+    void testAddNewRoom_SaveErrorDiscardsStagedPhoto() throws Exception {
+        // Given
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "room.jpg", "image/jpeg");
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
+        when(roomTypeRegistry.resolve("Deluxe")).thenReturn(roomType(7L, "Deluxe"));
+        when(roomRepository.save(any(Room.class))).thenThrow(new RuntimeException("Database unavailable"));
 
         // When
         Response response = roomService.addNewRoom(
@@ -93,6 +172,26 @@ class RoomServiceTest {
         // Then
         assertEquals(500, response.getStatusCode());
         assertTrue(response.getMessage().contains("Error saving a room"));
+        verify(photoIngestion, times(1)).discard(stagedPhoto);
+        verify(photoIngestion, never()).submit(any(), any());
+    }
+
+    @Test
+    void testAddNewRoom_UsesExistingTypeName() throws Exception {
+        // Given
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "room.jpg", "image/jpeg");
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
+        when(roomTypeRegistry.resolve(" deluxe")).thenReturn(roomType(7L, "Deluxe"));
+        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+
+        // When
+        Response response = roomService.addNewRoom(multipartFile, " deluxe", new BigDecimal("150.00"), null);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        ArgumentCaptor<Room> savedRoom = ArgumentCaptor.forClass(Room.class);
+        verify(roomRepository, times(1)).save(savedRoom.capture());
+        assertEquals("Deluxe", savedRoom.getValue().getRoomType());
     }
 
     @Test
@@ -110,21 +209,62 @@ class RoomServiceTest {
         verify(roomRepository, times(1)).findDistinctRoomTypes();
     }
 
+    @Test
+    void testSuggestRoomTypes_FromCatalog() {
+        // Given
+        when(roomCatalog.isReady()).thenReturn(true);
+        when(roomCatalog.suggestRoomTypes("de", 10)).thenReturn(List.of("Deluxe", "Deluxe Suite"));
+
+        // When
+        List<String> result = roomService.suggestRoomTypes("de", null);
+
+        // Then
+        assertEquals(List.of("Deluxe", "Deluxe Suite"), result);
+        verify(roomRepository, never()).findDistinctRoomTypes();
+    }
+
+    @Test
+    void testSuggestRoomTypes_ClampsLimit() {
+        // Given
+        when(roomCatalog.isReady()).thenReturn(true);
+
+        // When
+        roomService.suggestRoomTypes("de", 500);
+        roomService.suggestRoomTypes("de", 0);
+
+        // Then
+        verify(roomCatalog, times(1)).suggestRoomTypes("de", 50);
+        verify(roomCatalog, times(1)).suggestRoomTypes("de", 1);
+    }
+
+    @Test
+    void testSuggestRoomTypes_FallsBackToDistinctTypes() {
+        // Given
+        when(roomRepository.findDistinctRoomTypes()).thenReturn(Arrays.asList("Suite", "Deluxe Suite", "Deluxe", "Standard"));
+
+        // When
+        List<String> result = roomService.suggestRoomTypes("DE", 500);
+
+        // Then
+        assertEquals(List.of("Deluxe", "Deluxe Suite"), result);
+    }
+
     @Test
     void testGetAllRooms_Success() {
         // Given
         List<Room> rooms = Arrays.asList(testRoom);
-        when(roomRepository.findAll(any(Sort.class))).thenReturn(rooms);
+        when(roomRepository.findAllByOrderByIdDesc(Limit.of(21))).thenReturn(rooms);
 
         // When
-        Response response = roomService.getAllRooms();
+        Response response = roomService.getAllRooms(null, null);
 
         // Then
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getRoomList());
         assertEquals(1, response.getRoomList().size());
         assertEquals("successful", response.getMessage());
-        verify(roomRepository, times(1)).findAll(any(Sort.class));
+        assertNull(response.getNextCursor());
+        verify(roomRepository, times(1)).findAllByOrderByIdDesc(Limit.of(21));
     }
 
     @Test
@@ -142,6 +282,68 @@ class RoomServiceTest {
         verify(roomRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetAllRooms_FromCatalog() {
+        // Given
+        RoomDTO newer = new RoomDTO();
+        newer.setId(3L);
+        RoomDTO older = new RoomDTO();
+        older.setId(2L);
+        when(roomCatalog.isReady()).thenReturn(true);
+        when(roomCatalog.findRooms(4L, 2)).thenReturn(List.of(newer, older));
+
+        // When
+        Response response = roomService.getAllRooms(4L, 1);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(List.of(newer), response.getRoomList());
+        assertEquals("3", response.getNextCursor());
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    void testGetRoomById_FromCatalogWithBookingRows() {
+        // Given
+        RoomDTO roomDTO = new RoomDTO();
+        roomDTO.setId(1L);
+        roomDTO.setRoomType("Deluxe");
+        BookingRepository.RoomBookingRow row = mock(BookingRepository.RoomBookingRow.class);
+        when(row.getId()).thenReturn(7L);
+        when(row.getBookingConfirmationCode()).thenReturn("ABC123");
+        when(row.getStatus()).thenReturn(Booking.BookingStatus.CONFIRMED);
+        when(roomCatalog.isReady()).thenReturn(true);
+        when(roomCatalog.findRoom(1L)).thenReturn(Optional.of(roomDTO));
+        when(bookingRepository.findRoomBookingsByRoomId(1L)).thenReturn(List.of(row));
+
+        // When
+        Response response = roomService.getRoomById(1L);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals("Deluxe", response.getRoom().getRoomType());
+        assertEquals(1, response.getRoom().getBookings().size());
+        assertEquals("ABC123", response.getRoom().getBookings().get(0).getBookingConfirmationCode());
+        assertEquals("CONFIRMED", response.getRoom().getBookings().get(0).getStatus());
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    void testGetRoomById_NotInCatalogFallsBackToDatabase() {
+        // Given
+        when(roomCatalog.isReady()).thenReturn(true);
+        when(roomCatalog.findRoom(1L)).thenReturn(Optional.empty());
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+
+        // When
+        Response response = roomService.getRoomById(1L);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals("Deluxe", response.getRoom().getRoomType());
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void testGetRoomById_NotFound() {
         // Given
@@ -159,6 +361,8 @@ class RoomServiceTest {
     void testDeleteRoom_Success() {
         // Given
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(bookingRepository.findCascadedBookingsByRoomId(1L))
+                .thenReturn(List.of(cascadedBooking(5L, 1L, Booking.BookingStatus.CONFIRMED)));
         doNothing().when(roomRepository).deleteById(1L);
 
         // When
@@ -169,6 +373,10 @@ class RoomServiceTest {
         assertEquals("successful", response.getMessage());
         verify(roomRepository, times(1)).findById(1L);
         verify(roomRepository, times(1)).deleteById(1L);
+        verify(dashboardCounters, times(1)).roomRemoved();
+        verify(dashboardCounters, times(1)).bookingRemoved(argThat(booking -> booking.getBookingId() == 5L));
+        verify(roomCatalog, times(1)).removeRoom(1L);
+        verify(catalogVersion, times(1)).roomsChanged();
     }
 
     @Test
@@ -183,15 +391,19 @@ class RoomServiceTest {
         assertEquals(404, response.getStatusCode());
         assertEquals("Room Not Found", response.getMessage());
         verify(roomRepository, never()).deleteById(anyLong());
+        verify(catalogVersion, never()).roomsChanged();
     }
 
     @Test
-    void testUpdateRoom_Success() {
+    void testUpdateRoom_Success() throws Exception {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(awsS3Service.saveImageToS3(any(MultipartFile.class))).thenReturn("https://example.com/new-room.jpg");
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "new-room.jpg", "image/jpeg");
+        RoomType suite = roomType(8L, "Suite");
+        Room reloaded = updatedRoom(suite, "https://example.com/room.jpg", Room.PhotoStatus.PENDING);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom)).thenReturn(Optional.of(reloaded));
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
         when(multipartFile.isEmpty()).thenReturn(false);
-        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+        when(roomTypeRegistry.resolve("Suite")).thenReturn(suite);
 
         // When
         Response response = roomService.updateRoom(
@@ -206,15 +418,45 @@ class RoomServiceTest {
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getRoom());
         assertEquals("successful", response.getMessage());
-        verify(roomRepository, times(1)).findById(1L);
-        verify(roomRepository, times(1)).save(any(Room.class));
+        // The previous photo is served until the upload completes
+        assertEquals("https://example.com/room.jpg", response.getRoom().getRoomPhotoUrl());
+        assertEquals("PENDING", response.getRoom().getPhotoStatus());
+        verify(roomRepository, times(1)).updateDetails(1L, suite, "Suite", new BigDecimal("200.00"), "Updated description");
+        verify(roomRepository, times(1)).updatePhotoStatus(1L, Room.PhotoStatus.PENDING);
+        verify(roomRepository, never()).save(any(Room.class));
+        verify(photoIngestion, times(1)).submit(1L, stagedPhoto);
+        verify(roomCatalog, times(1)).putRoom(reloaded);
+        verify(catalogVersion, times(1)).roomsChanged();
+    }
+
+    @Test
+    void testUpdateRoom_UploadFinishingFirstIsNotOverwritten() throws Exception {
+        // Given
+        RoomPhotoIngestion.StagedPhoto stagedPhoto = new RoomPhotoIngestion.StagedPhoto(Path.of("room.upload"), "new-room.jpg", "image/jpeg");
+        RoomType suite = roomType(8L, "Suite");
+        Room reloaded = updatedRoom(suite, "https://example.com/room.jpg", Room.PhotoStatus.PENDING);
+        Room uploaded = updatedRoom(suite, "https://example.com/new-room.jpg", Room.PhotoStatus.READY);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom)).thenReturn(Optional.of(reloaded));
+        when(photoIngestion.stage(multipartFile)).thenReturn(stagedPhoto);
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(roomTypeRegistry.resolve("Suite")).thenReturn(suite);
+        when(photoIngestion.submit(1L, stagedPhoto)).thenAnswer(invocation -> completeUpload(uploaded));
+
+        // When
+        Response response = roomService.updateRoom(1L, "Updated description", "Suite", new BigDecimal("200.00"), multipartFile);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertLastPublished(uploaded);
     }
 
     @Test
     void testUpdateRoom_WithoutPhoto() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
+        RoomType suite = roomType(8L, "Suite");
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom))
+                .thenReturn(Optional.of(updatedRoom(suite, "https://example.com/room.jpg", Room.PhotoStatus.READY)));
+        when(roomTypeRegistry.resolve("Suite")).thenReturn(suite);
 
         // When
         Response response = roomService.updateRoom(
@@ -227,8 +469,29 @@ class RoomServiceTest {
 
         // Then
         assertEquals(200, response.getStatusCode());
-        verify(awsS3Service, never()).saveImageToS3(any());
-        verify(roomRepository, times(1)).save(any(Room.class));
+        verify(photoIngestion, never()).submit(any(), any());
+        verify(roomRepository, times(1)).updateDetails(1L, suite, "Suite", new BigDecimal("200.00"), "Updated description");
+        verify(roomRepository, never()).updatePhotoStatus(anyLong(), any());
+        verify(roomRepository, never()).save(any(Room.class));
+    }
+
+    @Test
+    void testUpdateRoom_KeepsPhotoWrittenByIngestionMeanwhile() {
+        // Given: the photo upload completes between the read and the update
+        RoomType deluxe = roomType(7L, "Deluxe");
+        Room reloaded = updatedRoom(deluxe, "https://example.com/uploaded.jpg", Room.PhotoStatus.READY);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom)).thenReturn(Optional.of(reloaded));
+
+        // When
+        Response response = roomService.updateRoom(1L, null, null, new BigDecimal("180.00"), null);
+
+        // Then: only the edited columns are written and the fresh photo is what gets served
+        assertEquals(200, response.getStatusCode());
+        assertEquals("https://example.com/uploaded.jpg", response.getRoom().getRoomPhotoUrl());
+        verify(roomRepository, times(1)).updateDetails(1L, null, "Deluxe", new BigDecimal("180.00"), "A beautiful deluxe room");
+        verify(roomRepository, never()).save(any(Room.class));
+        verify(availabilityIndex, times(1)).putRoom(reloaded);
+        verify(roomCatalog, times(1)).putRoom(reloaded);
     }
 
     @Test
@@ -257,7 +520,8 @@ class RoomServiceTest {
         LocalDate checkIn = LocalDate.now().plusDays(1);
         LocalDate checkOut = LocalDate.now().plusDays(3);
         List<Room> availableRooms = Arrays.asList(testRoom);
-        when(roomRepository.findAvailableRoomsByDatesAndTypes(checkIn, checkOut, "Deluxe"))
+        when(roomTypeRegistry.findTypeId("Deluxe")).thenReturn(Optional.of(7L));
+        when(roomRepository.findAvailableRoomsByDatesAndTypeId(checkIn, checkOut, 7L))
                 .thenReturn(availableRooms);
 
         // When
@@ -268,14 +532,74 @@ class RoomServiceTest {
         assertNotNull(response.getRoomList());
         assertEquals("successful", response.getMessage());
         verify(roomRepository, times(1))
-                .findAvailableRoomsByDatesAndTypes(checkIn, checkOut, "Deluxe");
+                .findAvailableRoomsByDatesAndTypeId(checkIn, checkOut, 7L);
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testGetAvailableRoomsByDataAndType_UnknownTypeMatchesNoRoom() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        when(roomTypeRegistry.findTypeId("Penthouse")).thenReturn(Optional.empty());
+
+        // When
+        Response response = roomService.getAvailableRoomsByDataAndType(checkIn, checkOut, "Penthouse");
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.getRoomList().isEmpty());
+        verify(roomRepository, never()).findAvailableRoomsByDatesAndTypeId(any(), any(), anyLong());
+    }
+
+    @Test
+    void testGetAvailableRoomsByDataAndType_UsesIndexWhenReady() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        RoomDTO indexedRoom = new RoomDTO();
+        indexedRoom.setId(1L);
+        indexedRoom.setRoomType("Deluxe");
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.findAvailableRooms(checkIn, checkOut, "Deluxe")).thenReturn(List.of(indexedRoom));
+
+        // When
+        Response response = roomService.getAvailableRoomsByDataAndType(checkIn, checkOut, "Deluxe");
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.getRoomList().size());
+        verify(roomRepository, never()).findAvailableRoomsByDatesAndTypeId(any(), any(), anyLong());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testCheckAvailabilityIndexConsistency_ReportsDifferences() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        Room otherRoom = new Room();
+        otherRoom.setId(2L);
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.findAvailableRoomIds(checkIn, checkOut, "Deluxe")).thenReturn(Set.of(1L, 3L));
+        when(roomTypeRegistry.findTypeId("Deluxe")).thenReturn(Optional.of(7L));
+        when(roomRepository.findAvailableRoomsByDatesAndTypeId(checkIn, checkOut, 7L))
+                .thenReturn(Arrays.asList(testRoom, otherRoom));
+
+        // When
+        Response response = roomService.checkAvailabilityIndexConsistency(checkIn, checkOut, "Deluxe");
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals("inconsistent: missing from index [2], only in index [3]", response.getMessage());
     }
 
     @Test
     void testGetAllAvailableRooms_Success() {
         // Given
         List<Room> availableRooms = Arrays.asList(testRoom);
-        when(roomRepository.getAllAvailableRooms()).thenReturn(availableRooms);
+        when(roomRepository.getAllAvailableRooms(LocalDate.now())).thenReturn(availableRooms);
 
         // When
         Response response = roomService.getAllAvailableRooms();
@@ -284,7 +608,91 @@ class RoomServiceTest {
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getRoomList());
         assertEquals("successful", response.getMessage());
-        verify(roomRepository, times(1)).getAllAvailableRooms();
+        verify(roomRepository, times(1)).getAllAvailableRooms(LocalDate.now());
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager, times(1)).commit(any());
     }
-}
 
+    @Test
+    void testGetAllAvailableRooms_UsesIndexWhenReady() {
+        // Given
+        RoomDTO indexedRoom = new RoomDTO();
+        indexedRoom.setId(1L);
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.findRoomsFreeFrom(LocalDate.now())).thenReturn(List.of(indexedRoom));
+
+        // When
+        Response response = roomService.getAllAvailableRooms();
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.getRoomList().size());
+        verify(roomRepository, never()).getAllAvailableRooms(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    // What RoomPhotoIngestion.apply does when the upload completes before submit returns
+    private PhotoUploadDTO completeUpload(Room uploaded) {
+        availabilityIndex.putRoom(uploaded);
+        roomCatalog.putRoom(uploaded);
+        return new PhotoUploadDTO();
+    }
+
+    private void assertLastPublished(Room room) {
+        ArgumentCaptor<Room> indexed = ArgumentCaptor.forClass(Room.class);
+        verify(availabilityIndex, atLeastOnce()).putRoom(indexed.capture());
+        assertSame(room, indexed.getAllValues().get(indexed.getAllValues().size() - 1));
+        ArgumentCaptor<Room> cataloged = ArgumentCaptor.forClass(Room.class);
+        verify(roomCatalog, atLeastOnce()).putRoom(cataloged.capture());
+        assertSame(room, cataloged.getAllValues().get(cataloged.getAllValues().size() - 1));
+    }
+
+    private static Room updatedRoom(RoomType type, String photoUrl, Room.PhotoStatus photoStatus) {
+        Room room = new Room();
+        room.setId(1L);
+        room.setType(type);
+        room.setRoomType(type.getName());
+        room.setRoomPrice(new BigDecimal("200.00"));
+        room.setRoomDescription("Updated description");
+        room.setRoomPhotoUrl(photoUrl);
+        room.setPhotoStatus(photoStatus);
+        return room;
+    }
+
+    private static RoomType roomType(Long id, String name) {
+        RoomType roomType = new RoomType();
+        roomType.setId(id);
+        roomType.setName(name);
+        roomType.setNameKey(RoomType.keyOf(name));
+        return roomType;
+    }
+
+    private static BookingRepository.CascadedBookingRow cascadedBooking(Long bookingId, Long roomId, Booking.BookingStatus status) {
+        return new BookingRepository.CascadedBookingRow() {
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Booking.BookingStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Payment.PaymentStatus getPaymentStatus() {
+                return null;
+            }
+
+            @Override
+            public BigDecimal getPaymentAmount() {
+                return null;
+            }
+        };
+    }
+}
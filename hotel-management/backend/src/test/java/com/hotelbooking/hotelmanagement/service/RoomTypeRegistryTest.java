@@ -0,0 +1,96 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.entity.RoomType;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class RoomTypeRegistryTest {
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private RoomTypeRegistry roomTypeRegistry;
+
+    @Test
+    void testResolve_CreatesTypeOnceAndCachesIt() {
+        when(roomTypeRepository.findByNameKey("deluxe suite")).thenReturn(Optional.empty());
+        when(roomTypeRepository.save(any(RoomType.class))).thenAnswer(invocation -> {
+            RoomType saved = invocation.getArgument(0);
+            saved.setId(4L);
+            return saved;
+        });
+
+        RoomType created = roomTypeRegistry.resolve(" Deluxe Suite ");
+        RoomType resolved = roomTypeRegistry.resolve("DELUXE SUITE");
+
+        assertEquals("Deluxe Suite", created.getName());
+        assertEquals("deluxe suite", created.getNameKey());
+        assertSame(created, resolved);
+        assertEquals(Optional.of(4L), roomTypeRegistry.findTypeId("deluxe suite"));
+        verify(roomTypeRepository, times(1)).findByNameKey("deluxe suite");
+        verify(roomTypeRepository, times(1)).save(any(RoomType.class));
+    }
+
+    @Test
+    void testResolve_UsesTypeCreatedConcurrently() {
+        RoomType existing = roomType(2L, "Suite");
+        when(roomTypeRepository.findByNameKey("suite")).thenReturn(Optional.empty()).thenReturn(Optional.of(existing));
+        when(roomTypeRepository.save(any(RoomType.class))).thenThrow(new DataIntegrityViolationException("uk_room_types_name_key"));
+
+        assertSame(existing, roomTypeRegistry.resolve("Suite"));
+    }
+
+    @Test
+    void testResolve_RejectsBlankName() {
+        assertThrows(IllegalArgumentException.class, () -> roomTypeRegistry.resolve(" "));
+        assertThrows(IllegalArgumentException.class, () -> roomTypeRegistry.resolve(null));
+    }
+
+    @Test
+    void testFindTypeId_UnknownTypeIsNotCached() {
+        when(roomTypeRepository.findByNameKey("penthouse")).thenReturn(Optional.empty());
+
+        assertTrue(roomTypeRegistry.findTypeId("Penthouse").isEmpty());
+        assertTrue(roomTypeRegistry.findTypeId("Penthouse").isEmpty());
+        verify(roomTypeRepository, times(2)).findByNameKey("penthouse");
+    }
+
+    @Test
+    void testBackfill_AssignsTypesToUntypedRooms() {
+        RoomType deluxe = roomType(1L, "Deluxe");
+        when(roomRepository.findDistinctUntypedRoomTypes()).thenReturn(List.of("Deluxe", "deluxe ", ""));
+        when(roomTypeRepository.findByNameKey("deluxe")).thenReturn(Optional.of(deluxe));
+        when(roomRepository.assignType("Deluxe", deluxe)).thenReturn(3);
+        when(roomRepository.assignType("deluxe ", deluxe)).thenReturn(1);
+
+        assertEquals(4, roomTypeRegistry.backfill());
+        verify(roomTypeRepository, never()).save(any(RoomType.class));
+    }
+
+    private static RoomType roomType(Long id, String name) {
+        RoomType roomType = new RoomType();
+        roomType.setId(id);
+        roomType.setName(name);
+        roomType.setNameKey(RoomType.keyOf(name));
+        return roomType;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.service.impl.RoomService;
+import com.hotelbooking.hotelmanagement.service.interfac.IRoomService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class ServiceMetricsTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomPhotoIngestion photoIngestion;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @InjectMocks
+    private RoomService roomService;
+
+    private SimpleMeterRegistry registry;
+    private IRoomService timedRoomService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(roomService);
+        proxyFactory.addAspect(new ServiceMetrics(registry));
+        timedRoomService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testServiceCalls_TimedByResponseStatusCode() {
+        Room room = new Room();
+        room.setId(1L);
+        room.setRoomType("Deluxe");
+        room.setRoomPrice(new BigDecimal("150.00"));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(roomRepository.findById(2L)).thenReturn(Optional.empty());
+
+        timedRoomService.getRoomById(1L);
+        timedRoomService.getRoomById(1L);
+        timedRoomService.getRoomById(2L);
+
+        assertEquals(2, timer("getRoomById", "200").count());
+        assertEquals(1, timer("getRoomById", "404").count());
+        assertTrue(timer("getRoomById", "200").totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testServiceCalls_NonResponseResultAndException() {
+        when(roomRepository.findDistinctRoomTypes()).thenReturn(List.of("Deluxe")).thenThrow(new IllegalStateException("down"));
+
+        assertEquals(List.of("Deluxe"), timedRoomService.getAllRoomTypes());
+        assertThrows(IllegalStateException.class, () -> timedRoomService.getAllRoomTypes());
+
+        assertEquals(1, timer("getAllRoomTypes", "success").count());
+        assertEquals(1, timer("getAllRoomTypes", "exception").count());
+    }
+
+    private Timer timer(String method, String outcome) {
+        Timer timer = registry.find(ServiceMetrics.TIMER_NAME)
+                .tags("service", "RoomService", "method", method, "outcome", outcome)
+                .timer();
+        assertNotNull(timer, method + " " + outcome);
+        return timer;
+    }
+}
@@ -0,0 +1,293 @@
+package com.hotelbooking.hotelmanagement.service;
+
+import com.hotelbooking.hotelmanagement.dto.GroupBookingRequest;
+import com.hotelbooking.hotelmanagement.dto.LoginRequest;
+import com.hotelbooking.hotelmanagement.dto.Response;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
+import com.hotelbooking.hotelmanagement.entity.Room;
+import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
+import com.hotelbooking.hotelmanagement.repo.PaymentRepository;
+import com.hotelbooking.hotelmanagement.repo.RoomRepository;
+import com.hotelbooking.hotelmanagement.repo.UserRepository;
+import com.hotelbooking.hotelmanagement.service.impl.BookingService;
+import com.hotelbooking.hotelmanagement.service.impl.PaymentService;
+import com.hotelbooking.hotelmanagement.service.impl.RoomService;
+import com.hotelbooking.hotelmanagement.service.impl.UserService;
+import com.hotelbooking.hotelmanagement.service.interfac.IBookingService;
+import com.hotelbooking.hotelmanagement.service.interfac.IPaymentService;
+import com.hotelbooking.hotelmanagement.service.interfac.IRoomService;
+import com.hotelbooking.hotelmanagement.service.interfac.IUserService;
+import com.hotelbooking.hotelmanagement.support.SqlStatementCounter;
+import com.hotelbooking.hotelmanagement.support.SqlStatementReport;
+import com.hotelbooking.hotelmanagement.utils.JWTUtils;
+import com.hotelbooking.hotelmanagement.utils.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement, entity-load and collection-fetch budgets for every method of IBookingService,
+ * IRoomService, IUserService and IPaymentService, run against the H2 test database. A budget
+ * that starts failing usually means a new query per row; raise it only when the extra SQL is
+ * intended. The counts of every call are written to target/sql-statement-counts.md.
+ */
+@DataJpaTest(properties = SqlStatementCounter.ENABLE_STATISTICS)
+@ActiveProfiles("test")
+@Import({SqlStatementCounter.class, UserService.class, BookingService.class, RoomService.class, PaymentService.class,
+        DashboardCounters.class, RoomAvailabilityIndex.class, RoomBookingLocks.class, RoomCatalog.class, RoomCatalogVersion.class,
+        RoomTypeRegistry.class, JWTUtils.class})
+@ExtendWith(SqlStatementReport.class)
+@SuppressWarnings("null")
+class ServiceStatementCountTest {
+
+    private static final int ROOMS = 3;
+    private static final int USERS = 4;
+    private static final int BOOKINGS_PER_USER = 5;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @MockitoBean
+    private RoomPhotoIngestion photoIngestion;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IBookingService bookingService;
+
+    @Autowired
+    private IRoomService roomService;
+
+    @Autowired
+    private IPaymentService paymentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    private Room room;
+    private User guest;
+    private Booking paidBooking;
+    private Booking unpaidBooking;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        Room[] rooms = new Room[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            rooms[i] = new Room();
+            rooms[i].setRoomType("Type " + i);
+            rooms[i].setRoomPrice(new BigDecimal("100.00"));
+            roomRepository.save(rooms[i]);
+        }
+        room = rooms[0];
+        int code = 0;
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("User " + u);
+            user.setEmail("user" + u + "@example.com");
+            user.setPhoneNumber("12345678" + u);
+            user.setPassword("$2a$10$storedhash");
+            user.setRole("USER");
+            userRepository.save(user);
+            for (int b = 0; b < BOOKINGS_PER_USER; b++) {
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setRoom(rooms[code % ROOMS]);
+                booking.setCheckInDate(LocalDate.of(2030, 1, 1).plusDays(code));
+                booking.setCheckOutDate(booking.getCheckInDate().plusDays(1));
+                booking.setNumOfAdults(1);
+                booking.setBookingConfirmationCode("CODE" + code++);
+                bookingRepository.save(booking);
+                if (b == BOOKINGS_PER_USER - 1) {
+                    unpaidBooking = booking;
+                    continue;
+                }
+                Payment payment = new Payment();
+                payment.setBooking(booking);
+                payment.setAmount(new BigDecimal("100.00"));
+                payment.setStatus(Payment.PaymentStatus.SUCCESS);
+                paymentRepository.save(payment);
+                paidBooking = booking;
+            }
+            guest = user;
+        }
+        roomCatalog.reload();
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$encoded");
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void testBookingServiceBudgets() {
+        Booking request = new Booking();
+        request.setCheckInDate(LocalDate.of(2031, 1, 1));
+        request.setCheckOutDate(LocalDate.of(2031, 1, 3));
+        request.setNumOfAdults(2);
+        assertOk(counter.measure("IBookingService.saveBooking",
+                () -> bookingService.saveBooking(room.getId(), guest.getId(), request)).assertAtMost(4, 3, 0));
+
+        GroupBookingRequest groupRequest = new GroupBookingRequest();
+        groupRequest.setRoomIds(roomRepository.findAll().stream().map(Room::getId).toList());
+        groupRequest.setCheckInDate(LocalDate.of(2032, 1, 1));
+        groupRequest.setCheckOutDate(LocalDate.of(2032, 1, 3));
+        groupRequest.setNumOfAdults(2);
+        // Rooms, user and one overlap query for all rooms; the batched JDBC insert is not seen by Hibernate
+        assertOk(counter.measure("IBookingService.saveGroupBooking",
+                () -> bookingService.saveGroupBooking(guest.getId(), groupRequest)).assertAtMost(3, ROOMS + 1, 0));
+        assertEquals(ROOMS, bookingRepository.findAll().stream()
+                .filter(booking -> LocalDate.of(2032, 1, 1).equals(booking.getCheckInDate())).count());
+
+        assertOk(counter.measure("IBookingService.findBookingByConfirmationCode",
+                () -> bookingService.findBookingByConfirmationCode("CODE0")).assertAtMost(1, 4, 0));
+
+        assertOk(counter.measure("IBookingService.getAllBookings",
+                () -> bookingService.getAllBookings(null, null)).assertAtMost(1, 2 * KeysetCursor.DEFAULT_LIMIT + USERS, 0));
+
+        assertOk(counter.measure("IBookingService.cancelBooking",
+                () -> bookingService.cancelBooking(paidBooking.getId())).assertAtMost(2, 3, 0));
+    }
+
+    @Test
+    void testRoomServiceBudgets() {
+        // The first room of a type looks the type up and creates it; later ones find it cached
+        assertOk(counter.measure("IRoomService.addNewRoom",
+                () -> roomService.addNewRoom(null, "Suite", new BigDecimal("300.00"), "Sea view")).assertAtMost(3, 0, 0));
+
+        List<String> types = counter.measure("IRoomService.getAllRoomTypes",
+                () -> roomService.getAllRoomTypes()).assertAtMost(0, 0, 0);
+        assertFalse(types.isEmpty());
+
+        List<String> suggestions = counter.measure("IRoomService.suggestRoomTypes",
+                () -> roomService.suggestRoomTypes("type", 5)).assertAtMost(0, 0, 0);
+        assertEquals(ROOMS, suggestions.size());
+
+        // Until the catalog has loaded, suggestions come from one query for the distinct types
+        ReflectionTestUtils.setField(roomCatalog, "ready", false);
+        List<String> fallbackSuggestions = counter.measure("IRoomService.suggestRoomTypes (catalog not ready)",
+                () -> roomService.suggestRoomTypes("type", 5)).assertAtMost(1, 0, 0);
+        assertEquals(suggestions, fallbackSuggestions);
+        roomCatalog.reload();
+
+        assertOk(counter.measure("IRoomService.getAllRooms",
+                () -> roomService.getAllRooms(null, null)).assertAtMost(0, 0, 0));
+
+        // Read, targeted UPDATE of the edited columns, re-read of the row as it now stands
+        assertOk(counter.measure("IRoomService.updateRoom",
+                () -> roomService.updateRoom(room.getId(), "Renovated", null, null, null)).assertAtMost(3, 2, 0));
+
+        assertOk(counter.measure("IRoomService.getPhotoUploadStatus",
+                () -> roomService.getPhotoUploadStatus(room.getId())).assertAtMost(1, 1, 0));
+
+        assertOk(counter.measure("IRoomService.getRoomById",
+                () -> roomService.getRoomById(room.getId())).assertAtMost(1, 0, 0));
+
+        assertOk(counter.measure("IRoomService.getAvailableRoomsByDataAndType",
+                () -> roomService.getAvailableRoomsByDataAndType(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3), "Type 0"))
+                .assertAtMost(0, 0, 0));
+
+        // No type checks every room; only the room added above is free on the nights of January 1 to 3
+        assertOk(counter.measure("IRoomService.checkAvailabilityIndexConsistency",
+                () -> roomService.checkAvailabilityIndexConsistency(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 4), null))
+                .assertAtMost(1, 1, 0));
+
+        assertOk(counter.measure("IRoomService.getAllAvailableRooms",
+                () -> roomService.getAllAvailableRooms()).assertAtMost(1, 1, 0));
+
+        Room spare = new Room();
+        spare.setRoomType("Spare");
+        spare.setRoomPrice(new BigDecimal("50.00"));
+        roomRepository.save(spare);
+        // One projection query reads what the dashboard counters need of the cascaded bookings
+        assertOk(counter.measure("IRoomService.deleteRoom",
+                () -> roomService.deleteRoom(spare.getId())).assertAtMost(4, 1, 1));
+    }
+
+    @Test
+    void testUserServiceBudgets() {
+        User user = new User();
+        user.setName("New Guest");
+        user.setEmail("new@example.com");
+        user.setPhoneNumber("5550000");
+        user.setPassword("secret");
+        assertOk(counter.measure("IUserService.register",
+                () -> userService.register(user)).assertAtMost(2, 0, 0));
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(guest.getEmail());
+        login.setPassword("secret");
+        assertOk(counter.measure("IUserService.login",
+                () -> userService.login(login)).assertAtMost(1, 1, 0));
+
+        assertOk(counter.measure("IUserService.getAllUsers",
+                () -> userService.getAllUsers(null, null)).assertAtMost(1, USERS + 1, 0));
+
+        assertOk(counter.measure("IUserService.getUserBookingHistory",
+                () -> userService.getUserBookingHistory(String.valueOf(guest.getId()))).assertAtMost(2, 1, 0));
+
+        assertOk(counter.measure("IUserService.getUserById",
+                () -> userService.getUserById(String.valueOf(guest.getId()))).assertAtMost(1, 1, 0));
+
+        assertOk(counter.measure("IUserService.getMyInfo",
+                () -> userService.getMyInfo(guest.getEmail())).assertAtMost(1, 1, 0));
+
+        User spare = new User();
+        spare.setName("Spare");
+        spare.setEmail("spare@example.com");
+        spare.setPhoneNumber("5550001");
+        spare.setPassword("secret");
+        spare.setRole("USER");
+        userRepository.save(spare);
+        // One projection query reads what the dashboard counters need of the cascaded bookings
+        assertOk(counter.measure("IUserService.deleteUser",
+                () -> userService.deleteUser(String.valueOf(spare.getId()))).assertAtMost(4, 1, 1));
+    }
+
+    @Test
+    void testPaymentServiceBudgets() {
+        Response payment = counter.measure("IPaymentService.processPayment",
+                () -> paymentService.processPayment(unpaidBooking.getId(), new BigDecimal("100.00"))).assertAtMost(3, 2, 0);
+        assertOk(payment);
+
+        assertOk(counter.measure("IPaymentService.getPaymentByBookingId",
+                () -> paymentService.getPaymentByBookingId(paidBooking.getId())).assertAtMost(2, 3, 0));
+    }
+
+    private static void assertOk(Response response) {
+        assertEquals(200, response.getStatusCode(), response.getMessage());
+    }
+}
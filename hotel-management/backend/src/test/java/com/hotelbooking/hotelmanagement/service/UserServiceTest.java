@@ -3,7 +3,10 @@ package com.hotelbooking.hotelmanagement.service;
 import com.hotelbooking.hotelmanagement.dto.LoginRequest;
 import com.hotelbooking.hotelmanagement.dto.Response;
 import com.hotelbooking.hotelmanagement.dto.UserDTO;
+import com.hotelbooking.hotelmanagement.entity.Booking;
+import com.hotelbooking.hotelmanagement.entity.Payment;
 import com.hotelbooking.hotelmanagement.entity.User;
+import com.hotelbooking.hotelmanagement.repo.BookingRepository;
 import com.hotelbooking.hotelmanagement.repo.UserRepository;
 import com.hotelbooking.hotelmanagement.service.impl.UserService;
 import com.hotelbooking.hotelmanagement.utils.JWTUtils;
@@ -12,13 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -34,12 +40,28 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
     private JWTUtils jwtUtils;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    // Real counters, so that the writes run inside mutate
+    @Spy
+    private DashboardCounters dashboardCounters = new DashboardCounters();
+
+    @Mock
+    private RoomCatalogVersion catalogVersion;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
     @Mock
     private AuthenticationManager authenticationManager;
 
@@ -202,16 +224,17 @@ class UserServiceTest {
     void testGetAllUsers_Success() {
         // Given
         List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(101))).thenReturn(users);
 
         // When
-        Response response = userService.getAllUsers();
+        Response response = userService.getAllUsers(5L, 500);
 
         // Then
         assertEquals(200, response.getStatusCode());
         assertNotNull(response.getUserList());
         assertEquals("successful", response.getMessage());
-        verify(userRepository, times(1)).findAll();
+        assertNull(response.getNextCursor());
+        verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(5L, Limit.of(101));
     }
 
     @Test
@@ -271,6 +294,8 @@ class UserServiceTest {
     void testDeleteUser_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findCascadedBookingsByUserId(1L))
+                .thenReturn(List.of(cascadedBooking(5L, 2L, Booking.BookingStatus.CONFIRMED)));
         doNothing().when(userRepository).deleteById(1L);
 
         // When
@@ -281,6 +306,10 @@ class UserServiceTest {
         assertEquals("successful", response.getMessage());
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(customUserDetailsService, times(1)).evictUser(testUser.getEmail());
+        verify(availabilityIndex, times(1)).removeBooking(2L, 5L);
+        verify(dashboardCounters, times(1)).bookingRemoved(argThat(booking -> booking.getBookingId() == 5L));
+        verify(catalogVersion, times(1)).bookingsChanged();
     }
 
     @Test
@@ -301,6 +330,7 @@ class UserServiceTest {
     void testGetUserBookingHistory_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.findHistoryByUserId(1L)).thenReturn(List.of());
 
         // When
         Response response = userService.getUserBookingHistory("1");
@@ -310,6 +340,35 @@ class UserServiceTest {
         assertNotNull(response.getUser());
         assertEquals("successful", response.getMessage());
         verify(userRepository, times(1)).findById(1L);
+        verify(bookingRepository, times(1)).findHistoryByUserId(1L);
     }
-}
 
+    private static BookingRepository.CascadedBookingRow cascadedBooking(Long bookingId, Long roomId, Booking.BookingStatus status) {
+        return new BookingRepository.CascadedBookingRow() {
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Booking.BookingStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Payment.PaymentStatus getPaymentStatus() {
+                return null;
+            }
+
+            @Override
+            public BigDecimal getPaymentAmount() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.hotelbooking.hotelmanagement.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL a single service call causes, using Hibernate statistics.
+ *
+ * Import it into a {@code @DataJpaTest} that sets {@link #ENABLE_STATISTICS}. Each call is measured
+ * against an empty persistence context and flushed before counting, so its writes are included.
+ * Every measurement is also recorded for the table printed by {@link SqlStatementReport}.
+ */
+public class SqlStatementCounter {
+
+    public static final String ENABLE_STATISTICS = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    // Highest counts seen per call label across the test run, in label order for the report
+    private static final Map<String, Counts> RECORDED = new TreeMap<>();
+
+    private final EntityManager entityManager;
+
+    public SqlStatementCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public <T> Measurement<T> measure(String call, Supplier<T> action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "Hibernate statistics are off, add SqlStatementCounter.ENABLE_STATISTICS to the test properties");
+        statistics.clear();
+
+        T result = action.get();
+        entityManager.flush();
+
+        Counts counts = new Counts(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(),
+                statistics.getCollectionFetchCount());
+        synchronized (RECORDED) {
+            RECORDED.merge(call, counts, Counts::max);
+        }
+        return new Measurement<>(call, result, counts);
+    }
+
+    static Map<String, Counts> recorded() {
+        synchronized (RECORDED) {
+            return new TreeMap<>(RECORDED);
+        }
+    }
+
+    /**
+     * statements is every JDBC statement prepared (queries and writes), entityLoads the entities
+     * hydrated from result sets and collectionFetches the lazy collections initialized.
+     */
+    public record Counts(long statements, long entityLoads, long collectionFetches) {
+
+        static Counts max(Counts a, Counts b) {
+            return new Counts(Math.max(a.statements, b.statements), Math.max(a.entityLoads, b.entityLoads),
+                    Math.max(a.collectionFetches, b.collectionFetches));
+        }
+    }
+
+    public record Measurement<T>(String call, T result, Counts counts) {
+
+        public T assertAtMost(long statements, long entityLoads, long collectionFetches) {
+            assertAll(call,
+                    () -> assertTrue(counts.statements() <= statements,
+                            call + " ran " + counts.statements() + " statements, budget " + statements),
+                    () -> assertTrue(counts.entityLoads() <= entityLoads,
+                            call + " loaded " + counts.entityLoads() + " entities, budget " + entityLoads),
+                    () -> assertTrue(counts.collectionFetches() <= collectionFetches,
+                            call + " fetched " + counts.collectionFetches() + " collections, budget " + collectionFetches));
+            return result;
+        }
+
+        public T assertStatements(long statements) {
+            assertEquals(statements, counts.statements(), call + " statement count");
+            return result;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotelbooking.hotelmanagement.support;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Prints the statement counts recorded by {@link SqlStatementCounter} after a test class and writes
+ * them, for every class run so far, to target/sql-statement-counts.md.
+ */
+public class SqlStatementReport implements AfterAllCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementReport.class);
+
+    static final Path REPORT_FILE = Path.of("target", "sql-statement-counts.md");
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        String table = table(SqlStatementCounter.recorded());
+        log.info("SQL statement counts per service call:\n{}", table);
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, table, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not write {}", REPORT_FILE, e);
+        }
+    }
+
+    static String table(Map<String, SqlStatementCounter.Counts> counts) {
+        int width = Math.max("Call".length(), counts.keySet().stream().mapToInt(String::length).max().orElse(0));
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("| %-" + width + "s | Statements | Entity loads | Collection fetches |%n", "Call"));
+        table.append("|").append("-".repeat(width + 2)).append("|------------|--------------|--------------------|")
+                .append(System.lineSeparator());
+        counts.forEach((call, count) -> table.append(String.format("| %-" + width + "s | %10d | %12d | %18d |%n",
+                call, count.statements(), count.entityLoads(), count.collectionFetches())));
+        return table.toString();
+    }
+}
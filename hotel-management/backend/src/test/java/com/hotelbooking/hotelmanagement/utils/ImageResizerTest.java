@@ -0,0 +1,63 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteJpegVariants_KeepsAspectRatio() throws IOException {
+        File source = image(4000, 3000, BufferedImage.TYPE_INT_RGB, "png");
+        File medium = tempDir.resolve("medium.jpg").toFile();
+        File thumbnail = tempDir.resolve("thumb.jpg").toFile();
+
+        boolean[] written = ImageResizer.writeJpegVariants(source, new int[]{1280, 320}, new File[]{medium, thumbnail}, 0.8f);
+
+        assertArrayEquals(new boolean[]{true, true}, written);
+        BufferedImage mediumImage = ImageIO.read(medium);
+        assertEquals(1280, mediumImage.getWidth());
+        assertEquals(960, mediumImage.getHeight());
+        BufferedImage thumbnailImage = ImageIO.read(thumbnail);
+        assertEquals(320, thumbnailImage.getWidth());
+        assertEquals(240, thumbnailImage.getHeight());
+    }
+
+    @Test
+    void testWriteJpegVariants_SkipsSizesNotSmallerThanSource() throws IOException {
+        File source = image(800, 1000, BufferedImage.TYPE_INT_ARGB, "png");
+        File medium = tempDir.resolve("medium.jpg").toFile();
+        File thumbnail = tempDir.resolve("thumb.jpg").toFile();
+
+        boolean[] written = ImageResizer.writeJpegVariants(source, new int[]{1280, 320}, new File[]{medium, thumbnail}, 0.8f);
+
+        assertArrayEquals(new boolean[]{false, true}, written);
+        assertEquals(320, ImageIO.read(thumbnail).getHeight());
+    }
+
+    @Test
+    void testWriteJpegVariants_RejectsNonImage() throws IOException {
+        File source = tempDir.resolve("notes.txt").toFile();
+        Files.writeString(source.toPath(), "not an image");
+
+        assertThrows(IOException.class, () -> ImageResizer.writeJpegVariants(source, new int[]{320},
+                new File[]{tempDir.resolve("thumb.jpg").toFile()}, 0.8f));
+    }
+
+    private File image(int width, int height, int type, String format) throws IOException {
+        File file = tempDir.resolve("source." + format).toFile();
+        ImageIO.write(new BufferedImage(width, height, type), format, file);
+        return file;
+    }
+}
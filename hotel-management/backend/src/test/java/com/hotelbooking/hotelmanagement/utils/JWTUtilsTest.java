@@ -0,0 +1,83 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTUtilsTest {
+
+    private final UserDetails userDetails = User.withUsername("guest@example.com").password("secret").authorities("USER").build();
+
+    @Test
+    void testValidateToken_ReturnsClaimsAndCachesVerification() {
+        JWTUtils jwtUtils = new JWTUtils(100, Duration.ofMinutes(10));
+        String token = jwtUtils.generateToken(userDetails);
+
+        JWTUtils.VerifiedToken first = jwtUtils.validateToken(token);
+        JWTUtils.VerifiedToken second = jwtUtils.validateToken(token);
+
+        assertEquals("guest@example.com", first.subject());
+        assertNotNull(first.expiration());
+        assertSame(first, second);
+        assertTrue(jwtUtils.isValidToken(token, userDetails));
+    }
+
+    @Test
+    void testValidateToken_RejectsTamperedToken() {
+        JWTUtils jwtUtils = new JWTUtils(100, Duration.ofMinutes(10));
+        String token = jwtUtils.generateToken(userDetails);
+        jwtUtils.validateToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtils.validateToken(tampered));
+    }
+
+    @Test
+    void testExpiringCache_DropsExpiredEntriesAndStaysBounded() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock);
+
+        cache.put("short", "value", clock.millis() + 1_000);
+        clock.advance(Duration.ofSeconds(2));
+        assertNull(cache.get("short"));
+
+        for (int i = 0; i < 25; i++) {
+            cache.put("key" + i, "value" + i, clock.millis() + 60_000);
+        }
+        assertTrue(cache.size() <= 10);
+        assertEquals("value24", cache.get("key24"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
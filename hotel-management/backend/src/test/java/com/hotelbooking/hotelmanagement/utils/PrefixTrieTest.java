@@ -0,0 +1,29 @@
+package com.hotelbooking.hotelmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = PrefixTrie.of(Arrays.asList(
+            "Suite", "Deluxe Suite", "Deluxe", "Double", "deluxe", "Standard", null, " "));
+
+    @Test
+    void testSuggest_MatchesPrefixIgnoringCaseInAlphabeticalOrder() {
+        assertEquals(List.of("Deluxe", "deluxe", "Deluxe Suite", "Double"), trie.suggest("d", 10));
+        assertEquals(List.of("Deluxe", "deluxe", "Deluxe Suite"), trie.suggest(" DEL", 10));
+        assertEquals(List.of("Deluxe Suite"), trie.suggest("deluxe ", 10));
+        assertEquals(List.of(), trie.suggest("Penthouse", 10));
+    }
+
+    @Test
+    void testSuggest_StopsAtLimit() {
+        assertEquals(List.of("Deluxe", "deluxe"), trie.suggest("de", 2));
+        assertEquals(List.of("Deluxe", "deluxe", "Deluxe Suite", "Double", "Standard"), trie.suggest(null, 5));
+        assertEquals(List.of(), trie.suggest("", 0));
+    }
+}
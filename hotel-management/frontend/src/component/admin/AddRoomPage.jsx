@@ -88,7 +88,9 @@ const AddRoomPage = () => {
 
             const result = await ApiService.addRoom(formData);
             if (result.statusCode === 200) {
-                setSuccess('Room Added successfully.');
+                setSuccess(result.photoUpload
+                    ? 'Room Added successfully. The photo is being uploaded and will appear shortly.'
+                    : 'Room Added successfully.');
                 
                 setTimeout(() => {
                     setSuccess('');
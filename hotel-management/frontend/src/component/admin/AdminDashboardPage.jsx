@@ -1,11 +1,62 @@
 import React, { useState, useEffect } from 'react';
 import ApiService from '../../service/ApiService';
 
+const PAGE_SIZE = 20;
+
+// Response field holding the items of each dashboard list
+const LIST_FIELDS = {
+    users: 'userList',
+    bookings: 'bookingList',
+    rooms: 'roomList',
+    payments: 'paymentList'
+};
+
+const emptyLists = () => ({
+    users: { items: [], nextCursor: null },
+    bookings: { items: [], nextCursor: null },
+    rooms: { items: [], nextCursor: null },
+    payments: { items: [], nextCursor: null }
+});
+
 const AdminDashboardPage = () => {
     const [dashboardData, setDashboardData] = useState(null);
+    const [lists, setLists] = useState(emptyLists);
+    const [loadingMore, setLoadingMore] = useState(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
 
+    const fetchPage = async (list, after) => {
+        const response = await ApiService.getDashboardPage(list, { after, limit: PAGE_SIZE });
+        if (response.statusCode !== 200) {
+            throw new Error(response.message || `Failed to load ${list}`);
+        }
+        return { items: response[LIST_FIELDS[list]] || [], nextCursor: response.nextCursor || null };
+    };
+
+    const loadMore = async (list) => {
+        try {
+            setLoadingMore(list);
+            const page = await fetchPage(list, lists[list].nextCursor);
+            setLists((current) => ({
+                ...current,
+                [list]: { items: [...current[list].items, ...page.items], nextCursor: page.nextCursor }
+            }));
+        } catch (err) {
+            console.error('Dashboard list error:', err);
+            setError(err.response?.data?.message || err.message);
+        } finally {
+            setLoadingMore(null);
+        }
+    };
+
+    const renderLoadMore = (list) => lists[list].nextCursor && (
+        <div style={{ textAlign: 'center', marginTop: '10px' }}>
+            <button onClick={() => loadMore(list)} disabled={loadingMore === list}>
+                {loadingMore === list ? 'Loading...' : 'Load more'}
+            </button>
+        </div>
+    );
+
     const fetchDashboardData = async () => {
         try {
             setLoading(true);
@@ -18,9 +69,12 @@ const AdminDashboardPage = () => {
                 return;
             }
             
-            const response = await ApiService.getDashboardStatistics();
+            const response = await ApiService.getDashboardSummary();
             if (response.statusCode === 200) {
                 setDashboardData(response.dashboard);
+                const [users, bookings, rooms, payments] = await Promise.all(
+                    Object.keys(LIST_FIELDS).map((list) => fetchPage(list)));
+                setLists({ users, bookings, rooms, payments });
             } else {
                 setError(response.message || 'Failed to load dashboard data');
             }
@@ -286,7 +340,7 @@ Please try:
             <div className="dashboard-sections">
                 {/* All Users Section */}
                 <div className="dashboard-section">
-                    <h2>All Registered Users ({dashboardData.allUsers?.length || 0})</h2>
+                    <h2>All Registered Users ({dashboardData.totalUsers || 0})</h2>
                     <div className="table-container">
                         <table className="dashboard-table">
                             <thead>
@@ -299,8 +353,8 @@ Please try:
                                 </tr>
                             </thead>
                             <tbody>
-                                {dashboardData.allUsers && dashboardData.allUsers.length > 0 ? (
-                                    dashboardData.allUsers.map((user) => (
+                                {lists.users.items.length > 0 ? (
+                                    lists.users.items.map((user) => (
                                         <tr key={user.id}>
                                             <td>{user.id}</td>
                                             <td>{user.name}</td>
@@ -321,11 +375,12 @@ Please try:
                             </tbody>
                         </table>
                     </div>
+                    {renderLoadMore('users')}
                 </div>
 
                 {/* All Bookings Section */}
                 <div className="dashboard-section">
-                    <h2>All Bookings ({dashboardData.allBookings?.length || 0})</h2>
+                    <h2>All Bookings ({dashboardData.totalBookings || 0})</h2>
                     <div className="table-container">
                         <table className="dashboard-table">
                             <thead>
@@ -340,8 +395,8 @@ Please try:
                                 </tr>
                             </thead>
                             <tbody>
-                                {dashboardData.allBookings && dashboardData.allBookings.length > 0 ? (
-                                    dashboardData.allBookings.map((booking) => (
+                                {lists.bookings.items.length > 0 ? (
+                                    lists.bookings.items.map((booking) => (
                                         <tr key={booking.id}>
                                             <td>{booking.id}</td>
                                             <td>{booking.bookingConfirmationCode}</td>
@@ -364,11 +419,12 @@ Please try:
                             </tbody>
                         </table>
                     </div>
+                    {renderLoadMore('bookings')}
                 </div>
 
                 {/* Payment Summary Section */}
                 <div className="dashboard-section">
-                    <h2>Payment Summary ({dashboardData.allPayments?.length || 0})</h2>
+                    <h2>Payment Summary ({dashboardData.totalPayments || 0})</h2>
                     <div className="table-container">
                         <table className="dashboard-table">
                             <thead>
@@ -381,8 +437,8 @@ Please try:
                                 </tr>
                             </thead>
                             <tbody>
-                                {dashboardData.allPayments && dashboardData.allPayments.length > 0 ? (
-                                    dashboardData.allPayments.map((payment) => (
+                                {lists.payments.items.length > 0 ? (
+                                    lists.payments.items.map((payment) => (
                                         <tr key={payment.id}>
                                             <td>{payment.id}</td>
                                             <td>{payment.bookingId}</td>
@@ -403,11 +459,12 @@ Please try:
                             </tbody>
                         </table>
                     </div>
+                    {renderLoadMore('payments')}
                 </div>
 
                 {/* All Rooms Section */}
                 <div className="dashboard-section">
-                    <h2>All Rooms ({dashboardData.allRooms?.length || 0})</h2>
+                    <h2>All Rooms ({dashboardData.totalRooms || 0})</h2>
                     <div className="table-container">
                         <table className="dashboard-table">
                             <thead>
@@ -420,8 +477,8 @@ Please try:
                                 </tr>
                             </thead>
                             <tbody>
-                                {dashboardData.allRooms && dashboardData.allRooms.length > 0 ? (
-                                    dashboardData.allRooms.map((room) => (
+                                {lists.rooms.items.length > 0 ? (
+                                    lists.rooms.items.map((room) => (
                                         <tr key={room.id}>
                                             <td>{room.id}</td>
                                             <td>{room.roomType}</td>
@@ -432,7 +489,7 @@ Please try:
                                             <td>
                                                 {room.roomPhotoUrl ? (
                                                     <img 
-                                                        src={room.roomPhotoUrl} 
+                                                        src={room.roomPhotoThumbnailUrl || room.roomPhotoUrl} 
                                                         alt={room.roomType}
                                                         style={{ width: '80px', height: '60px', objectFit: 'cover', borderRadius: '4px' }}
                                                         onError={(e) => {
@@ -454,6 +511,7 @@ Please try:
                             </tbody>
                         </table>
                     </div>
+                    {renderLoadMore('rooms')}
                 </div>
             </div>
         </div>
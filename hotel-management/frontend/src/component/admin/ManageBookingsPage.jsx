@@ -3,21 +3,26 @@ import { useNavigate } from 'react-router-dom';
 import ApiService from '../../service/ApiService';
 import Pagination from '../common/Pagination';
 
+const PAGE_SIZE = 100;
+
 const ManageBookingsPage = () => {
     const [bookings, setBookings] = useState([]);
     const [filteredBookings, setFilteredBookings] = useState([]);
     const [searchTerm, setSearchTerm] = useState('');
     const [currentPage, setCurrentPage] = useState(1);
     const [bookingsPerPage] = useState(6);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const navigate = useNavigate();
 
     useEffect(() => {
         const fetchBookings = async () => {
             try {
-                const response = await ApiService.getAllBookings();
+                const response = await ApiService.getAllBookings({ limit: PAGE_SIZE });
                 const allBookings = response.bookingList;
                 setBookings(allBookings);
                 setFilteredBookings(allBookings);
+                setNextCursor(response.nextCursor || null);
             } catch (error) {
                 console.error('Error fetching bookings:', error.message);
             }
@@ -26,6 +31,20 @@ const ManageBookingsPage = () => {
         fetchBookings();
     }, []);
 
+    // Appending to bookings re-runs the search filter below
+    const loadMoreBookings = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await ApiService.getAllBookings({ after: nextCursor, limit: PAGE_SIZE });
+            setBookings((current) => [...current, ...(response.bookingList || [])]);
+            setNextCursor(response.nextCursor || null);
+        } catch (error) {
+            console.error('Error fetching bookings:', error.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const filterBookings = useCallback((term) => {
         if (term === '') {
             setFilteredBookings(bookings);
@@ -86,6 +105,14 @@ const ManageBookingsPage = () => {
                 currentPage={currentPage}
                 paginate={paginate}
             />
+
+            {nextCursor && (
+                <div style={{ textAlign: 'center', marginTop: '10px' }}>
+                    <button onClick={loadMoreBookings} disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more bookings'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 };
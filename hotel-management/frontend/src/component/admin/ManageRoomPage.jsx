@@ -4,6 +4,8 @@ import ApiService from '../../service/ApiService';
 import Pagination from '../common/Pagination';
 import RoomResult from '../common/RoomResult';
 
+const PAGE_SIZE = 100;
+
 const ManageRoomPage = () => {
   const [rooms, setRooms] = useState([]);
   const [filteredRooms, setFilteredRooms] = useState([]);
@@ -11,15 +13,18 @@ const ManageRoomPage = () => {
   const [selectedRoomType, setSelectedRoomType] = useState('');
   const [currentPage, setCurrentPage] = useState(1);
   const [roomsPerPage] = useState(5);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
   useEffect(() => {
     const fetchRooms = async () => {
       try {
-        const response = await ApiService.getAllRooms();
+        const response = await ApiService.getAllRooms({ limit: PAGE_SIZE });
         const allRooms = response.roomList;
         setRooms(allRooms);
         setFilteredRooms(allRooms);
+        setNextCursor(response.nextCursor || null);
       } catch (error) {
         console.error('Error fetching rooms:', error.message);
       }
@@ -38,6 +43,21 @@ const ManageRoomPage = () => {
     fetchRoomTypes();
   }, []);
 
+  const loadMoreRooms = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await ApiService.getAllRooms({ after: nextCursor, limit: PAGE_SIZE });
+      const allRooms = [...rooms, ...(response.roomList || [])];
+      setRooms(allRooms);
+      setFilteredRooms(selectedRoomType === '' ? allRooms : allRooms.filter((room) => room.roomType === selectedRoomType));
+      setNextCursor(response.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching rooms:', error.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleRoomTypeChange = (e) => {
     setSelectedRoomType(e.target.value);
     filterRooms(e.target.value);
@@ -89,6 +109,14 @@ const ManageRoomPage = () => {
         currentPage={currentPage}
         paginate={paginate}
       />
+
+      {nextCursor && (
+        <div style={{ textAlign: 'center', marginTop: '10px' }}>
+          <button onClick={loadMoreRooms} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more rooms'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
@@ -107,6 +107,8 @@ const FALLBACK_ROOMS = [
 
 const FALLBACK_ROOM_TYPES = [...new Set(FALLBACK_ROOMS.map((room) => room.roomType))];
 
+const PAGE_SIZE = 100;
+
 const AllRoomsPage = () => {
   const [rooms, setRooms] = useState([]);
   const [filteredRooms, setFilteredRooms] = useState([]);
@@ -114,11 +116,30 @@ const AllRoomsPage = () => {
   const [selectedRoomType, setSelectedRoomType] = useState('');
   const [currentPage, setCurrentPage] = useState(1);
   const [roomsPerPage] = useState(5);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   // Function to handle search results
   const handleSearchResult = (results) => {
     setRooms(results);
     setFilteredRooms(results);
+    // Search results are complete, there is no further page to load
+    setNextCursor(null);
+  };
+
+  const loadMoreRooms = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await ApiService.getAllRooms({ after: nextCursor, limit: PAGE_SIZE });
+      const allRooms = [...rooms, ...(response?.roomList || []).filter(room => room.id != null)];
+      setRooms(allRooms);
+      setFilteredRooms(selectedRoomType === '' ? allRooms : allRooms.filter((room) => room.roomType === selectedRoomType));
+      setNextCursor(response?.nextCursor || null);
+    } catch (error) {
+      console.error('Error fetching rooms:', error.message);
+    } finally {
+      setLoadingMore(false);
+    }
   };
 
 
@@ -126,7 +147,7 @@ const AllRoomsPage = () => {
     const fetchRooms = async () => {
       try {
         // Get all rooms (public endpoint, no authentication needed)
-        const response = await ApiService.getAllRooms();
+        const response = await ApiService.getAllRooms({ limit: PAGE_SIZE });
         console.log('API Response:', response);
         const allRooms = response?.roomList || response?.rooms || [];
         console.log('Extracted rooms:', allRooms);
@@ -144,6 +165,7 @@ const AllRoomsPage = () => {
           if (validRooms.length > 0) {
             setRooms(validRooms);
             setFilteredRooms(validRooms);
+            setNextCursor(response.nextCursor || null);
           } else {
             console.error('All rooms from API are missing IDs!', allRooms);
             // Don't use fallback - show error instead
@@ -227,6 +249,14 @@ const AllRoomsPage = () => {
         currentPage={currentPage}
         paginate={paginate}
       />
+
+      {nextCursor && (
+        <div style={{ textAlign: 'center', marginTop: '10px' }}>
+          <button onClick={loadMoreRooms} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more rooms'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
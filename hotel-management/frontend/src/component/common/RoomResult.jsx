@@ -59,7 +59,7 @@ const RoomResult = ({ roomSearchResults }) => {
                 {room.roomPhotoUrl ? (
                   <img
                     className="room-list-item-image"
-                    src={room.roomPhotoUrl.trim()}
+                    src={(room.roomPhotoMediumUrl || room.roomPhotoUrl).trim()}
                     alt={room.roomType || 'Room image'}
                     onError={handleImageError}
                     onLoad={handleImageLoad}
@@ -33,9 +33,11 @@ export default class ApiService {
 
 
     /*  This is  to get the user profile */
-    static async getAllUsers() {
+    /* Lists are returned a page at a time; pass the response's nextCursor back as `after` */
+    static async getAllUsers({ after, limit } = {}) {
         const response = await axios.get(`${this.BASE_URL}/users/all`, {
-            headers: this.getHeader()
+            headers: this.getHeader(),
+            params: { after, limit }
         })
         return response.data
     }
@@ -85,6 +87,14 @@ export default class ApiService {
         return result.data;
     }
 
+    /* This  gets the state of the background upload of a room's photo */
+    static async getPhotoUploadStatus(roomId) {
+        const result = await axios.get(`${this.BASE_URL}/rooms/${roomId}/photo-status`, {
+            headers: this.getHeader()
+        })
+        return result.data
+    }
+
     /* This  gets all availavle rooms */
     static async getAllAvailableRooms() {
         const result = await axios.get(`${this.BASE_URL}/rooms/all-available-rooms`)
@@ -107,8 +117,10 @@ export default class ApiService {
         return response.data
     }
     /* This  gets all rooms from the database */
-    static async getAllRooms() {
-        const result = await axios.get(`${this.BASE_URL}/rooms/all`)
+    static async getAllRooms({ after, limit } = {}) {
+        const result = await axios.get(`${this.BASE_URL}/rooms/all`, {
+            params: { after, limit }
+        })
         return result.data
     }
     /* This funcction gets a room by the id */
@@ -150,9 +162,10 @@ export default class ApiService {
     }
 
     /* This  gets alll bokings from the database */
-    static async getAllBookings() {
+    static async getAllBookings({ after, limit } = {}) {
         const result = await axios.get(`${this.BASE_URL}/bookings/all`, {
-            headers: this.getHeader()
+            headers: this.getHeader(),
+            params: { after, limit }
         })
         return result.data
     }
@@ -192,7 +205,8 @@ export default class ApiService {
     }
 
     /**ADMIN DASHBOARD */
-    /* This gets dashboard statistics */
+    /* This gets dashboard statistics: the counters only, like getDashboardSummary; the
+       detail lists come page by page from getDashboardPage */
     static async getDashboardStatistics() {
         const result = await axios.get(`${this.BASE_URL}/admin/dashboard/statistics`, {
             headers: this.getHeader()
@@ -200,6 +214,23 @@ export default class ApiService {
         return result.data
     }
 
+    /* This gets the dashboard counters without the detail lists */
+    static async getDashboardSummary() {
+        const result = await axios.get(`${this.BASE_URL}/admin/dashboard/summary`, {
+            headers: this.getHeader()
+        })
+        return result.data
+    }
+
+    /* This gets one page of a dashboard list (users, bookings, rooms or payments) */
+    static async getDashboardPage(list, { sort, direction, after, limit } = {}) {
+        const result = await axios.get(`${this.BASE_URL}/admin/dashboard/${list}`, {
+            headers: this.getHeader(),
+            params: { sort, direction, after, limit }
+        })
+        return result.data
+    }
+
 
     /**AUTHENTICATION CHECKER */
     static logout() {